@@ -0,0 +1,119 @@
+package de.amr.datastruct;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread-safe partition of the integer range <code>0..n-1</code> into disjoint sets (union-find).
+ * <p>
+ * The parents are stored in an {@link AtomicIntegerArray} and changed only by compare-and-set. A
+ * root is always linked below the root with the smaller index, so parent links point to smaller
+ * indices and no cycles can arise from concurrent unions. {@link #find(int)} is wait-free and
+ * shortens paths by path splitting, {@link #union(int, int)} is lock-free.
+ * <p>
+ * While other threads are executing unions, the root returned by {@link #find(int)} may be outdated
+ * at the time it is used. Use {@link #sameSet(int, int)} to compare elements.
+ * 
+ * @author Armin Reichert
+ */
+public class ConcurrentIntPartition {
+
+	private final AtomicIntegerArray parent;
+	private final AtomicInteger setCount;
+
+	/**
+	 * Creates a partition of the range <code>0..n-1</code> into singleton sets.
+	 * 
+	 * @param n number of elements
+	 */
+	public ConcurrentIntPartition(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Illegal number of elements: " + n);
+		}
+		parent = new AtomicIntegerArray(n);
+		for (int i = 0; i < n; ++i) {
+			parent.set(i, i);
+		}
+		setCount = new AtomicInteger(n);
+	}
+
+	/**
+	 * @return the number of elements
+	 */
+	public int numElements() {
+		return parent.length();
+	}
+
+	/**
+	 * @return the number of sets (equivalence classes) of this partition
+	 */
+	public int size() {
+		return setCount.get();
+	}
+
+	/**
+	 * Returns the current representative of the set containing the given element.
+	 * 
+	 * @param x an element
+	 * @return the root element of the set containing <code>x</code>
+	 */
+	public int find(int x) {
+		while (true) {
+			int p = parent.get(x);
+			if (p == x) {
+				return x;
+			}
+			int gp = parent.get(p);
+			if (p != gp) {
+				parent.compareAndSet(x, p, gp);
+			}
+			x = p;
+		}
+	}
+
+	/**
+	 * @param x an element
+	 * @param y an element
+	 * @return {@code true} if both elements are in the same set
+	 */
+	public boolean sameSet(int x, int y) {
+		while (true) {
+			x = find(x);
+			y = find(y);
+			if (x == y) {
+				return true;
+			}
+			if (parent.get(x) == x) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Merges the sets containing the given elements.
+	 * 
+	 * @param x first element
+	 * @param y second element
+	 * @return <code>true</code> if <code>x, y</code> were contained in different sets and this call
+	 *         merged them
+	 */
+	public boolean union(int x, int y) {
+		while (true) {
+			x = find(x);
+			y = find(y);
+			if (x == y) {
+				return false;
+			}
+			if (x < y) {
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+			// link root x below root y with smaller index
+			if (parent.compareAndSet(x, x, y)) {
+				setCount.decrementAndGet();
+				return true;
+			}
+		}
+	}
+}
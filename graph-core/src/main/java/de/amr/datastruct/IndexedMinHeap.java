@@ -0,0 +1,206 @@
+package de.amr.datastruct;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap of the integers <code>0..n-1</code> with {@code double} keys.
+ * <p>
+ * The position of each item in the heap is stored, so {@link #decreaseKey(int, double)} and
+ * {@link #contains(int)} need no search. A larger arity <code>d</code> makes the heap flatter:
+ * decreasing a key gets cheaper and extracting the minimum compares more children, which pays off
+ * for algorithms like Prim or Dijkstra that decrease keys much more often than they extract.
+ * 
+ * @author Armin Reichert
+ */
+public class IndexedMinHeap {
+
+	private final int d;
+	private final int[] heap;
+	private final int[] position;
+	private final double[] keys;
+	private int size;
+
+	/**
+	 * Creates a 4-ary heap.
+	 * 
+	 * @param n number of possible items <code>0..n-1</code>
+	 */
+	public IndexedMinHeap(int n) {
+		this(n, 4);
+	}
+
+	/**
+	 * @param n number of possible items <code>0..n-1</code>
+	 * @param d arity of the heap
+	 */
+	public IndexedMinHeap(int n, int d) {
+		if (d < 2) {
+			throw new IllegalArgumentException("Heap arity must be at least 2: " + d);
+		}
+		this.d = d;
+		heap = new int[n];
+		position = new int[n];
+		keys = new double[n];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * @return the number of items in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return {@code true} if the heap is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param item an item
+	 * @return {@code true} if the item is in the heap
+	 */
+	public boolean contains(int item) {
+		return position[item] != -1;
+	}
+
+	/**
+	 * @param item an item in the heap
+	 * @return the key of the item
+	 */
+	public double key(int item) {
+		return keys[item];
+	}
+
+	/**
+	 * Removes all items.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; ++i) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Inserts an item.
+	 * 
+	 * @param item an item not in the heap
+	 * @param key  its key
+	 */
+	public void insert(int item, double key) {
+		if (contains(item)) {
+			throw new IllegalStateException("Item already in heap: " + item);
+		}
+		keys[item] = key;
+		heap[size] = item;
+		position[item] = size;
+		siftUp(size++);
+	}
+
+	/**
+	 * Decreases the key of an item in the heap.
+	 * 
+	 * @param item an item in the heap
+	 * @param key  the new key, not larger than the current key
+	 */
+	public void decreaseKey(int item, double key) {
+		if (!contains(item)) {
+			throw new IllegalStateException("Item not in heap: " + item);
+		}
+		if (key > keys[item]) {
+			throw new IllegalArgumentException(String.format("New key %f is larger than current key %f", key, keys[item]));
+		}
+		keys[item] = key;
+		siftUp(position[item]);
+	}
+
+	/**
+	 * Inserts the item or decreases its key if the given key is smaller than its current key.
+	 * 
+	 * @param item an item
+	 * @param key  its key
+	 * @return {@code true} if the heap has been changed
+	 */
+	public boolean insertOrDecrease(int item, double key) {
+		if (!contains(item)) {
+			insert(item, key);
+			return true;
+		}
+		if (key < keys[item]) {
+			decreaseKey(item, key);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the item with the smallest key
+	 */
+	public int min() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Removes the item with the smallest key.
+	 * 
+	 * @return the removed item
+	 */
+	public int extractMin() {
+		int min = min();
+		position[min] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int i) {
+		int item = heap[i];
+		double key = keys[item];
+		while (i > 0) {
+			int parent = (i - 1) / d;
+			if (keys[heap[parent]] <= key) {
+				break;
+			}
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = item;
+		position[item] = i;
+	}
+
+	private void siftDown(int i) {
+		int item = heap[i];
+		double key = keys[item];
+		while (true) {
+			int first = d * i + 1;
+			if (first >= size) {
+				break;
+			}
+			int best = first;
+			for (int c = first + 1, end = Math.min(first + d, size); c < end; ++c) {
+				if (keys[heap[c]] < keys[heap[best]]) {
+					best = c;
+				}
+			}
+			if (keys[heap[best]] >= key) {
+				break;
+			}
+			heap[i] = heap[best];
+			position[heap[i]] = i;
+			i = best;
+		}
+		heap[i] = item;
+		position[item] = i;
+	}
+}
@@ -0,0 +1,152 @@
+package de.amr.datastruct;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Partition of the integer range <code>0..n-1</code> into disjoint sets (union-find).
+ * <p>
+ * All elements are stored in a single {@code int} array: a non-negative entry is the parent of the
+ * element, a negative entry marks a set root and holds the negated set size. Uses union by size and
+ * path halving, so no memory is allocated after construction.
+ * <p>
+ * If element listing is enabled, the elements of each set are linked in a circular list which is
+ * spliced in constant time by {@link #union(int, int)}.
+ * 
+ * @author Armin Reichert
+ */
+public class IntPartition {
+
+	private final int[] parent;
+	private final int[] next;
+	private int setCount;
+
+	/**
+	 * Creates a partition of the range <code>0..n-1</code> into singleton sets.
+	 * 
+	 * @param n number of elements
+	 */
+	public IntPartition(int n) {
+		this(n, false);
+	}
+
+	/**
+	 * Creates a partition of the range <code>0..n-1</code> into singleton sets.
+	 * 
+	 * @param n            number of elements
+	 * @param listElements if the elements of a set can be listed
+	 */
+	public IntPartition(int n, boolean listElements) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Illegal number of elements: " + n);
+		}
+		parent = new int[n];
+		next = listElements ? new int[n] : null;
+		clear();
+	}
+
+	/**
+	 * Resets this partition into singleton sets.
+	 */
+	public void clear() {
+		Arrays.fill(parent, -1);
+		if (next != null) {
+			Arrays.setAll(next, i -> i);
+		}
+		setCount = parent.length;
+	}
+
+	/**
+	 * @return the number of elements
+	 */
+	public int numElements() {
+		return parent.length;
+	}
+
+	/**
+	 * @return the number of sets (equivalence classes) of this partition
+	 */
+	public int size() {
+		return setCount;
+	}
+
+	/**
+	 * Returns the representative of the set containing the given element.
+	 * 
+	 * @param x an element
+	 * @return the root element of the set containing <code>x</code>
+	 */
+	public int find(int x) {
+		while (parent[x] >= 0) {
+			int p = parent[x];
+			if (parent[p] >= 0) {
+				parent[x] = parent[p];
+			}
+			x = parent[x];
+		}
+		return x;
+	}
+
+	/**
+	 * @param x an element
+	 * @param y an element
+	 * @return {@code true} if both elements are in the same set
+	 */
+	public boolean sameSet(int x, int y) {
+		return find(x) == find(y);
+	}
+
+	/**
+	 * @param x an element
+	 * @return the cardinality of the set containing <code>x</code>
+	 */
+	public int setSize(int x) {
+		return -parent[find(x)];
+	}
+
+	/**
+	 * Merges the sets containing the given elements. The smaller set is attached to the larger one.
+	 * 
+	 * @param x first element
+	 * @param y second element
+	 * @return <code>true</code> if <code>x, y</code> were contained in different sets
+	 */
+	public boolean union(int x, int y) {
+		int rx = find(x), ry = find(y);
+		if (rx == ry) {
+			return false;
+		}
+		if (parent[rx] > parent[ry]) { // set of rx is smaller
+			int tmp = rx;
+			rx = ry;
+			ry = tmp;
+		}
+		parent[rx] += parent[ry];
+		parent[ry] = rx;
+		if (next != null) {
+			int tmp = next[rx];
+			next[rx] = next[ry];
+			next[ry] = tmp;
+		}
+		--setCount;
+		return true;
+	}
+
+	/**
+	 * Performs the given action for each element of the set containing <code>x</code>.
+	 * 
+	 * @param x      an element
+	 * @param action action performed for each element
+	 * @throws IllegalStateException if element listing is not enabled
+	 */
+	public void forEachInSet(int x, IntConsumer action) {
+		if (next == null) {
+			throw new IllegalStateException("Element listing is not enabled for this partition");
+		}
+		int e = x;
+		do {
+			action.accept(e);
+			e = next[e];
+		} while (e != x);
+	}
+}
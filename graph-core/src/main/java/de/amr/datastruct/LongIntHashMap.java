@@ -0,0 +1,76 @@
+package de.amr.datastruct;
+
+/**
+ * Hash map with primitive {@code long} keys and {@code int} values.
+ * <p>
+ * Uses open addressing with linear probing and backward-shift deletion (see
+ * {@link LongKeyHashTable}), so neither keys nor values are boxed and no objects are allocated per
+ * entry.
+ *
+ * @author Armin Reichert
+ */
+public class LongIntHashMap extends LongKeyHashTable {
+
+	private int[] values;
+	private int zeroValue;
+
+	public LongIntHashMap() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize expected number of entries
+	 */
+	public LongIntHashMap(int expectedSize) {
+		super(expectedSize);
+	}
+
+	@Override
+	void allocateValues(int capacity) {
+		values = new int[capacity];
+	}
+
+	@Override
+	Object values() {
+		return values;
+	}
+
+	@Override
+	void copyValue(Object oldValues, int from, int to) {
+		values[to] = ((int[]) oldValues)[from];
+	}
+
+	@Override
+	void moveValue(int from, int to) {
+		values[to] = values[from];
+	}
+
+	/**
+	 * @param key          a key
+	 * @param defaultValue value returned if there is no entry for the key
+	 * @return the value stored for the key or the given default value
+	 */
+	public int get(long key, int defaultValue) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		int i = slot(key);
+		return keys[i] != 0 ? values[i] : defaultValue;
+	}
+
+	/**
+	 * Stores the value for the given key.
+	 *
+	 * @param key   a key
+	 * @param value the value
+	 */
+	public void put(long key, int value) {
+		if (key == 0) {
+			addZeroKey();
+			zeroValue = value;
+		} else {
+			int i = index(key); // may replace the value array
+			values[i] = value;
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package de.amr.datastruct;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Key table shared by the hash maps with primitive {@code long} keys.
+ * <p>
+ * Uses open addressing with linear probing and backward-shift deletion. Key 0 marks free slots,
+ * therefore an entry with key 0 is stored outside of the table. Subclasses store the values in an
+ * array parallel to the key array and move them when the table moves the keys.
+ *
+ * @author Armin Reichert
+ */
+abstract class LongKeyHashTable {
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	static int tableSize(int expectedSize) {
+		long needed = Math.max(4, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+		if (needed > 1 << 30) {
+			throw new IllegalArgumentException("Map too large: " + expectedSize);
+		}
+		return Integer.highestOneBit((int) needed - 1) << 1;
+	}
+
+	static int hash(long key) {
+		long h = key * 0x9E37_79B9_7F4A_7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	long[] keys;
+	int mask;
+	int size;
+	int threshold;
+	boolean hasZeroKey;
+
+	LongKeyHashTable(int expectedSize) {
+		allocate(tableSize(expectedSize));
+	}
+
+	/**
+	 * Allocates a value array of the given capacity.
+	 */
+	abstract void allocateValues(int capacity);
+
+	/**
+	 * @return the current value array
+	 */
+	abstract Object values();
+
+	/**
+	 * Copies a value from the given old value array into the current value array.
+	 */
+	abstract void copyValue(Object oldValues, int from, int to);
+
+	/**
+	 * Moves a value inside the current value array.
+	 */
+	abstract void moveValue(int from, int to);
+
+	/**
+	 * Releases the value at the given table index or the value of key 0 if the index is -1.
+	 */
+	void releaseValue(int i) {
+	}
+
+	/**
+	 * Releases all values.
+	 */
+	void releaseValues() {
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		allocateValues(capacity);
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * @return the index of the key in the table or the index of the free slot where it would be stored
+	 */
+	final int slot(long key) {
+		int i = hash(key) & mask;
+		while (keys[i] != 0 && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Adds the given non-zero key if it is missing. The table grows before the key is added, so the
+	 * returned index stays valid until the next modification.
+	 *
+	 * @return the index of the key in the table
+	 */
+	final int index(long key) {
+		int i = slot(key);
+		if (keys[i] == 0) {
+			if (size >= threshold) {
+				rehash(keys.length * 2);
+				i = slot(key);
+			}
+			keys[i] = key;
+			++size;
+		}
+		return i;
+	}
+
+	/**
+	 * Adds key 0 if it is missing.
+	 */
+	final void addZeroKey() {
+		if (!hasZeroKey) {
+			hasZeroKey = true;
+			++size;
+		}
+	}
+
+	/**
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return {@code true} if this map has no entries
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param key a key
+	 * @return {@code true} if this map has an entry for the key
+	 */
+	public boolean containsKey(long key) {
+		return key == 0 ? hasZeroKey : keys[slot(key)] != 0;
+	}
+
+	/**
+	 * Removes the entry for the given key.
+	 *
+	 * @param key a key
+	 * @return {@code true} if there was an entry for the key
+	 */
+	public boolean remove(long key) {
+		if (key == 0) {
+			if (hasZeroKey) {
+				hasZeroKey = false;
+				releaseValue(-1);
+				--size;
+				return true;
+			}
+			return false;
+		}
+		int i = slot(key);
+		if (keys[i] == 0) {
+			return false;
+		}
+		// backward-shift entries of the probe sequence into the gap
+		int gap = i;
+		for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+			int home = hash(keys[j]) & mask;
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				moveValue(j, gap);
+				gap = j;
+			}
+		}
+		keys[gap] = 0;
+		releaseValue(gap);
+		--size;
+		return true;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		releaseValues();
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	/**
+	 * Performs the given action for each key of this map.
+	 *
+	 * @param action action performed for each key
+	 */
+	public void forEachKey(LongConsumer action) {
+		if (hasZeroKey) {
+			action.accept(0);
+		}
+		for (long key : keys) {
+			if (key != 0) {
+				action.accept(key);
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object oldValues = values();
+		allocate(capacity);
+		for (int j = 0; j < oldKeys.length; ++j) {
+			if (oldKeys[j] != 0) {
+				int i = slot(oldKeys[j]);
+				keys[i] = oldKeys[j];
+				copyValue(oldValues, j, i);
+			}
+		}
+	}
+}
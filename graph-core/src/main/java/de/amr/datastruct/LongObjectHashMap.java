@@ -0,0 +1,95 @@
+package de.amr.datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive {@code long} keys and object values.
+ * <p>
+ * Uses open addressing with linear probing and backward-shift deletion (see
+ * {@link LongKeyHashTable}), so keys are not boxed and no entry objects are allocated. A
+ * {@code null} value cannot be distinguished from a missing entry by {@link #get(long)}.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> value type
+ */
+public class LongObjectHashMap<V> extends LongKeyHashTable {
+
+	private Object[] values;
+	private V zeroValue;
+
+	public LongObjectHashMap() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize expected number of entries
+	 */
+	public LongObjectHashMap(int expectedSize) {
+		super(expectedSize);
+	}
+
+	@Override
+	void allocateValues(int capacity) {
+		values = new Object[capacity];
+	}
+
+	@Override
+	Object values() {
+		return values;
+	}
+
+	@Override
+	void copyValue(Object oldValues, int from, int to) {
+		values[to] = ((Object[]) oldValues)[from];
+	}
+
+	@Override
+	void moveValue(int from, int to) {
+		values[to] = values[from];
+	}
+
+	@Override
+	void releaseValue(int i) {
+		if (i == -1) {
+			zeroValue = null;
+		} else {
+			values[i] = null;
+		}
+	}
+
+	@Override
+	void releaseValues() {
+		Arrays.fill(values, null);
+		zeroValue = null;
+	}
+
+	/**
+	 * @param key a key
+	 * @return the value stored for the key or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : null;
+		}
+		int i = slot(key);
+		return keys[i] != 0 ? (V) values[i] : null;
+	}
+
+	/**
+	 * Stores the value for the given key.
+	 *
+	 * @param key   a key
+	 * @param value the value
+	 */
+	public void put(long key, V value) {
+		if (key == 0) {
+			addZeroKey();
+			zeroValue = value;
+		} else {
+			int i = index(key); // may replace the value array
+			values[i] = value;
+		}
+	}
+}
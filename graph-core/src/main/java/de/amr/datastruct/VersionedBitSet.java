@@ -0,0 +1,221 @@
+package de.amr.datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size bit set supporting cheap immutable snapshots.
+ * <p>
+ * The bits are stored in chunks of {@code long} words. A snapshot shares all chunks with this set
+ * and only copies the array of chunk references. Each chunk remembers the epoch in which it was
+ * copied; the first write to a chunk after a snapshot copies the chunk, so a snapshot never sees
+ * later changes and the cost of a write is bounded by the chunk size. Chunks without any set bit
+ * are not allocated.
+ * <p>
+ * A single writer may modify this set while any number of threads read snapshots taken before.
+ * 
+ * @author Armin Reichert
+ */
+public class VersionedBitSet {
+
+	private static final int CHUNK_WORDS = 64;
+	private static final int CHUNK_BITS = CHUNK_WORDS * Long.SIZE;
+
+	private final int size;
+	private final long[][] chunks;
+	private final int[] chunkEpoch;
+	private final boolean frozen;
+	private int epoch;
+
+	/**
+	 * Creates a bit set with all bits cleared.
+	 * 
+	 * @param size number of bits
+	 */
+	public VersionedBitSet(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Illegal size: " + size);
+		}
+		this.size = size;
+		chunks = new long[(size + CHUNK_BITS - 1) / CHUNK_BITS][];
+		chunkEpoch = new int[chunks.length];
+		frozen = false;
+	}
+
+	private VersionedBitSet(VersionedBitSet source) {
+		size = source.size;
+		chunks = source.chunks.clone();
+		chunkEpoch = null;
+		frozen = true;
+	}
+
+	private void checkIndex(int bit) {
+		if (bit < 0 || bit >= size) {
+			throw new IndexOutOfBoundsException("Invalid bit index: " + bit);
+		}
+	}
+
+	private void checkMutable() {
+		if (frozen) {
+			throw new UnsupportedOperationException("Cannot modify bit set snapshot");
+		}
+	}
+
+	private long[] writableChunk(int c) {
+		long[] chunk = chunks[c];
+		if (chunk == null) {
+			chunk = chunks[c] = new long[CHUNK_WORDS];
+			chunkEpoch[c] = epoch;
+		} else if (chunkEpoch[c] != epoch) {
+			chunk = chunks[c] = chunk.clone();
+			chunkEpoch[c] = epoch;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Returns an immutable snapshot of the current state of this set. Takes time proportional to the
+	 * number of chunks, not the number of bits.
+	 * 
+	 * @return snapshot of this set
+	 */
+	public VersionedBitSet snapshot() {
+		if (frozen) {
+			return this;
+		}
+		++epoch;
+		return new VersionedBitSet(this);
+	}
+
+	/**
+	 * @return {@code true} if this set is an immutable snapshot
+	 */
+	public boolean isSnapshot() {
+		return frozen;
+	}
+
+	/**
+	 * @return the number of bits of this set
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param bit bit index
+	 * @return the value of the bit
+	 */
+	public boolean get(int bit) {
+		checkIndex(bit);
+		long[] chunk = chunks[bit / CHUNK_BITS];
+		return chunk != null && (chunk[(bit % CHUNK_BITS) >>> 6] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * Sets the bit to the given value.
+	 * 
+	 * @param bit   bit index
+	 * @param value new value
+	 */
+	public void set(int bit, boolean value) {
+		checkMutable();
+		checkIndex(bit);
+		int c = bit / CHUNK_BITS;
+		if (!value && chunks[c] == null) {
+			return;
+		}
+		long[] chunk = writableChunk(c);
+		int w = (bit % CHUNK_BITS) >>> 6;
+		if (value) {
+			chunk[w] |= 1L << bit;
+		} else {
+			chunk[w] &= ~(1L << bit);
+		}
+	}
+
+	/**
+	 * @return the number of {@code long} words holding the bits
+	 */
+	public int numWords() {
+		return (size + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	/**
+	 * @param index word index
+	 * @return the word containing the bits <code>64 * index</code> to <code>64 * index + 63</code>
+	 */
+	public long word(int index) {
+		if (index < 0 || index >= numWords()) {
+			throw new IndexOutOfBoundsException("Invalid word index: " + index);
+		}
+		long[] chunk = chunks[index / CHUNK_WORDS];
+		return chunk != null ? chunk[index % CHUNK_WORDS] : 0;
+	}
+
+	/**
+	 * Sets the bits <code>64 * index</code> to <code>64 * index + 63</code> at once.
+	 * 
+	 * @param index word index
+	 * @param word  new word value, bits beyond the size of this set must be zero
+	 */
+	public void setWord(int index, long word) {
+		checkMutable();
+		if (index < 0 || index >= numWords()) {
+			throw new IndexOutOfBoundsException("Invalid word index: " + index);
+		}
+		if (index == numWords() - 1 && size % Long.SIZE != 0 && (word & (-1L << size)) != 0) {
+			throw new IllegalArgumentException("Word has bits beyond the size of this set");
+		}
+		int c = index / CHUNK_WORDS;
+		if (word == 0 && chunks[c] == null) {
+			return;
+		}
+		writableChunk(c)[index % CHUNK_WORDS] = word;
+	}
+
+	/**
+	 * Clears all bits.
+	 */
+	public void clear() {
+		checkMutable();
+		Arrays.fill(chunks, null);
+	}
+
+	/**
+	 * @return the number of set bits
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (long[] chunk : chunks) {
+			if (chunk != null) {
+				for (long word : chunk) {
+					count += Long.bitCount(word);
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param from bit index where the search starts
+	 * @return the index of the first set bit at or after the given index or -1 if there is none
+	 */
+	public int nextSetBit(int from) {
+		if (from < 0) {
+			throw new IndexOutOfBoundsException("Invalid bit index: " + from);
+		}
+		int w = (from % CHUNK_BITS) >>> 6;
+		long mask = -1L << from;
+		for (int c = from / CHUNK_BITS; c < chunks.length; ++c, w = 0, mask = -1L) {
+			long[] chunk = chunks[c];
+			if (chunk != null) {
+				for (; w < CHUNK_WORDS; ++w, mask = -1L) {
+					long word = chunk[w] & mask;
+					if (word != 0) {
+						return c * CHUNK_BITS + w * Long.SIZE + Long.numberOfTrailingZeros(word);
+					}
+				}
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,71 @@
+package de.amr.graph.core.api;
+
+import java.util.Objects;
+
+/**
+ * Directed edge implementation. Two directed edges are equal if their sources and targets are equal.
+ * 
+ * @author Armin Reichert
+ */
+public class DirectedEdge implements Edge {
+
+	private final int source;
+	private final int target;
+
+	public DirectedEdge(int source, int target) {
+		this.source = source;
+		this.target = target;
+	}
+
+	/**
+	 * @return the source of this edge
+	 */
+	@Override
+	public int either() {
+		return source;
+	}
+
+	/**
+	 * @return the target of this edge
+	 */
+	@Override
+	public int other() {
+		return target;
+	}
+
+	/**
+	 * @return the source of this edge
+	 */
+	public int source() {
+		return source;
+	}
+
+	/**
+	 * @return the target of this edge
+	 */
+	public int target() {
+		return target;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(source, target);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DirectedEdge e2 = (DirectedEdge) obj;
+		return source == e2.source && target == e2.target;
+	}
+
+	@Override
+	public String toString() {
+		return source + "->" + target;
+	}
+}
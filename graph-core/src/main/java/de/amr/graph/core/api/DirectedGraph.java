@@ -0,0 +1,73 @@
+package de.amr.graph.core.api;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import de.amr.graph.util.EdgeKeys;
+
+/**
+ * Interface for a directed graph.
+ * <p>
+ * The neighborhood methods inherited from {@link Graph} ({@link #adj(int)},
+ * {@link #forEachNeighbor(int, IntConsumer)}, {@link #degree(int)}, {@link #adjacent(int, int)})
+ * refer to the outgoing edges, so graph searches run along the edge directions. Edges are
+ * {@link DirectedEdge}s from {@link Edge#either()} to {@link Edge#other()}, edge labels are stored
+ * per direction.
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ * 
+ * @author Armin Reichert
+ */
+public interface DirectedGraph<V, E> extends Graph<V, E> {
+
+	/**
+	 * Streams the edges as packed arcs (see {@link EdgeKeys#arcKey(int, int)}), source first.
+	 * 
+	 * @return stream of the arc keys of the edges of this graph
+	 */
+	@Override
+	default LongStream edgeKeys() {
+		return edges().mapToLong(edge -> EdgeKeys.arcKey(edge.either(), edge.other()));
+	}
+
+	/**
+	 * @param v a vertex
+	 * @return the number of edges leaving the vertex
+	 */
+	default int outDegree(int v) {
+		return degree(v);
+	}
+
+	/**
+	 * @param v a vertex
+	 * @return the number of edges entering the vertex
+	 */
+	int inDegree(int v);
+
+	/**
+	 * @param v a vertex
+	 * @return stream of the vertices with an edge to the given vertex
+	 */
+	IntStream predecessors(int v);
+
+	/**
+	 * Performs the given action for each vertex with an edge to the given vertex.
+	 * 
+	 * @param v      a vertex
+	 * @param action action performed for each predecessor
+	 */
+	default void forEachPredecessor(int v, IntConsumer action) {
+		predecessors(v).forEach(action);
+	}
+
+	/**
+	 * Returns the graph with all edges reversed. The reversed graph shares the vertices, the vertex
+	 * labels and the edge labels (under the reversed direction) with this graph. Running a search on
+	 * the reversed graph follows the incoming edges of this graph.
+	 * 
+	 * @return the reversed graph
+	 */
+	DirectedGraph<V, E> reversed();
+}
@@ -0,0 +1,35 @@
+package de.amr.graph.core.api;
+
+/**
+ * Edge labeling with {@code double} labels that can be accessed without boxing.
+ * 
+ * @author Armin Reichert
+ */
+public interface DoubleEdgeLabeling extends EdgeLabeling<Double> {
+
+	/**
+	 * @param u either end of edge
+	 * @param v other end of edge
+	 * @return the edge label for this edge if defined or the default edge label
+	 */
+	double getDoubleEdgeLabel(int u, int v);
+
+	/**
+	 * Sets the edge label for the edge with the given end points.
+	 * 
+	 * @param u     either end of edge
+	 * @param v     other end of edge
+	 * @param label edge label
+	 */
+	void setDoubleEdgeLabel(int u, int v, double label);
+
+	@Override
+	default Double getEdgeLabel(int u, int v) {
+		return getDoubleEdgeLabel(u, v);
+	}
+
+	@Override
+	default void setEdgeLabel(int u, int v, Double e) {
+		setDoubleEdgeLabel(u, v, e);
+	}
+}
@@ -0,0 +1,33 @@
+package de.amr.graph.core.api;
+
+/**
+ * Vertex labeling with {@code double} labels that can be accessed without boxing.
+ *
+ * @author Armin Reichert
+ */
+public interface DoubleVertexLabeling extends VertexLabeling<Double> {
+
+	/**
+	 * @param v a vertex
+	 * @return the label for the vertex or the default vertex label
+	 */
+	double getDouble(int v);
+
+	/**
+	 * Sets the vertex label for the given vertex.
+	 * 
+	 * @param v     a vertex
+	 * @param label the vertex label for this vertex
+	 */
+	void setDouble(int v, double label);
+
+	@Override
+	default Double get(int v) {
+		return getDouble(v);
+	}
+
+	@Override
+	default void set(int v, Double vertexLabel) {
+		setDouble(v, vertexLabel);
+	}
+}
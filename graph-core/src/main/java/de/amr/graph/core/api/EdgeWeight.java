@@ -0,0 +1,32 @@
+package de.amr.graph.core.api;
+
+/**
+ * Weight function for the edges of a graph.
+ * 
+ * @author Armin Reichert
+ */
+@FunctionalInterface
+public interface EdgeWeight {
+
+	/**
+	 * @param u either vertex
+	 * @param v other vertex
+	 * @return the weight of edge <code>{u, v}</code>
+	 */
+	double weight(int u, int v);
+
+	/**
+	 * @return weight function with weight 1 for every edge
+	 */
+	static EdgeWeight unit() {
+		return (u, v) -> 1;
+	}
+
+	/**
+	 * @param g a graph with numerical edge labels
+	 * @return weight function using the edge labels as weights
+	 */
+	static EdgeWeight labels(Graph<?, ? extends Number> g) {
+		return (u, v) -> g.getEdgeLabel(u, v).doubleValue();
+	}
+}
@@ -2,10 +2,14 @@ package de.amr.graph.core.api;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import de.amr.graph.util.EdgeKeys;
+
 /**
  * Interface for a graph with vertex and edge labels.
  * 
@@ -48,6 +52,16 @@ public interface Graph<V, E> extends VertexLabeling<V>, EdgeLabeling<E> {
 	 */
 	Stream<Edge> edges();
 
+	/**
+	 * Streams the edges as packed keys (see {@link EdgeKeys#edgeKey(int, int)}). Implementations
+	 * should override this method to avoid creating edge objects.
+	 * 
+	 * @return stream of the canonical keys of the edges of this graph
+	 */
+	default LongStream edgeKeys() {
+		return edges().mapToLong(edge -> EdgeKeys.edgeKey(edge.either(), edge.other()));
+	}
+
 	/**
 	 * @return the number of edges of this graph
 	 */
@@ -86,6 +100,17 @@ public interface Graph<V, E> extends VertexLabeling<V>, EdgeLabeling<E> {
 	 */
 	Stream<Integer> adj(int v);
 
+	/**
+	 * Performs the given action for each vertex adjacent to the given vertex. In contrast to
+	 * {@link #adj(int)}, implementations should neither box the vertices nor create a stream.
+	 * 
+	 * @param v      a vertex
+	 * @param action action performed for each adjacent vertex
+	 */
+	default void forEachNeighbor(int v, IntConsumer action) {
+		adj(v).forEach(action::accept);
+	}
+
 	/**
 	 * Tells if the given vertices are connected by some edge.
 	 * 
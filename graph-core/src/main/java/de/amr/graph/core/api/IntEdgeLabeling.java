@@ -0,0 +1,35 @@
+package de.amr.graph.core.api;
+
+/**
+ * Edge labeling with {@code int} labels that can be accessed without boxing.
+ * 
+ * @author Armin Reichert
+ */
+public interface IntEdgeLabeling extends EdgeLabeling<Integer> {
+
+	/**
+	 * @param u either end of edge
+	 * @param v other end of edge
+	 * @return the edge label for this edge if defined or the default edge label
+	 */
+	int getIntEdgeLabel(int u, int v);
+
+	/**
+	 * Sets the edge label for the edge with the given end points.
+	 * 
+	 * @param u     either end of edge
+	 * @param v     other end of edge
+	 * @param label edge label
+	 */
+	void setIntEdgeLabel(int u, int v, int label);
+
+	@Override
+	default Integer getEdgeLabel(int u, int v) {
+		return getIntEdgeLabel(u, v);
+	}
+
+	@Override
+	default void setEdgeLabel(int u, int v, Integer e) {
+		setIntEdgeLabel(u, v, e);
+	}
+}
@@ -0,0 +1,33 @@
+package de.amr.graph.core.api;
+
+/**
+ * Vertex labeling with {@code int} labels that can be accessed without boxing.
+ *
+ * @author Armin Reichert
+ */
+public interface IntVertexLabeling extends VertexLabeling<Integer> {
+
+	/**
+	 * @param v a vertex
+	 * @return the label for the vertex or the default vertex label
+	 */
+	int getInt(int v);
+
+	/**
+	 * Sets the vertex label for the given vertex.
+	 * 
+	 * @param v     a vertex
+	 * @param label the vertex label for this vertex
+	 */
+	void setInt(int v, int label);
+
+	@Override
+	default Integer get(int v) {
+		return getInt(v);
+	}
+
+	@Override
+	default void set(int v, Integer vertexLabel) {
+		setInt(v, vertexLabel);
+	}
+}
@@ -1,5 +1,6 @@
 package de.amr.graph.core.api;
 
+import de.amr.graph.event.GraphBatchEvent;
 import de.amr.graph.event.GraphObserver;
 
 /**
@@ -35,4 +36,52 @@ public interface ObservableGraph<V, E> extends Graph<V, E> {
 	 *                  tells if events are raised
 	 */
 	void setEventsEnabled(boolean enabled);
+
+	/**
+	 * Executes the given changes as a batch. Inside the batch, no single events are raised. Instead,
+	 * the observers are notified once at the end of the batch by a {@link GraphBatchEvent} containing
+	 * all changes. Batches may be nested; the outermost batch raises the event.
+	 * 
+	 * @param changes
+	 *                  code changing this graph
+	 */
+	void batch(Runnable changes);
+
+	/**
+	 * Adds the edges <code>{us[i], vs[i]}</code> as a batch.
+	 * 
+	 * @param us
+	 *             either vertices of the edges
+	 * @param vs
+	 *             other vertices of the edges
+	 */
+	default void addEdges(int[] us, int[] vs) {
+		if (us.length != vs.length) {
+			throw new IllegalArgumentException("Vertex arrays must have equal length");
+		}
+		batch(() -> {
+			for (int i = 0; i < us.length; ++i) {
+				addEdge(us[i], vs[i]);
+			}
+		});
+	}
+
+	/**
+	 * Removes the edges <code>{us[i], vs[i]}</code> as a batch.
+	 * 
+	 * @param us
+	 *             either vertices of the edges
+	 * @param vs
+	 *             other vertices of the edges
+	 */
+	default void removeEdges(int[] us, int[] vs) {
+		if (us.length != vs.length) {
+			throw new IllegalArgumentException("Vertex arrays must have equal length");
+		}
+		batch(() -> {
+			for (int i = 0; i < us.length; ++i) {
+				removeEdge(us[i], vs[i]);
+			}
+		});
+	}
 }
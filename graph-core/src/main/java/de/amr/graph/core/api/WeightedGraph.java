@@ -0,0 +1,53 @@
+package de.amr.graph.core.api;
+
+/**
+ * Graph storing a {@code double} weight for each edge.
+ * <p>
+ * The weights are read together with the neighbors using
+ * {@link #forEachWeightedNeighbor(int, NeighborWeightConsumer)}, so shortest path searches need no
+ * separate weight lookup per edge relaxation.
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ * 
+ * @author Armin Reichert
+ */
+public interface WeightedGraph<V, E> extends Graph<V, E> {
+
+	/**
+	 * Consumer of a neighbor and the weight of the edge leading to it.
+	 */
+	@FunctionalInterface
+	interface NeighborWeightConsumer {
+
+		/**
+		 * @param neighbor a neighbor vertex
+		 * @param weight   the weight of the edge to the neighbor
+		 */
+		void accept(int neighbor, double weight);
+	}
+
+	/**
+	 * Performs the given action for each neighbor of the given vertex and the weight of the edge to
+	 * it.
+	 * 
+	 * @param v      a vertex
+	 * @param action action performed for each neighbor and edge weight
+	 */
+	void forEachWeightedNeighbor(int v, NeighborWeightConsumer action);
+
+	/**
+	 * @param u either vertex
+	 * @param v other vertex
+	 * @return the weight of edge <code>{u, v}</code> or {@link Double#POSITIVE_INFINITY} if the
+	 *         vertices are not adjacent
+	 */
+	double weight(int u, int v);
+
+	/**
+	 * @return the stored weights as weight function, e.g. for the minimum spanning forest algorithms
+	 */
+	default EdgeWeight edgeWeight() {
+		return this::weight;
+	}
+}
@@ -0,0 +1,25 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+
+import java.util.function.BiFunction;
+
+/**
+ * Edge labels of a directed graph: the arcs <code>(u, v)</code> and <code>(v, u)</code> have
+ * separate labels.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <E> edge label type
+ */
+public class ArcLabelsLongMap<E> extends EdgeLabelsLongMap<E> {
+
+	public ArcLabelsLongMap(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		super(fnDefaultLabel);
+	}
+
+	@Override
+	protected long key(int u, int v) {
+		return arcKey(u, v);
+	}
+}
@@ -0,0 +1,434 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.DirectedEdge;
+import de.amr.graph.core.api.DirectedGraph;
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Immutable directed graph in compressed sparse row (CSR) format.
+ *
+ * <p>
+ * The successors of vertex <code>v</code> are stored sorted in
+ * <code>targets[outOffsets[v]..outOffsets[v+1]-1]</code>, the predecessors in
+ * <code>sources[inOffsets[v]..inOffsets[v+1]-1]</code>. So both the outgoing and the incoming edges
+ * of a vertex are scanned without indirection, and {@link #reversed()} is a view swapping the two
+ * arrays. Vertices must be non-negative, parallel edges are merged. Only the topology is immutable,
+ * vertex and edge labels can still be changed.
+ *
+ * <p>
+ * Instances are created using a {@link Builder}.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class CSRDigraph<V, E> implements DirectedGraph<V, E> {
+
+	/**
+	 * Builder for directed CSR graphs. Edges are collected as packed arcs, sorting and removal of
+	 * duplicate edges is done in parallel when the graph is built.
+	 *
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 */
+	public static class Builder<V, E> {
+
+		private final BitSet vertexSet = new BitSet();
+		private long[] arcs = new long[16];
+		private int numArcs;
+		private IntFunction<V> fnDefaultVertexLabel = v -> null;
+		private BiFunction<Integer, Integer, E> fnDefaultEdgeLabel = (u, v) -> null;
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > arcs.length) {
+				arcs = Arrays.copyOf(arcs, Math.max(capacity, 2 * arcs.length));
+			}
+		}
+
+		/**
+		 * Adds the given vertex.
+		 *
+		 * @param v a non-negative vertex
+		 * @return this builder
+		 */
+		public Builder<V, E> vertex(int v) {
+			if (v < 0) {
+				throw new IllegalArgumentException("Illegal vertex: " + v);
+			}
+			vertexSet.set(v);
+			return this;
+		}
+
+		/**
+		 * Adds the given vertices.
+		 *
+		 * @param vertices stream of non-negative vertices
+		 * @return this builder
+		 */
+		public Builder<V, E> vertices(IntStream vertices) {
+			vertices.forEachOrdered(this::vertex);
+			return this;
+		}
+
+		/**
+		 * Adds the edge from <code>u</code> to <code>v</code>. Missing end points are added as vertices.
+		 *
+		 * @param u source vertex
+		 * @param v target vertex
+		 * @return this builder
+		 */
+		public Builder<V, E> edge(int u, int v) {
+			vertex(u);
+			vertex(v);
+			ensureCapacity(numArcs + 1);
+			arcs[numArcs++] = arcKey(u, v);
+			return this;
+		}
+
+		/**
+		 * Adds the given edges, each directed from {@link Edge#either()} to {@link Edge#other()}. Missing
+		 * end points are added as vertices.
+		 *
+		 * @param edges stream of edges
+		 * @return this builder
+		 */
+		public Builder<V, E> edges(Stream<? extends Edge> edges) {
+			return edges(edges.mapToLong(edge -> arcKey(edge.either(), edge.other())));
+		}
+
+		/**
+		 * Adds the given edges, each encoded as an arc (see
+		 * {@link de.amr.graph.util.EdgeKeys#arcKey(int, int)}). Missing end points are added as vertices.
+		 *
+		 * @param keys stream of packed arcs
+		 * @return this builder
+		 */
+		public Builder<V, E> edges(LongStream keys) {
+			long[] added = keys.toArray();
+			ensureCapacity(numArcs + added.length);
+			for (long arc : added) {
+				vertex(either(arc));
+				vertex(other(arc));
+				arcs[numArcs++] = arc;
+			}
+			return this;
+		}
+
+		/**
+		 * Adds all vertices and edges of the given graph. The edges of an undirected graph are added in
+		 * both directions. Labels are not copied.
+		 *
+		 * @param g a graph with non-negative vertices
+		 * @return this builder
+		 */
+		public Builder<V, E> graph(Graph<?, ?> g) {
+			vertices(g.vertices());
+			if (g instanceof DirectedGraph) {
+				return edges(g.edgeKeys());
+			}
+			return edges(g.edgeKeys().flatMap(key -> LongStream.of(key, arcKey(other(key), either(key)))));
+		}
+
+		/**
+		 * @param fnDefaultLabel default vertex label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+			fnDefaultVertexLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @param fnDefaultLabel default edge label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+			fnDefaultEdgeLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @return the directed CSR graph with the vertices and edges collected by this builder
+		 */
+		public CSRDigraph<V, E> build() {
+			long[] sorted = Arrays.copyOf(arcs, numArcs);
+			Arrays.parallelSort(sorted);
+			long[] unique = IntStream.range(0, sorted.length).parallel().filter(i -> i == 0 || sorted[i] != sorted[i - 1])
+					.mapToLong(i -> sorted[i]).toArray();
+			int numSlots = vertexSet.length();
+			int[] outOffsets = new int[numSlots + 1];
+			int[] inOffsets = new int[numSlots + 1];
+			for (long arc : unique) {
+				outOffsets[either(arc) + 1] += 1;
+				inOffsets[other(arc) + 1] += 1;
+			}
+			for (int v = 0; v < numSlots; ++v) {
+				outOffsets[v + 1] += outOffsets[v];
+				inOffsets[v + 1] += inOffsets[v];
+			}
+			int[] targets = new int[unique.length];
+			IntStream.range(0, unique.length).parallel().forEach(i -> targets[i] = other(unique[i]));
+			// arcs are sorted by source, so the sources of each target are filled in ascending order
+			int[] sources = new int[unique.length];
+			int[] fill = Arrays.copyOf(inOffsets, numSlots);
+			for (long arc : unique) {
+				sources[fill[other(arc)]++] = either(arc);
+			}
+			return new CSRDigraph<>((BitSet) vertexSet.clone(), outOffsets, targets, inOffsets, sources,
+					new VertexLabelsMap<>(fnDefaultVertexLabel), new ArcLabelsLongMap<>(fnDefaultEdgeLabel));
+		}
+	}
+
+	/**
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 * @return a new builder
+	 */
+	public static <V, E> Builder<V, E> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Creates a directed CSR graph with the same vertices and edges as the given graph. The edges of
+	 * an undirected graph become edges in both directions. Labels are not copied.
+	 *
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 * @param g   a graph with non-negative vertices
+	 * @return directed CSR graph with the topology of the given graph
+	 */
+	public static <V, E> CSRDigraph<V, E> copyOf(Graph<?, ?> g) {
+		return CSRDigraph.<V, E>builder().graph(g).build();
+	}
+
+	/**
+	 * Edge labels of the reversed graph, stored in the labels of this graph with swapped vertices.
+	 */
+	private static class ReversedEdgeLabels<E> implements EdgeLabeling<E> {
+
+		private final EdgeLabeling<E> labels;
+
+		ReversedEdgeLabels(EdgeLabeling<E> labels) {
+			this.labels = labels;
+		}
+
+		@Override
+		public E getEdgeLabel(int u, int v) {
+			return labels.getEdgeLabel(v, u);
+		}
+
+		@Override
+		public void setEdgeLabel(int u, int v, E e) {
+			labels.setEdgeLabel(v, u, e);
+		}
+
+		@Override
+		public void clearEdgeLabels() {
+			labels.clearEdgeLabels();
+		}
+
+		@Override
+		public void setDefaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+			labels.setDefaultEdgeLabel((u, v) -> fnDefaultLabel.apply(v, u));
+		}
+
+		@Override
+		public E getDefaultEdgeLabel(int u, int v) {
+			return labels.getDefaultEdgeLabel(v, u);
+		}
+	}
+
+	private final BitSet vertexSet;
+	private final int numVertices;
+	private final int[] outOffsets;
+	private final int[] targets;
+	private final int[] inOffsets;
+	private final int[] sources;
+	private final VertexLabeling<V> vertexLabeling;
+	private final EdgeLabeling<E> edgeLabeling;
+	private final CSRDigraph<V, E> reversed;
+
+	private CSRDigraph(BitSet vertexSet, int[] outOffsets, int[] targets, int[] inOffsets, int[] sources,
+			VertexLabeling<V> vertexLabeling, EdgeLabeling<E> edgeLabeling) {
+		this.vertexSet = vertexSet;
+		this.numVertices = vertexSet.cardinality();
+		this.outOffsets = outOffsets;
+		this.targets = targets;
+		this.inOffsets = inOffsets;
+		this.sources = sources;
+		this.vertexLabeling = vertexLabeling;
+		this.edgeLabeling = edgeLabeling;
+		this.reversed = new CSRDigraph<>(this);
+	}
+
+	// creates the reversed view
+	private CSRDigraph(CSRDigraph<V, E> g) {
+		this.vertexSet = g.vertexSet;
+		this.numVertices = g.numVertices;
+		this.outOffsets = g.inOffsets;
+		this.targets = g.sources;
+		this.inOffsets = g.outOffsets;
+		this.sources = g.targets;
+		this.vertexLabeling = g.vertexLabeling;
+		this.edgeLabeling = new ReversedEdgeLabels<>(g.edgeLabeling);
+		this.reversed = g;
+	}
+
+	@Override
+	public CSRDigraph<V, E> reversed() {
+		return reversed;
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return vertexLabeling;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return edgeLabeling;
+	}
+
+	@Override
+	public IntStream vertices() {
+		return vertexSet.stream();
+	}
+
+	@Override
+	public int numVertices() {
+		return numVertices;
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return v >= 0 && vertexSet.get(v);
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return vertices().boxed().flatMap(
+				v -> IntStream.range(outOffsets[v], outOffsets[v + 1]).mapToObj(i -> new DirectedEdge(v, targets[i])));
+	}
+
+	@Override
+	public LongStream edgeKeys() {
+		return vertices().boxed()
+				.flatMapToLong(v -> IntStream.range(outOffsets[v], outOffsets[v + 1]).mapToLong(i -> arcKey(v, targets[i])));
+	}
+
+	@Override
+	public int numEdges() {
+		return targets.length;
+	}
+
+	@Override
+	public void addVertex(int v) {
+		throw new UnsupportedOperationException("Cannot add vertex to immutable graph");
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		throw new UnsupportedOperationException("Cannot remove vertex from immutable graph");
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		assertVertexExists(v);
+		return IntStream.range(outOffsets[v], outOffsets[v + 1]).mapToObj(i -> targets[i]);
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		for (int i = outOffsets[v]; i < outOffsets[v + 1]; ++i) {
+			action.accept(targets[i]);
+		}
+	}
+
+	@Override
+	public IntStream predecessors(int v) {
+		assertVertexExists(v);
+		return IntStream.range(inOffsets[v], inOffsets[v + 1]).map(i -> sources[i]);
+	}
+
+	@Override
+	public void forEachPredecessor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		for (int i = inOffsets[v]; i < inOffsets[v + 1]; ++i) {
+			action.accept(sources[i]);
+		}
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		assertVertexExists(v);
+		assertVertexExists(w);
+		return Arrays.binarySearch(targets, outOffsets[v], outOffsets[v + 1], w) >= 0;
+	}
+
+	@Override
+	public int degree(int v) {
+		assertVertexExists(v);
+		return outOffsets[v + 1] - outOffsets[v];
+	}
+
+	@Override
+	public int inDegree(int v) {
+		assertVertexExists(v);
+		return inOffsets[v + 1] - inOffsets[v];
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? Optional.of(new DirectedEdge(v, w)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot remove edge from immutable graph");
+	}
+
+	@Override
+	public void removeEdges() {
+		throw new UnsupportedOperationException("Cannot remove edges from immutable graph");
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges)", getClass().getName(), numVertices, targets.length);
+	}
+
+	private void assertVertexExists(int v) {
+		if (!containsVertex(v)) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+	}
+}
@@ -0,0 +1,371 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+import de.amr.graph.util.Permutation;
+
+/**
+ * Immutable undirected graph in compressed sparse row (CSR) format.
+ *
+ * <p>
+ * The neighbors of vertex <code>v</code> are stored sorted in
+ * <code>targets[offsets[v]..offsets[v+1]-1]</code>. Vertices must be non-negative. Only the topology
+ * is immutable, vertex and edge labels can still be changed.
+ *
+ * <p>
+ * Instances are created using a {@link Builder}.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class CSRGraph<V, E> implements Graph<V, E> {
+
+	/**
+	 * Builder for CSR graphs. Edges are collected as packed vertex pairs, sorting and removal of
+	 * duplicate edges is done in parallel when the graph is built.
+	 *
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 */
+	public static class Builder<V, E> {
+
+		private final BitSet vertexSet = new BitSet();
+		private long[] edgeKeys = new long[16];
+		private int numEdgeKeys;
+		private IntFunction<V> fnDefaultVertexLabel = v -> null;
+		private BiFunction<Integer, Integer, E> fnDefaultEdgeLabel = (u, v) -> null;
+
+		private void checkVertex(int v) {
+			if (v < 0) {
+				throw new IllegalArgumentException("Illegal vertex: " + v);
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > edgeKeys.length) {
+				edgeKeys = Arrays.copyOf(edgeKeys, Math.max(capacity, 2 * edgeKeys.length));
+			}
+		}
+
+		/**
+		 * Adds the given vertex.
+		 *
+		 * @param v a non-negative vertex
+		 * @return this builder
+		 */
+		public Builder<V, E> vertex(int v) {
+			checkVertex(v);
+			vertexSet.set(v);
+			return this;
+		}
+
+		/**
+		 * Adds the given vertices.
+		 *
+		 * @param vertices stream of non-negative vertices
+		 * @return this builder
+		 */
+		public Builder<V, E> vertices(IntStream vertices) {
+			vertices.forEachOrdered(this::vertex);
+			return this;
+		}
+
+		/**
+		 * Adds the edge <code>{u, v}</code>. Missing end points are added as vertices.
+		 *
+		 * @param u either vertex
+		 * @param v other vertex
+		 * @return this builder
+		 */
+		public Builder<V, E> edge(int u, int v) {
+			vertex(u);
+			vertex(v);
+			ensureCapacity(numEdgeKeys + 1);
+			edgeKeys[numEdgeKeys++] = edgeKey(u, v);
+			return this;
+		}
+
+		/**
+		 * Adds the given edges. Missing end points are added as vertices.
+		 *
+		 * @param edges stream of edges
+		 * @return this builder
+		 */
+		public Builder<V, E> edges(Stream<? extends Edge> edges) {
+			return edges(edges.mapToLong(edge -> edgeKey(edge.either(), edge.other())));
+		}
+
+		/**
+		 * Adds the given edges, each encoded as a vertex pair (see {@link de.amr.graph.util.EdgeKeys}).
+		 * Missing end points are added as vertices.
+		 *
+		 * @param keys stream of packed vertex pairs
+		 * @return this builder
+		 */
+		public Builder<V, E> edges(LongStream keys) {
+			long[] added = keys.toArray();
+			ensureCapacity(numEdgeKeys + added.length);
+			for (long key : added) {
+				vertex(either(key));
+				vertex(other(key));
+				edgeKeys[numEdgeKeys++] = edgeKey(either(key), other(key));
+			}
+			return this;
+		}
+
+		/**
+		 * Adds all vertices and edges of the given graph. Labels are not copied.
+		 *
+		 * @param g a graph with non-negative vertices
+		 * @return this builder
+		 */
+		public Builder<V, E> graph(Graph<?, ?> g) {
+			vertices(g.vertices());
+			return edges(g.edges());
+		}
+
+		/**
+		 * @param fnDefaultLabel default vertex label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+			fnDefaultVertexLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @param fnDefaultLabel default edge label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+			fnDefaultEdgeLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @return the CSR graph with the vertices and edges collected by this builder
+		 */
+		public CSRGraph<V, E> build() {
+			final long[] keys = edgeKeys;
+			// each edge {u, v} becomes the arcs (u, v) and (v, u), a loop becomes a single arc
+			long[] arcs = new long[2 * numEdgeKeys];
+			IntStream.range(0, numEdgeKeys).parallel().forEach(i -> {
+				arcs[2 * i] = keys[i];
+				arcs[2 * i + 1] = arcKey(other(keys[i]), either(keys[i]));
+			});
+			Arrays.parallelSort(arcs);
+			long[] uniqueArcs = IntStream.range(0, arcs.length).parallel().filter(i -> i == 0 || arcs[i] != arcs[i - 1])
+					.mapToLong(i -> arcs[i]).toArray();
+			int numVertices = vertexSet.length();
+			int[] offsets = new int[numVertices + 1];
+			IntStream.rangeClosed(0, numVertices).parallel().forEach(v -> offsets[v] = lowerBound(uniqueArcs, arcKey(v, 0)));
+			int[] targets = new int[uniqueArcs.length];
+			IntStream.range(0, uniqueArcs.length).parallel().forEach(i -> targets[i] = other(uniqueArcs[i]));
+			long numLoops = Arrays.stream(uniqueArcs).parallel().filter(arc -> either(arc) == other(arc)).count();
+			int numEdges = (int) ((uniqueArcs.length + numLoops) / 2);
+			return new CSRGraph<>((BitSet) vertexSet.clone(), offsets, targets, numEdges,
+					new VertexLabelsMap<>(fnDefaultVertexLabel), new EdgeLabelsLongMap<>(fnDefaultEdgeLabel));
+		}
+
+		private static int lowerBound(long[] a, long key) {
+			int lo = 0, hi = a.length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (a[mid] < key) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+	}
+
+	/**
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 * @return a new builder
+	 */
+	public static <V, E> Builder<V, E> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Creates a CSR graph with the same vertices and edges as the given graph. Labels are not copied.
+	 *
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 * @param g   a graph with non-negative vertices
+	 * @return CSR graph with the topology of the given graph
+	 */
+	public static <V, E> CSRGraph<V, E> copyOf(Graph<?, ?> g) {
+		return CSRGraph.<V, E>builder().graph(g).build();
+	}
+
+	/**
+	 * Creates a CSR graph with the vertices and edges of the given graph renumbered by the given
+	 * permutation. Vertex <code>v</code> of the given graph becomes vertex
+	 * <code>permutation.toNew(v)</code>, results computed on the new graph can be translated back
+	 * using the permutation. Labels are not copied.
+	 *
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param g           a graph
+	 * @param permutation permutation of the vertices of the graph, e.g. from
+	 *                    {@link de.amr.graph.util.VertexOrders}
+	 * @return renumbered CSR graph
+	 */
+	public static <V, E> CSRGraph<V, E> copyOf(Graph<?, ?> g, Permutation permutation) {
+		return CSRGraph.<V, E>builder().vertices(g.vertices().map(permutation::toNew))
+				.edges(g.edgeKeys().map(key -> edgeKey(permutation.toNew(either(key)), permutation.toNew(other(key)))))
+				.build();
+	}
+
+	protected final BitSet vertexSet;
+	protected final int numVertices;
+	protected final int[] offsets;
+	protected final int[] targets;
+	protected final int numEdges;
+	protected final VertexLabeling<V> vertexLabeling;
+	protected final EdgeLabeling<E> edgeLabeling;
+
+	protected CSRGraph(BitSet vertexSet, int[] offsets, int[] targets, int numEdges, VertexLabeling<V> vertexLabeling,
+			EdgeLabeling<E> edgeLabeling) {
+		this.vertexSet = vertexSet;
+		this.numVertices = vertexSet.cardinality();
+		this.offsets = offsets;
+		this.targets = targets;
+		this.numEdges = numEdges;
+		this.vertexLabeling = vertexLabeling;
+		this.edgeLabeling = edgeLabeling;
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return vertexLabeling;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return edgeLabeling;
+	}
+
+	@Override
+	public IntStream vertices() {
+		return vertexSet.stream();
+	}
+
+	@Override
+	public int numVertices() {
+		return numVertices;
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return v >= 0 && vertexSet.get(v);
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return vertices().boxed().flatMap(v -> IntStream.range(offsets[v], offsets[v + 1]).map(i -> targets[i])
+				.filter(w -> v <= w).mapToObj(w -> new UndirectedEdge(v, w)));
+	}
+
+	@Override
+	public int numEdges() {
+		return numEdges;
+	}
+
+	@Override
+	public void addVertex(int v) {
+		throw new UnsupportedOperationException("Cannot add vertex to immutable graph");
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		throw new UnsupportedOperationException("Cannot remove vertex from immutable graph");
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		assertVertexExists(v);
+		return IntStream.range(offsets[v], offsets[v + 1]).mapToObj(i -> targets[i]);
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		for (int i = offsets[v]; i < offsets[v + 1]; ++i) {
+			action.accept(targets[i]);
+		}
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		assertVertexExists(v);
+		assertVertexExists(w);
+		return Arrays.binarySearch(targets, offsets[v], offsets[v + 1], w) >= 0;
+	}
+
+	@Override
+	public int degree(int v) {
+		assertVertexExists(v);
+		return offsets[v + 1] - offsets[v];
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? Optional.of(new UndirectedEdge(v, w)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot remove edge from immutable graph");
+	}
+
+	@Override
+	public void removeEdges() {
+		throw new UnsupportedOperationException("Cannot remove edges from immutable graph");
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges)", getClass().getName(), numVertices, numEdges);
+	}
+
+	protected void assertVertexExists(int v) {
+		if (!containsVertex(v)) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+	}
+}
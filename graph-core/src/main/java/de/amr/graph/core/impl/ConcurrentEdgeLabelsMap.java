@@ -0,0 +1,59 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import de.amr.graph.core.api.EdgeLabeling;
+
+/**
+ * Thread-safe edge labels implementation keyed by the packed edge (see
+ * {@link de.amr.graph.util.EdgeKeys}).
+ * 
+ * @author Armin Reichert
+ *
+ * @param <E> edge label type
+ */
+public class ConcurrentEdgeLabelsMap<E> implements EdgeLabeling<E> {
+
+	// stands for an explicit null label
+	private static final Object NULL = new Object();
+
+	private final ConcurrentHashMap<Long, Object> labels = new ConcurrentHashMap<>();
+	private volatile BiFunction<Integer, Integer, E> fnDefaultLabel;
+
+	public ConcurrentEdgeLabelsMap(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E getEdgeLabel(int u, int v) {
+		Object label = labels.get(edgeKey(u, v));
+		if (label == null) {
+			return fnDefaultLabel.apply(u, v);
+		}
+		return label == NULL ? null : (E) label;
+	}
+
+	@Override
+	public void setEdgeLabel(int u, int v, E e) {
+		labels.put(edgeKey(u, v), e != null ? e : NULL);
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		labels.clear();
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@Override
+	public E getDefaultEdgeLabel(int u, int v) {
+		return fnDefaultLabel.apply(u, v);
+	}
+}
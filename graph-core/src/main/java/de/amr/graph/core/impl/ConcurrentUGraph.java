@@ -0,0 +1,248 @@
+package de.amr.graph.core.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Thread-safe implementation of an undirected graph.
+ * <p>
+ * The vertices are kept in a concurrent map, the adjacency set of each vertex is guarded by one of
+ * a fixed number of locks ("lock striping"). An edge operation locks the stripes of both end
+ * vertices in a fixed order, so operations on edges in different stripes run in parallel and each
+ * edge operation is atomic. Vertex and edge labels are stored in concurrent maps.
+ * <p>
+ * Edges are unique: adding an existing edge does not change the graph. Streams and
+ * {@link #forEachNeighbor(int, IntConsumer)} work on a copy of the adjacency sets taken at the time
+ * of the call; {@link #edges()} is not a consistent snapshot if other threads modify the graph.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class ConcurrentUGraph<V, E> implements Graph<V, E> {
+
+	private final VertexLabeling<V> vertexLabeling = new ConcurrentVertexLabelsMap<>(v -> null);
+	private final EdgeLabeling<E> edgeLabeling = new ConcurrentEdgeLabelsMap<>((u, v) -> null);
+	private final ConcurrentHashMap<Integer, Set<Integer>> adjSets = new ConcurrentHashMap<>();
+	private final AtomicInteger numEdges = new AtomicInteger();
+	private final Object[] locks;
+	private final int mask;
+
+	public ConcurrentUGraph() {
+		this(4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param concurrencyLevel expected number of concurrently modifying threads
+	 */
+	public ConcurrentUGraph(int concurrencyLevel) {
+		int numLocks = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1)) << 1;
+		locks = new Object[numLocks];
+		for (int i = 0; i < numLocks; ++i) {
+			locks[i] = new Object();
+		}
+		mask = numLocks - 1;
+	}
+
+	private int stripe(int v) {
+		int h = v * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private Set<Integer> adjSet(int v) {
+		Set<Integer> adjSet = adjSets.get(v);
+		if (adjSet == null) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+		return adjSet;
+	}
+
+	private int[] neighbors(int v) {
+		synchronized (locks[stripe(v)]) {
+			return adjSet(v).stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return vertexLabeling;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return edgeLabeling;
+	}
+
+	@Override
+	public IntStream vertices() {
+		return adjSets.keySet().stream().mapToInt(Integer::intValue);
+	}
+
+	@Override
+	public int numVertices() {
+		return adjSets.size();
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return adjSets.containsKey(v);
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		List<Edge> edges = new ArrayList<>();
+		adjSets.keySet().forEach(v -> {
+			int[] neighbors;
+			try {
+				neighbors = neighbors(v);
+			} catch (IllegalStateException x) {
+				return; // removed concurrently
+			}
+			for (int w : neighbors) {
+				if (v <= w) {
+					edges.add(new UndirectedEdge(v, w));
+				}
+			}
+		});
+		return edges.stream();
+	}
+
+	@Override
+	public int numEdges() {
+		return numEdges.get();
+	}
+
+	@Override
+	public void addVertex(int v) {
+		adjSets.putIfAbsent(v, new HashSet<>());
+	}
+
+	/**
+	 * Removes the vertex and all its incident edges. Must not run concurrently with operations adding
+	 * the same vertex again.
+	 */
+	@Override
+	public void removeVertex(int v) {
+		int[] neighbors;
+		synchronized (locks[stripe(v)]) {
+			neighbors = adjSet(v).stream().mapToInt(Integer::intValue).toArray();
+			adjSets.remove(v);
+		}
+		for (int w : neighbors) {
+			if (w == v) {
+				numEdges.decrementAndGet();
+				continue;
+			}
+			synchronized (locks[stripe(w)]) {
+				Set<Integer> adjSet = adjSets.get(w);
+				if (adjSet != null && adjSet.remove(v)) {
+					numEdges.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		return IntStream.of(neighbors(v)).boxed();
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		for (int w : neighbors(v)) {
+			action.accept(w);
+		}
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		synchronized (locks[stripe(v)]) {
+			if (!containsVertex(w)) {
+				throw new IllegalStateException("Vertex not in graph: " + w);
+			}
+			return adjSet(v).contains(w);
+		}
+	}
+
+	@Override
+	public int degree(int v) {
+		synchronized (locks[stripe(v)]) {
+			return adjSet(v).size();
+		}
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		int sv = stripe(v), sw = stripe(w);
+		synchronized (locks[Math.min(sv, sw)]) {
+			synchronized (locks[Math.max(sv, sw)]) {
+				Set<Integer> adjV = adjSet(v), adjW = adjSet(w);
+				if (adjV.add(w)) {
+					adjW.add(v);
+					numEdges.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		addEdge(v, w);
+		setEdgeLabel(v, w, edgeLabel);
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? Optional.of(new UndirectedEdge(v, w)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		int sv = stripe(v), sw = stripe(w);
+		synchronized (locks[Math.min(sv, sw)]) {
+			synchronized (locks[Math.max(sv, sw)]) {
+				Set<Integer> adjV = adjSet(v), adjW = adjSet(w);
+				if (adjV.remove(w)) {
+					adjW.remove(v);
+					numEdges.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void removeEdges() {
+		removeEdges(0);
+	}
+
+	private void removeEdges(int stripe) {
+		if (stripe == locks.length) {
+			adjSets.values().forEach(Set::clear);
+			numEdges.set(0);
+			return;
+		}
+		synchronized (locks[stripe]) {
+			removeEdges(stripe + 1);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges)", getClass().getName(), numVertices(), numEdges());
+	}
+}
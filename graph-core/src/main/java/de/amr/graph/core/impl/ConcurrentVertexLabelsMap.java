@@ -0,0 +1,56 @@
+package de.amr.graph.core.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Thread-safe vertex labels implementation for sparse graphs.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ */
+public class ConcurrentVertexLabelsMap<V> implements VertexLabeling<V> {
+
+	// stands for an explicit null label
+	private static final Object NULL = new Object();
+
+	private final ConcurrentHashMap<Integer, Object> labels = new ConcurrentHashMap<>();
+	private volatile IntFunction<V> fnDefaultLabel;
+
+	public ConcurrentVertexLabelsMap(IntFunction<V> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(int v) {
+		Object label = labels.get(v);
+		if (label == null) {
+			return fnDefaultLabel.apply(v);
+		}
+		return label == NULL ? null : (V) label;
+	}
+
+	@Override
+	public void set(int v, V vertexLabel) {
+		labels.put(v, vertexLabel != null ? vertexLabel : NULL);
+	}
+
+	@Override
+	public void clearVertexLabels() {
+		labels.clear();
+	}
+
+	@Override
+	public V getDefaultVertexLabel(int v) {
+		return fnDefaultLabel.apply(v);
+	}
+
+	@Override
+	public void setDefaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+}
@@ -0,0 +1,88 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+
+import java.util.function.BiFunction;
+
+import de.amr.datastruct.LongDoubleHashMap;
+import de.amr.graph.core.api.DoubleEdgeLabeling;
+
+/**
+ * Edge labels implementation for {@code double} labels (e.g. edge weights) stored unboxed in a
+ * primitive hash map keyed by the packed edge (see {@link de.amr.graph.util.EdgeKeys}).
+ * 
+ * @author Armin Reichert
+ */
+public class DoubleEdgeLabelsLongMap implements DoubleEdgeLabeling {
+
+	private final LongDoubleHashMap labels = new LongDoubleHashMap();
+	private double defaultLabel;
+	private BiFunction<Integer, Integer, Double> fnDefaultLabel;
+
+	/**
+	 * @param defaultLabel label of edges without explicit label
+	 */
+	public DoubleEdgeLabelsLongMap(double defaultLabel) {
+		this.defaultLabel = defaultLabel;
+	}
+
+	@Override
+	public double getDoubleEdgeLabel(int u, int v) {
+		long key = edgeKey(u, v);
+		if (fnDefaultLabel == null) {
+			return labels.get(key, defaultLabel);
+		}
+		return labels.containsKey(key) ? labels.get(key, defaultLabel) : fnDefaultLabel.apply(u, v);
+	}
+
+	@Override
+	public void setDoubleEdgeLabel(int u, int v, double label) {
+		labels.put(edgeKey(u, v), label);
+	}
+
+	/**
+	 * A {@code null} label removes the explicit label of the edge, so it gets the default label again.
+	 */
+	@Override
+	public void setEdgeLabel(int u, int v, Double label) {
+		if (label == null) {
+			labels.remove(edgeKey(u, v));
+		} else {
+			setDoubleEdgeLabel(u, v, label);
+		}
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		labels.clear();
+	}
+
+	/**
+	 * Sets a constant default label. This is faster than using a default label function.
+	 * 
+	 * @param defaultLabel label of edges without explicit label
+	 */
+	public void setDefaultEdgeLabel(double defaultLabel) {
+		this.defaultLabel = defaultLabel;
+		this.fnDefaultLabel = null;
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, Double> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@Override
+	public Double getDefaultEdgeLabel(int u, int v) {
+		if (fnDefaultLabel != null) {
+			return fnDefaultLabel.apply(u, v);
+		}
+		return defaultLabel;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder().append("Labels (default='").append(getDefaultEdgeLabel(0, 0)).append("'): ")
+				.append(labels.size()).append(" edges labeled").toString();
+	}
+}
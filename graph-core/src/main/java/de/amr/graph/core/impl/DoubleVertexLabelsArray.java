@@ -0,0 +1,60 @@
+package de.amr.graph.core.impl;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+import de.amr.graph.core.api.DoubleVertexLabeling;
+
+/**
+ * Vertex labels implementation for dense graphs with {@code double} labels stored unboxed.
+ * <p>
+ * Unlabeled vertices hold the default label, so reading a label is a single array access. Changing
+ * the default label rewrites all unlabeled vertices.
+ * 
+ * @author Armin Reichert
+ */
+public class DoubleVertexLabelsArray implements DoubleVertexLabeling {
+
+	private final double[] labels;
+	private final BitSet labeled = new BitSet();
+	private IntFunction<Double> fnDefaultLabel;
+
+	public DoubleVertexLabelsArray(int size, double defaultLabel) {
+		labels = new double[size];
+		setDefaultVertexLabel(v -> defaultLabel);
+	}
+
+	private void fillUnlabeled() {
+		for (int v = labeled.nextClearBit(0); v < labels.length; v = labeled.nextClearBit(v + 1)) {
+			labels[v] = fnDefaultLabel.apply(v);
+		}
+	}
+
+	@Override
+	public double getDouble(int v) {
+		return labels[v];
+	}
+
+	@Override
+	public void setDouble(int v, double label) {
+		labels[v] = label;
+		labeled.set(v);
+	}
+
+	@Override
+	public void clearVertexLabels() {
+		labeled.clear();
+		fillUnlabeled();
+	}
+
+	@Override
+	public Double getDefaultVertexLabel(int v) {
+		return fnDefaultLabel.apply(v);
+	}
+
+	@Override
+	public void setDefaultVertexLabel(IntFunction<Double> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+		fillUnlabeled();
+	}
+}
@@ -0,0 +1,75 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+
+import java.util.function.BiFunction;
+
+import de.amr.datastruct.LongObjectHashMap;
+import de.amr.graph.core.api.EdgeLabeling;
+
+/**
+ * Edge labels implementation storing the labels in a primitive hash map keyed by the packed edge
+ * (see {@link de.amr.graph.util.EdgeKeys}). Reading or writing a label allocates no key objects.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <E> edge label type
+ */
+public class EdgeLabelsLongMap<E> implements EdgeLabeling<E> {
+
+	// stands for an explicit null label
+	private static final Object NULL = new Object();
+
+	private BiFunction<Integer, Integer, E> fnDefaultLabel;
+
+	private final LongObjectHashMap<Object> labels = new LongObjectHashMap<>();
+
+	public EdgeLabelsLongMap(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	/**
+	 * @param u either vertex
+	 * @param v other vertex
+	 * @return the key under which the label of edge <code>{u, v}</code> is stored
+	 */
+	protected long key(int u, int v) {
+		return edgeKey(u, v);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E getEdgeLabel(int u, int v) {
+		Object label = labels.get(key(u, v));
+		if (label == null) {
+			return fnDefaultLabel.apply(u, v);
+		}
+		return label == NULL ? null : (E) label;
+	}
+
+	@Override
+	public void setEdgeLabel(int u, int v, E e) {
+		labels.put(key(u, v), e != null ? e : NULL);
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		labels.clear();
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@Override
+	public E getDefaultEdgeLabel(int u, int v) {
+		return fnDefaultLabel.apply(u, v);
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder().append("Labels (default='").append(fnDefaultLabel.apply(0, 0)).append("'): ")
+				.append(labels.size()).append(" edges labeled").toString();
+	}
+}
@@ -0,0 +1,63 @@
+package de.amr.graph.core.impl;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Vertex labels implementation for dense graphs with enum labels, for example
+ * {@link de.amr.graph.core.api.TraversalState}. Each label is stored as a single byte holding the
+ * ordinal of the enum constant.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <V> enum type of the vertex labels
+ */
+public class EnumVertexLabelsArray<V extends Enum<V>> implements VertexLabeling<V> {
+
+	private static final byte NO_LABEL = 0;
+	private static final byte NULL_LABEL = -1;
+
+	private final V[] constants;
+	private final byte[] labels; // 0 = no label, -1 = null label, else ordinal + 1
+	private IntFunction<V> fnDefaultLabel;
+
+	public EnumVertexLabelsArray(int size, Class<V> enumType, IntFunction<V> fnDefaultLabel) {
+		constants = enumType.getEnumConstants();
+		if (constants.length > 254) {
+			throw new IllegalArgumentException("Too many enum constants: " + enumType);
+		}
+		labels = new byte[size];
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@Override
+	public V get(int v) {
+		byte label = labels[v];
+		if (label == NO_LABEL) {
+			return fnDefaultLabel.apply(v);
+		}
+		return label == NULL_LABEL ? null : constants[(label & 0xFF) - 1];
+	}
+
+	@Override
+	public void set(int v, V vertexLabel) {
+		labels[v] = vertexLabel != null ? (byte) (vertexLabel.ordinal() + 1) : NULL_LABEL;
+	}
+
+	@Override
+	public void clearVertexLabels() {
+		Arrays.fill(labels, NO_LABEL);
+	}
+
+	@Override
+	public V getDefaultVertexLabel(int v) {
+		return fnDefaultLabel.apply(v);
+	}
+
+	@Override
+	public void setDefaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+}
@@ -0,0 +1,326 @@
+package de.amr.graph.core.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.datastruct.LongIntHashMap;
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Multigraph;
+import de.amr.graph.core.api.UndirectedEdge;
+
+/**
+ * Undirected multigraph with per-vertex incidence lists.
+ * <p>
+ * Each edge gets an id that stays valid until the edge is removed; ids of removed edges are reused.
+ * Every vertex stores the ids of its incident edges in an {@code int} array, and every edge stores
+ * its positions inside the incidence arrays of its end vertices. Therefore the queries
+ * {@link #degree(int)}, {@link #adjVertices(int)}, {@link #adjacent(int, int)},
+ * {@link #edges(int, int)} and {@link #removeEdge(int, int)} run in time proportional to the vertex
+ * degrees and {@link #removeEdgeById(int)} runs in constant time.
+ * <p>
+ * As in {@link DefaultMultigraph}, a loop is counted once in the degree of its vertex.
+ * 
+ * @author Armin Reichert
+ */
+public class IncidenceMultigraph implements Multigraph {
+
+	private static final int[] NO_EDGES = {};
+
+	private final LongIntHashMap slotOfVertex;
+	private int[] vertexOfSlot;
+	private int[][] incidence;
+	private int[] degree;
+	private int numVertices;
+
+	private Edge[] edges;
+	private int[] either;
+	private int[] other;
+	private int[] posEither;
+	private int[] posOther;
+	private int[] freeIds;
+	private int numFreeIds;
+	private int idBound;
+	private int numEdges;
+
+	public IncidenceMultigraph() {
+		this(16, 16);
+	}
+
+	/**
+	 * @param expectedVertices expected number of vertices
+	 * @param expectedEdges    expected number of edges
+	 */
+	public IncidenceMultigraph(int expectedVertices, int expectedEdges) {
+		int vertexCapacity = Math.max(1, expectedVertices), edgeCapacity = Math.max(1, expectedEdges);
+		slotOfVertex = new LongIntHashMap(vertexCapacity);
+		vertexOfSlot = new int[vertexCapacity];
+		incidence = new int[vertexCapacity][];
+		degree = new int[vertexCapacity];
+		edges = new Edge[edgeCapacity];
+		either = new int[edgeCapacity];
+		other = new int[edgeCapacity];
+		posEither = new int[edgeCapacity];
+		posOther = new int[edgeCapacity];
+		freeIds = new int[0];
+	}
+
+	private int slot(int v) {
+		int slot = slotOfVertex.get(v, -1);
+		if (slot == -1) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+		return slot;
+	}
+
+	private void checkEdgeId(int id) {
+		if (!containsEdgeId(id)) {
+			throw new IllegalArgumentException("Edge not in graph: " + id);
+		}
+	}
+
+	private int newEdgeId() {
+		if (numFreeIds > 0) {
+			return freeIds[--numFreeIds];
+		}
+		if (idBound == edges.length) {
+			int capacity = 2 * edges.length;
+			edges = Arrays.copyOf(edges, capacity);
+			either = Arrays.copyOf(either, capacity);
+			other = Arrays.copyOf(other, capacity);
+			posEither = Arrays.copyOf(posEither, capacity);
+			posOther = Arrays.copyOf(posOther, capacity);
+		}
+		return idBound++;
+	}
+
+	private int appendIncidence(int slot, int id) {
+		int[] list = incidence[slot];
+		if (degree[slot] == list.length) {
+			list = incidence[slot] = Arrays.copyOf(list, Math.max(4, 2 * list.length));
+		}
+		list[degree[slot]] = id;
+		return degree[slot]++;
+	}
+
+	private void removeIncidence(int v, int slot, int pos) {
+		int[] list = incidence[slot];
+		int last = --degree[slot];
+		if (pos != last) {
+			int moved = list[last];
+			list[pos] = moved;
+			if (either[moved] == v) {
+				posEither[moved] = pos;
+			} else {
+				posOther[moved] = pos;
+			}
+		}
+	}
+
+	private int findEdgeId(int v, int w) {
+		int slotV = slot(v), slotW = slot(w);
+		if (degree[slotW] < degree[slotV]) {
+			int tmp = v;
+			v = w;
+			w = tmp;
+			slotV = slotW;
+		}
+		int[] list = incidence[slotV];
+		for (int i = 0; i < degree[slotV]; ++i) {
+			int id = list[i];
+			if (otherVertex(id, v) == w) {
+				return id;
+			}
+		}
+		return -1;
+	}
+
+	private int otherVertex(int id, int v) {
+		return either[id] == v ? other[id] : either[id];
+	}
+
+	@Override
+	public void addVertex(int vertex) {
+		if (slotOfVertex.containsKey(vertex)) {
+			return;
+		}
+		if (numVertices == vertexOfSlot.length) {
+			int capacity = 2 * vertexOfSlot.length;
+			vertexOfSlot = Arrays.copyOf(vertexOfSlot, capacity);
+			incidence = Arrays.copyOf(incidence, capacity);
+			degree = Arrays.copyOf(degree, capacity);
+		}
+		vertexOfSlot[numVertices] = vertex;
+		incidence[numVertices] = NO_EDGES;
+		slotOfVertex.put(vertex, numVertices++);
+	}
+
+	@Override
+	public void addEdge(Edge edge) {
+		addEdgeWithId(edge);
+	}
+
+	/**
+	 * Adds an edge between the given vertices.
+	 * 
+	 * @param u a vertex
+	 * @param v a vertex
+	 * @return the id of the new edge
+	 */
+	public int addEdge(int u, int v) {
+		return addEdgeWithId(new UndirectedEdge(u, v));
+	}
+
+	/**
+	 * Adds the given edge.
+	 * 
+	 * @param edge an edge
+	 * @return the id of the new edge
+	 */
+	public int addEdgeWithId(Edge edge) {
+		int u = edge.either(), v = edge.other();
+		int slotU = slot(u), slotV = slot(v);
+		int id = newEdgeId();
+		edges[id] = edge;
+		either[id] = u;
+		other[id] = v;
+		posEither[id] = appendIncidence(slotU, id);
+		posOther[id] = u != v ? appendIncidence(slotV, id) : -1;
+		++numEdges;
+		return id;
+	}
+
+	/**
+	 * @param id an edge id
+	 * @return {@code true} if this graph contains an edge with this id
+	 */
+	public boolean containsEdgeId(int id) {
+		return 0 <= id && id < idBound && edges[id] != null;
+	}
+
+	/**
+	 * @param id an edge id
+	 * @return the edge with this id
+	 */
+	public Edge edgeById(int id) {
+		checkEdgeId(id);
+		return edges[id];
+	}
+
+	/**
+	 * Removes the edge with the given id.
+	 * 
+	 * @param id an edge id
+	 */
+	public void removeEdgeById(int id) {
+		checkEdgeId(id);
+		int u = either[id], v = other[id];
+		removeIncidence(u, slot(u), posEither[id]);
+		if (u != v) {
+			removeIncidence(v, slot(v), posOther[id]);
+		}
+		edges[id] = null;
+		if (numFreeIds == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, Math.max(4, 2 * freeIds.length));
+		}
+		freeIds[numFreeIds++] = id;
+		--numEdges;
+	}
+
+	/**
+	 * Performs the given action for the id of each edge incident to the given vertex.
+	 * 
+	 * @param v      a vertex
+	 * @param action action performed for each incident edge id
+	 */
+	public void forEachIncidentEdge(int v, IntConsumer action) {
+		int slot = slot(v);
+		int[] list = incidence[slot];
+		for (int i = 0; i < degree[slot]; ++i) {
+			action.accept(list[i]);
+		}
+	}
+
+	/**
+	 * @param id an edge id
+	 * @param v  an end vertex of this edge
+	 * @return the other end vertex of this edge
+	 */
+	public int other(int id, int v) {
+		checkEdgeId(id);
+		return otherVertex(id, v);
+	}
+
+	@Override
+	public Stream<Edge> edges(int v, int w) {
+		int slotV = slot(v);
+		slot(w);
+		return Arrays.stream(incidence[slotV], 0, degree[slotV]).filter(id -> otherVertex(id, v) == w)
+				.mapToObj(id -> edges[id]);
+	}
+
+	@Override
+	public void removeEdge(int u, int v) {
+		int id = findEdgeId(u, v);
+		if (id != -1) {
+			removeEdgeById(id);
+		}
+	}
+
+	@Override
+	public void removeEdges() {
+		Arrays.fill(edges, 0, idBound, null);
+		Arrays.fill(degree, 0, numVertices, 0);
+		idBound = 0;
+		numFreeIds = 0;
+		numEdges = 0;
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		return findEdgeId(v, w) != -1;
+	}
+
+	@Override
+	public IntStream vertexStream() {
+		return Arrays.stream(vertexOfSlot, 0, numVertices);
+	}
+
+	@Override
+	public int vertexCount() {
+		return numVertices;
+	}
+
+	@Override
+	public Stream<Edge> edgeStream() {
+		return Arrays.stream(edges, 0, idBound).filter(Objects::nonNull);
+	}
+
+	@Override
+	public int edgeCount() {
+		return numEdges;
+	}
+
+	@Override
+	public int degree(int v) {
+		return degree[slot(v)];
+	}
+
+	@Override
+	public IntStream adjVertices(int v) {
+		int slot = slot(v);
+		return Arrays.stream(incidence[slot], 0, degree[slot]).map(id -> otherVertex(id, v));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(vertexCount()).append("\n");
+		s.append(edgeCount()).append("\n");
+		vertexStream().forEach(v -> s.append(v).append("\n"));
+		edgeStream().forEach(e -> s.append(e.either()).append(" ").append(e.other()).append("\n"));
+		return s.toString();
+	}
+}
@@ -0,0 +1,60 @@
+package de.amr.graph.core.impl;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+import de.amr.graph.core.api.IntVertexLabeling;
+
+/**
+ * Vertex labels implementation for dense graphs with {@code int} labels stored unboxed.
+ * <p>
+ * Unlabeled vertices hold the default label, so reading a label is a single array access. Changing
+ * the default label rewrites all unlabeled vertices.
+ * 
+ * @author Armin Reichert
+ */
+public class IntVertexLabelsArray implements IntVertexLabeling {
+
+	private final int[] labels;
+	private final BitSet labeled = new BitSet();
+	private IntFunction<Integer> fnDefaultLabel;
+
+	public IntVertexLabelsArray(int size, int defaultLabel) {
+		labels = new int[size];
+		setDefaultVertexLabel(v -> defaultLabel);
+	}
+
+	private void fillUnlabeled() {
+		for (int v = labeled.nextClearBit(0); v < labels.length; v = labeled.nextClearBit(v + 1)) {
+			labels[v] = fnDefaultLabel.apply(v);
+		}
+	}
+
+	@Override
+	public int getInt(int v) {
+		return labels[v];
+	}
+
+	@Override
+	public void setInt(int v, int label) {
+		labels[v] = label;
+		labeled.set(v);
+	}
+
+	@Override
+	public void clearVertexLabels() {
+		labeled.clear();
+		fillUnlabeled();
+	}
+
+	@Override
+	public Integer getDefaultVertexLabel(int v) {
+		return fnDefaultLabel.apply(v);
+	}
+
+	@Override
+	public void setDefaultVertexLabel(IntFunction<Integer> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+		fillUnlabeled();
+	}
+}
@@ -0,0 +1,409 @@
+package de.amr.graph.core.impl;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+import de.amr.graph.core.api.WeightedGraph;
+import de.amr.graph.io.BinaryGraphFormat;
+import de.amr.graph.io.ChannelOutput;
+
+/**
+ * Immutable undirected graph in compressed sparse row (CSR) format whose arrays are stored in a
+ * memory-mapped file.
+ *
+ * <p>
+ * The topology is not copied to the heap: {@link #adj(int)}, {@link #degree(int)} and
+ * {@link #adjacent(int, int)} read the mapped file directly, so opening a graph takes constant time
+ * and the operating system's page cache is shared by all processes using the same file. The file is
+ * mapped in segments of 1 GB, therefore files larger than 2 GB are supported.
+ *
+ * <p>
+ * File layout (big-endian): the header of {@link BinaryGraphFormat} with kind
+ * {@link BinaryGraphFormat#KIND_MAPPED_CSR}, the number of vertex slots <code>n</code>, the number
+ * of arcs and the number of edges, padded to 32 bytes. Then the vertex bitmap (<code>long</code>
+ * words), the <code>n+1</code> arc offsets (<code>long</code>), the sorted arc targets
+ * (<code>int</code>, padded to 8 bytes) and optionally the arc weights (<code>double</code>).
+ *
+ * <p>
+ * Vertex and edge labels are kept on the heap and can be changed. If the file contains arc weights,
+ * they can be used by weighted shortest path searches, the weighted methods throw an
+ * {@link IllegalStateException} otherwise.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class MappedGraph<V, E> implements WeightedGraph<V, E> {
+
+	private static final int HEADER_SIZE = 32;
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	/**
+	 * Writes the topology of a graph in the mapped CSR layout.
+	 *
+	 * @param g    a graph with non-negative vertices
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	public static void write(Graph<?, ?> g, Path path) throws IOException {
+		write(g, path, null);
+	}
+
+	/**
+	 * Writes the topology and the edge weights of a graph in the mapped CSR layout.
+	 *
+	 * @param <E>    edge label type
+	 * @param g      a graph with non-negative vertices
+	 * @param path   file path
+	 * @param weight computes the edge weight from the edge label or {@code null} if no weights are
+	 *               stored
+	 * @throws IOException if writing fails
+	 */
+	public static <E> void write(Graph<?, E> g, Path path, ToDoubleFunction<? super E> weight) throws IOException {
+		if (g.vertices().anyMatch(v -> v < 0)) {
+			throw new IllegalArgumentException("Mapped graph requires non-negative vertices");
+		}
+		int n = g.vertices().max().orElse(-1) + 1;
+		NeighborBuffer neighbors = new NeighborBuffer();
+		long[] offsets = new long[n + 1];
+		for (int v = 0; v < n; ++v) {
+			offsets[v + 1] = offsets[v] + neighbors.fill(g, v);
+		}
+		long numArcs = offsets[n];
+		try (ChannelOutput out = new ChannelOutput(path)) {
+			out.writeInt(BinaryGraphFormat.MAGIC);
+			out.writeInt(BinaryGraphFormat.VERSION);
+			out.writeByte(BinaryGraphFormat.KIND_MAPPED_CSR);
+			out.writeByte(weight != null ? BinaryGraphFormat.FLAG_WEIGHTS : 0);
+			out.writeInt(n);
+			out.writeLong(numArcs);
+			out.writeLong(g.numEdges());
+			out.writeByte(0);
+			out.writeByte(0);
+			long[] bitmap = new long[(n + 63) >>> 6];
+			g.vertices().forEach(v -> bitmap[v >>> 6] |= 1L << v);
+			for (long word : bitmap) {
+				out.writeLong(word);
+			}
+			for (long offset : offsets) {
+				out.writeLong(offset);
+			}
+			for (int v = 0; v < n; ++v) {
+				for (int i = 0, count = neighbors.fill(g, v); i < count; ++i) {
+					out.writeInt(neighbors.targets[i]);
+				}
+			}
+			if (numArcs % 2 != 0) {
+				out.writeInt(0);
+			}
+			if (weight != null) {
+				for (int v = 0; v < n; ++v) {
+					for (int i = 0, count = neighbors.fill(g, v); i < count; ++i) {
+						double w = weight.applyAsDouble(g.getEdgeLabel(v, neighbors.targets[i]));
+						out.writeLong(Double.doubleToLongBits(w));
+					}
+				}
+			}
+		}
+	}
+
+	/** Reusable buffer for the sorted neighbors of a vertex. */
+	private static class NeighborBuffer {
+
+		private int[] targets = new int[16];
+		private int count;
+
+		int fill(Graph<?, ?> g, int v) {
+			count = 0;
+			if (g.containsVertex(v)) {
+				g.forEachNeighbor(v, w -> {
+					if (count == targets.length) {
+						targets = Arrays.copyOf(targets, 2 * count);
+					}
+					targets[count++] = w;
+				});
+				Arrays.sort(targets, 0, count);
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Maps the given file.
+	 *
+	 * @param <V>  vertex label type
+	 * @param <E>  edge label type
+	 * @param path a file written by {@link #write(Graph, Path, ToDoubleFunction)}
+	 * @return the mapped graph
+	 * @throws IOException if the file cannot be mapped or is no mapped graph file
+	 */
+	public static <V, E> MappedGraph<V, E> open(Path path) throws IOException {
+		MappedByteBuffer[] segments;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_SIZE) {
+				throw new IOException("Not a mapped graph file");
+			}
+			segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+			for (int i = 0; i < segments.length; ++i) {
+				long start = (long) i << SEGMENT_SHIFT;
+				segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+			}
+		}
+		return new MappedGraph<>(segments);
+	}
+
+	private final MappedByteBuffer[] segments;
+	private final int numVertexSlots;
+	private final int numVertices;
+	private final long numArcs;
+	private final long numEdges;
+	private final long bitmapStart;
+	private final long offsetsStart;
+	private final long targetsStart;
+	private final long weightsStart;
+	private final VertexLabeling<V> vertexLabeling = new VertexLabelsMap<>(v -> null);
+	private final EdgeLabeling<E> edgeLabeling = new EdgeLabelsLongMap<>((u, v) -> null);
+
+	private MappedGraph(MappedByteBuffer[] segments) throws IOException {
+		this.segments = segments;
+		if (getInt(0) != BinaryGraphFormat.MAGIC) {
+			throw new IOException("Not a mapped graph file");
+		}
+		if (getInt(4) != BinaryGraphFormat.VERSION) {
+			throw new IOException("Unsupported binary graph format version: " + getInt(4));
+		}
+		if (segments[0].get(8) != BinaryGraphFormat.KIND_MAPPED_CSR) {
+			throw new IOException("Not a mapped graph file");
+		}
+		boolean weighted = (segments[0].get(9) & BinaryGraphFormat.FLAG_WEIGHTS) != 0;
+		numVertexSlots = segments[0].getInt(10);
+		numArcs = segments[0].getLong(14);
+		numEdges = segments[0].getLong(22);
+		bitmapStart = HEADER_SIZE;
+		offsetsStart = bitmapStart + 8L * ((numVertexSlots + 63) >>> 6);
+		targetsStart = offsetsStart + 8L * (numVertexSlots + 1);
+		weightsStart = weighted ? targetsStart + 4L * (numArcs + numArcs % 2) : -1;
+		long expectedSize = weighted ? weightsStart + 8 * numArcs : targetsStart + 4 * numArcs;
+		long size = ((long) (segments.length - 1) << SEGMENT_SHIFT) + segments[segments.length - 1].capacity();
+		if (size < expectedSize) {
+			throw new IOException(String.format("Mapped graph file truncated: %d bytes, expected %d", size, expectedSize));
+		}
+		int count = 0;
+		for (long i = bitmapStart; i < offsetsStart; i += 8) {
+			count += Long.bitCount(getLong(i));
+		}
+		numVertices = count;
+	}
+
+	private int getInt(long pos) {
+		return segments[(int) (pos >>> SEGMENT_SHIFT)].getInt((int) (pos & SEGMENT_MASK));
+	}
+
+	private long getLong(long pos) {
+		return segments[(int) (pos >>> SEGMENT_SHIFT)].getLong((int) (pos & SEGMENT_MASK));
+	}
+
+	private long offset(int v) {
+		return getLong(offsetsStart + 8L * v);
+	}
+
+	private int target(long arc) {
+		return getInt(targetsStart + 4 * arc);
+	}
+
+	private long findArc(int v, int w) {
+		long lo = offset(v), hi = offset(v + 1) - 1;
+		while (lo <= hi) {
+			long mid = (lo + hi) >>> 1;
+			int target = target(mid);
+			if (target < w) {
+				lo = mid + 1;
+			} else if (target > w) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return {@code true} if the file contains edge weights
+	 */
+	public boolean hasWeights() {
+		return weightsStart != -1;
+	}
+
+	private double arcWeight(long arc) {
+		return Double.longBitsToDouble(getLong(weightsStart + 8 * arc));
+	}
+
+	private void assertWeights() {
+		if (!hasWeights()) {
+			throw new IllegalStateException("Mapped graph has no edge weights");
+		}
+	}
+
+	/**
+	 * @throws IllegalStateException if the file contains no weights
+	 */
+	@Override
+	public void forEachWeightedNeighbor(int v, NeighborWeightConsumer action) {
+		assertWeights();
+		assertVertexExists(v);
+		for (long i = offset(v), end = offset(v + 1); i < end; ++i) {
+			action.accept(target(i), arcWeight(i));
+		}
+	}
+
+	/**
+	 * @throws IllegalStateException if the file contains no weights
+	 */
+	@Override
+	public double weight(int v, int w) {
+		assertWeights();
+		assertVertexExists(v);
+		assertVertexExists(w);
+		long arc = findArc(v, w);
+		return arc == -1 ? Double.POSITIVE_INFINITY : arcWeight(arc);
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return vertexLabeling;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return edgeLabeling;
+	}
+
+	@Override
+	public IntStream vertices() {
+		return IntStream.range(0, numVertexSlots).filter(this::containsVertex);
+	}
+
+	@Override
+	public int numVertices() {
+		return numVertices;
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return v >= 0 && v < numVertexSlots && (getLong(bitmapStart + 8L * (v >>> 6)) & (1L << v)) != 0;
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return vertices().boxed().flatMap(v -> LongStream.range(offset(v), offset(v + 1)).mapToInt(this::target)
+				.filter(w -> v <= w).mapToObj(w -> new UndirectedEdge(v, w)));
+	}
+
+	/**
+	 * @return the number of edges
+	 * @throws ArithmeticException if the number of edges exceeds the {@code int} range
+	 */
+	@Override
+	public int numEdges() {
+		return Math.toIntExact(numEdges);
+	}
+
+	/**
+	 * @return the number of arcs stored in the file, that is each edge counted twice except loops
+	 */
+	public long numArcs() {
+		return numArcs;
+	}
+
+	@Override
+	public void addVertex(int v) {
+		throw new UnsupportedOperationException("Cannot add vertex to immutable graph");
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		throw new UnsupportedOperationException("Cannot remove vertex from immutable graph");
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		assertVertexExists(v);
+		return LongStream.range(offset(v), offset(v + 1)).mapToObj(this::target);
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		for (long i = offset(v), end = offset(v + 1); i < end; ++i) {
+			action.accept(target(i));
+		}
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		assertVertexExists(v);
+		assertVertexExists(w);
+		return findArc(v, w) != -1;
+	}
+
+	@Override
+	public int degree(int v) {
+		assertVertexExists(v);
+		return (int) (offset(v + 1) - offset(v));
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		throw new UnsupportedOperationException("Cannot add edge to immutable graph");
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? Optional.of(new UndirectedEdge(v, w)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot remove edge from immutable graph");
+	}
+
+	@Override
+	public void removeEdges() {
+		throw new UnsupportedOperationException("Cannot remove edges from immutable graph");
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges)", getClass().getName(), numVertices, numEdges);
+	}
+
+	protected void assertVertexExists(int v) {
+		if (!containsVertex(v)) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+	}
+}
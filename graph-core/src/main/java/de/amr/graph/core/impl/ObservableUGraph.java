@@ -5,6 +5,8 @@ import java.util.Set;
 
 import de.amr.graph.core.api.ObservableGraph;
 import de.amr.graph.event.EdgeEvent;
+import de.amr.graph.event.GraphBatchEvent;
+import de.amr.graph.event.GraphChangeSet;
 import de.amr.graph.event.GraphObserver;
 
 /**
@@ -21,6 +23,7 @@ public class ObservableUGraph<V, E> extends UGraph<V, E> implements ObservableGr
 
 	private Set<GraphObserver<V, E>> observers = new HashSet<>();
 	private boolean eventsEnabled;
+	private GraphChangeSet batchChanges; // not null inside a batch
 
 	public ObservableUGraph() {
 		eventsEnabled = true;
@@ -41,28 +44,72 @@ public class ObservableUGraph<V, E> extends UGraph<V, E> implements ObservableGr
 		eventsEnabled = enabled;
 	}
 
+	@Override
+	public void batch(Runnable changes) {
+		if (batchChanges != null) {
+			changes.run();
+			return;
+		}
+		batchChanges = new GraphChangeSet();
+		try {
+			changes.run();
+		} finally {
+			GraphChangeSet changeSet = batchChanges;
+			batchChanges = null;
+			if (eventsEnabled && !changeSet.isEmpty()) {
+				observers.forEach(o -> o.graphBatchChanged(new GraphBatchEvent<>(this, changeSet)));
+			}
+		}
+	}
+
 	@Override
 	public void addVertex(int vertex) {
 		super.addVertex(vertex);
-		if (eventsEnabled) {
-			observers.forEach(o -> o.graphChanged(this));
-		}
+		fireGraphChange();
 	}
 
 	@Override
 	public void addEdge(int v, int w) {
 		super.addEdge(v, w);
-		if (eventsEnabled) {
-			observers.forEach(o -> o.edgeAdded(new EdgeEvent<>(this, v, w)));
-		}
+		fireEdgeAdded(v, w);
 	}
 
 	@Override
 	public void removeEdge(int v, int w) {
-		edge(v, w).ifPresent(edge -> {
-			super.removeEdge(v, w);
-			if (eventsEnabled) {
-				observers.forEach(o -> o.edgeRemoved(new EdgeEvent<>(this, v, w)));
+		assertVertexExists(v);
+		assertVertexExists(w);
+		if (unlinkEdge(v, w)) {
+			fireEdgeRemoved(v, w);
+		}
+	}
+
+	/**
+	 * All vertices are checked before the first edge is added, so if an exception is thrown, the graph
+	 * is unchanged.
+	 */
+	@Override
+	public void addEdges(int[] us, int[] vs) {
+		checkVertexBatch(us, vs);
+		batch(() -> {
+			for (int i = 0; i < us.length; ++i) {
+				linkEdge(us[i], vs[i]);
+				fireEdgeAdded(us[i], vs[i]);
+			}
+		});
+	}
+
+	/**
+	 * All vertices are checked before the first edge is removed, so if an exception is thrown, the
+	 * graph is unchanged.
+	 */
+	@Override
+	public void removeEdges(int[] us, int[] vs) {
+		checkVertexBatch(us, vs);
+		batch(() -> {
+			for (int i = 0; i < us.length; ++i) {
+				if (unlinkEdge(us[i], vs[i])) {
+					fireEdgeRemoved(us[i], vs[i]);
+				}
 			}
 		});
 	}
@@ -70,8 +117,48 @@ public class ObservableUGraph<V, E> extends UGraph<V, E> implements ObservableGr
 	@Override
 	public void removeEdges() {
 		super.removeEdges();
+		fireGraphChange();
+	}
+
+	// helper methods
+
+	private void checkVertexBatch(int[] us, int[] vs) {
+		if (us.length != vs.length) {
+			throw new IllegalArgumentException("Vertex arrays must have equal length");
+		}
+		for (int i = 0; i < us.length; ++i) {
+			assertVertexExists(us[i]);
+			assertVertexExists(vs[i]);
+		}
+	}
+
+	private void fireEdgeAdded(int v, int w) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.graphChanged(this));
+			if (batchChanges != null) {
+				batchChanges.edgeAdded(v, w);
+			} else {
+				observers.forEach(o -> o.edgeAdded(new EdgeEvent<>(this, v, w)));
+			}
+		}
+	}
+
+	private void fireEdgeRemoved(int v, int w) {
+		if (eventsEnabled) {
+			if (batchChanges != null) {
+				batchChanges.edgeRemoved(v, w);
+			} else {
+				observers.forEach(o -> o.edgeRemoved(new EdgeEvent<>(this, v, w)));
+			}
+		}
+	}
+
+	private void fireGraphChange() {
+		if (eventsEnabled) {
+			if (batchChanges != null) {
+				batchChanges.graphChanged();
+			} else {
+				observers.forEach(o -> o.graphChanged(this));
+			}
 		}
 	}
-}
\ No newline at end of file
+}
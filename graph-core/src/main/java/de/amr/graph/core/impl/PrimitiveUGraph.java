@@ -0,0 +1,241 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.datastruct.LongIntHashMap;
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Mutable undirected graph without per-edge objects.
+ *
+ * <p>
+ * Each vertex is mapped to a slot holding its neighbors in an {@code int} array. An open-addressing
+ * index maps each arc <code>(v, w)</code>, packed into a {@code long}, to the position of
+ * <code>w</code> in the neighbor array of <code>v</code>. This makes {@link #adjacent(int, int)},
+ * {@link #edge(int, int)}, {@link #addEdge(int, int)} and {@link #removeEdge(int, int)} run in
+ * expected constant time, independent of the vertex degrees.
+ *
+ * <p>
+ * Edges are unique: adding an existing edge does not change the graph.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class PrimitiveUGraph<V, E> implements Graph<V, E> {
+
+	private static final int[] NO_NEIGHBORS = {};
+
+	protected final VertexLabeling<V> vertexLabeling = new VertexLabelsMap<>(v -> null);
+	protected final EdgeLabeling<E> edgeLabeling = new EdgeLabelsLongMap<>((u, v) -> null);
+
+	private final LongIntHashMap slotOfVertex;
+	private final LongIntHashMap arcPosition;
+	private final BitSet usedSlots = new BitSet();
+	private int[] vertexOfSlot;
+	private int[][] neighbors;
+	private int[] degree;
+	private int numEdges;
+
+	public PrimitiveUGraph() {
+		this(16, 16);
+	}
+
+	/**
+	 * @param expectedVertices expected number of vertices
+	 * @param expectedEdges    expected number of edges
+	 */
+	public PrimitiveUGraph(int expectedVertices, int expectedEdges) {
+		slotOfVertex = new LongIntHashMap(expectedVertices);
+		arcPosition = new LongIntHashMap(2 * expectedEdges);
+		vertexOfSlot = new int[Math.max(1, expectedVertices)];
+		neighbors = new int[vertexOfSlot.length][];
+		degree = new int[vertexOfSlot.length];
+	}
+
+	private int slot(int v) {
+		int slot = slotOfVertex.get(v, -1);
+		if (slot == -1) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+		return slot;
+	}
+
+	private void appendNeighbor(int v, int slot, int w) {
+		int[] list = neighbors[slot];
+		if (degree[slot] == list.length) {
+			list = neighbors[slot] = Arrays.copyOf(list, Math.max(4, 2 * list.length));
+		}
+		arcPosition.put(arcKey(v, w), degree[slot]);
+		list[degree[slot]++] = w;
+	}
+
+	private void removeNeighbor(int v, int slot, int w) {
+		long arc = arcKey(v, w);
+		int pos = arcPosition.get(arc, -1);
+		arcPosition.remove(arc);
+		int[] list = neighbors[slot];
+		int last = --degree[slot];
+		if (pos != last) {
+			list[pos] = list[last];
+			arcPosition.put(arcKey(v, list[pos]), pos);
+		}
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return vertexLabeling;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return edgeLabeling;
+	}
+
+	@Override
+	public IntStream vertices() {
+		return usedSlots.stream().map(slot -> vertexOfSlot[slot]);
+	}
+
+	@Override
+	public int numVertices() {
+		return slotOfVertex.size();
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return slotOfVertex.containsKey(v);
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return usedSlots.stream().boxed().flatMap(slot -> {
+			int v = vertexOfSlot[slot];
+			return Arrays.stream(neighbors[slot], 0, degree[slot]).filter(w -> v <= w)
+					.mapToObj(w -> new UndirectedEdge(v, w));
+		});
+	}
+
+	@Override
+	public int numEdges() {
+		return numEdges;
+	}
+
+	@Override
+	public void addVertex(int v) {
+		if (slotOfVertex.containsKey(v)) {
+			return;
+		}
+		int slot = usedSlots.nextClearBit(0);
+		if (slot == vertexOfSlot.length) {
+			int capacity = 2 * vertexOfSlot.length;
+			vertexOfSlot = Arrays.copyOf(vertexOfSlot, capacity);
+			neighbors = Arrays.copyOf(neighbors, capacity);
+			degree = Arrays.copyOf(degree, capacity);
+		}
+		usedSlots.set(slot);
+		vertexOfSlot[slot] = v;
+		neighbors[slot] = NO_NEIGHBORS;
+		degree[slot] = 0;
+		slotOfVertex.put(v, slot);
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		int slot = slot(v);
+		while (degree[slot] > 0) {
+			removeEdge(v, neighbors[slot][degree[slot] - 1]);
+		}
+		neighbors[slot] = null;
+		usedSlots.clear(slot);
+		slotOfVertex.remove(v);
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		int slot = slot(v);
+		return Arrays.stream(neighbors[slot], 0, degree[slot]).boxed();
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		int slot = slot(v);
+		int[] list = neighbors[slot];
+		for (int i = 0; i < degree[slot]; ++i) {
+			action.accept(list[i]);
+		}
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		slot(v);
+		slot(w);
+		return arcPosition.containsKey(arcKey(v, w));
+	}
+
+	@Override
+	public int degree(int v) {
+		return degree[slot(v)];
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		int slotV = slot(v), slotW = slot(w);
+		if (arcPosition.containsKey(arcKey(v, w))) {
+			return;
+		}
+		appendNeighbor(v, slotV, w);
+		if (v != w) {
+			appendNeighbor(w, slotW, v);
+		}
+		numEdges += 1;
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		addEdge(v, w);
+		setEdgeLabel(v, w, edgeLabel);
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? Optional.of(new UndirectedEdge(v, w)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		int slotV = slot(v), slotW = slot(w);
+		if (!arcPosition.containsKey(arcKey(v, w))) {
+			return;
+		}
+		removeNeighbor(v, slotV, w);
+		if (v != w) {
+			removeNeighbor(w, slotW, v);
+		}
+		numEdges -= 1;
+	}
+
+	@Override
+	public void removeEdges() {
+		arcPosition.clear();
+		Arrays.fill(degree, 0);
+		numEdges = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges)", getClass().getName(), numVertices(), numEdges);
+	}
+}
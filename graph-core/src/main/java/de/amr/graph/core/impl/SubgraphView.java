@@ -0,0 +1,202 @@
+package de.amr.graph.core.impl;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.VertexLabeling;
+
+/**
+ * Read-only view of a subgraph without copying.
+ *
+ * <p>
+ * The view contains the vertices of the base graph accepted by a vertex filter and the edges between
+ * these vertices accepted by an edge filter. All queries are answered by the base graph, so changes
+ * of the base graph are visible in the view. The topology of the view cannot be changed, labels are
+ * shared with the base graph.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class SubgraphView<V, E> implements Graph<V, E> {
+
+	/**
+	 * Predicate on edges given by their end vertices.
+	 */
+	@FunctionalInterface
+	public interface EdgeFilter {
+
+		boolean test(int u, int v);
+	}
+
+	/**
+	 * @param <V>          vertex label type
+	 * @param <E>          edge label type
+	 * @param g            base graph
+	 * @param vertexFilter selects the vertices of the view
+	 * @return view of the subgraph induced by the selected vertices
+	 */
+	public static <V, E> SubgraphView<V, E> induced(Graph<V, E> g, IntPredicate vertexFilter) {
+		return new SubgraphView<>(g, vertexFilter, (u, v) -> true);
+	}
+
+	/**
+	 * @param <V>      vertex label type
+	 * @param <E>      edge label type
+	 * @param g        base graph
+	 * @param vertices the (non-negative) vertices of the view, not copied
+	 * @return view of the subgraph induced by the given vertices
+	 */
+	public static <V, E> SubgraphView<V, E> induced(Graph<V, E> g, BitSet vertices) {
+		return new SubgraphView<>(g, v -> v >= 0 && vertices.get(v), (u, v) -> true);
+	}
+
+	/**
+	 * @param <V>        vertex label type
+	 * @param <E>        edge label type
+	 * @param g          base graph
+	 * @param edgeFilter selects the edges of the view
+	 * @return view containing all vertices and the selected edges of the base graph
+	 */
+	public static <V, E> SubgraphView<V, E> edgeFiltered(Graph<V, E> g, EdgeFilter edgeFilter) {
+		return new SubgraphView<>(g, v -> true, edgeFilter);
+	}
+
+	private final Graph<V, E> base;
+	private final IntPredicate vertexFilter;
+	private final EdgeFilter edgeFilter;
+
+	/**
+	 * @param base         base graph
+	 * @param vertexFilter selects the vertices of the view
+	 * @param edgeFilter   selects the edges of the view among the edges between selected vertices
+	 */
+	public SubgraphView(Graph<V, E> base, IntPredicate vertexFilter, EdgeFilter edgeFilter) {
+		this.base = base;
+		this.vertexFilter = vertexFilter;
+		this.edgeFilter = edgeFilter;
+	}
+
+	/**
+	 * @return the base graph of this view
+	 */
+	public Graph<V, E> getBase() {
+		return base;
+	}
+
+	private boolean containsEdge(int v, int w) {
+		return vertexFilter.test(w) && edgeFilter.test(v, w);
+	}
+
+	private void assertVertexExists(int v) {
+		if (!containsVertex(v)) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+	}
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return base.getVertexLabeling();
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return base.getEdgeLabeling();
+	}
+
+	@Override
+	public IntStream vertices() {
+		return base.vertices().filter(vertexFilter);
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return base.containsVertex(v) && vertexFilter.test(v);
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return base.edges().filter(edge -> {
+			int u = edge.either(), v = edge.other();
+			return vertexFilter.test(u) && containsEdge(u, v);
+		});
+	}
+
+	@Override
+	public void addVertex(int v) {
+		throw new UnsupportedOperationException("Cannot add vertex to subgraph view");
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		throw new UnsupportedOperationException("Cannot remove vertex from subgraph view");
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		assertVertexExists(v);
+		return base.adj(v).filter(w -> containsEdge(v, w));
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		base.forEachNeighbor(v, w -> {
+			if (containsEdge(v, w)) {
+				action.accept(w);
+			}
+		});
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		assertVertexExists(v);
+		assertVertexExists(w);
+		return edgeFilter.test(v, w) && base.adjacent(v, w);
+	}
+
+	@Override
+	public int degree(int v) {
+		int[] degree = { 0 };
+		forEachNeighbor(v, w -> ++degree[0]);
+		return degree[0];
+	}
+
+	@Override
+	public void addEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot add edge to subgraph view");
+	}
+
+	@Override
+	public void addEdge(int v, int w, E edgeLabel) {
+		throw new UnsupportedOperationException("Cannot add edge to subgraph view");
+	}
+
+	@Override
+	public Optional<Edge> edge(int v, int w) {
+		return adjacent(v, w) ? base.edge(v, w) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int v, int w) {
+		throw new UnsupportedOperationException("Cannot remove edge from subgraph view");
+	}
+
+	@Override
+	public void removeEdges() {
+		throw new UnsupportedOperationException("Cannot remove edges from subgraph view");
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s of %s", getClass().getName(), base);
+	}
+}
@@ -1,14 +1,19 @@
 package de.amr.graph.core.impl;
 
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import de.amr.graph.core.api.Edge;
@@ -19,6 +24,9 @@ import de.amr.graph.core.api.VertexLabeling;
 
 /**
  * Adjacency set based implementation of an undirected graph.
+ * <p>
+ * {@link #snapshot()} creates an immutable version of the graph without copying the adjacency
+ * sets. After a snapshot, the adjacency set of a vertex is copied when it is first modified.
  * 
  * TODO: thorough testing
  * 
@@ -30,10 +38,98 @@ import de.amr.graph.core.api.VertexLabeling;
 public class UGraph<V, E> implements Graph<V, E> {
 
 	protected final VertexLabeling<V> vertexLabeling = new VertexLabelsMap<>(null);
-	protected final EdgeLabeling<E> edgeLabeling = new EdgeLabelsMap<>((u, v) -> null);
+	protected final EdgeLabeling<E> edgeLabeling = new EdgeLabelsLongMap<>((u, v) -> null);
 	protected final Set<Integer> vertexSet = new HashSet<>();
 	protected final Map<Integer, Set<Edge>> adjEdges = new HashMap<>();
 	protected int numEdges; // number of undirected edges
+	private Set<Set<Edge>> ownAdjSets; // if not null, only these adjacency sets are not shared with a snapshot
+
+	/**
+	 * Returns the adjacency set of the given vertex for modification. If the set is shared with a
+	 * snapshot, it gets replaced by a copy first.
+	 */
+	private Set<Edge> writableAdjEdges(int v) {
+		Set<Edge> edges = adjEdges.get(v);
+		if (ownAdjSets != null && !ownAdjSets.contains(edges)) {
+			edges = new HashSet<>(edges);
+			adjEdges.put(v, edges);
+			ownAdjSets.add(edges);
+		}
+		return edges;
+	}
+
+	/**
+	 * Returns an immutable snapshot of the current structure of this graph. Later changes of this
+	 * graph are not visible in the snapshot, so the snapshot can be read by other threads while this
+	 * graph is modified by a single writer thread. Taking a snapshot takes time linear in the number
+	 * of vertices but does not copy any adjacency set.
+	 * <p>
+	 * The vertex and edge labels are not versioned but shared with this graph.
+	 * 
+	 * @return snapshot of this graph, all structural modifications throw an
+	 *         {@link UnsupportedOperationException}
+	 */
+	public UGraph<V, E> snapshot() {
+		ownAdjSets = Collections.newSetFromMap(new IdentityHashMap<>());
+		return new Snapshot<>(this);
+	}
+
+	private static class Snapshot<V, E> extends UGraph<V, E> {
+
+		private final UGraph<V, E> source;
+
+		private Snapshot(UGraph<V, E> source) {
+			this.source = source;
+			vertexSet.addAll(source.vertexSet);
+			adjEdges.putAll(source.adjEdges);
+			numEdges = source.numEdges;
+		}
+
+		@Override
+		public UGraph<V, E> snapshot() {
+			return this;
+		}
+
+		@Override
+		public VertexLabeling<V> getVertexLabeling() {
+			return source.vertexLabeling;
+		}
+
+		@Override
+		public EdgeLabeling<E> getEdgeLabeling() {
+			return source.edgeLabeling;
+		}
+
+		@Override
+		public void addVertex(int v) {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+
+		@Override
+		public void removeVertex(int v) {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+
+		@Override
+		public void addEdge(int v, int w) {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+
+		@Override
+		public void addEdge(int v, int w, E e) {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+
+		@Override
+		public void removeEdge(int v, int w) {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+
+		@Override
+		public void removeEdges() {
+			throw new UnsupportedOperationException("Cannot modify graph snapshot");
+		}
+	}
 
 	@Override
 	public VertexLabeling<V> getVertexLabeling() {
@@ -48,7 +144,11 @@ public class UGraph<V, E> implements Graph<V, E> {
 	@Override
 	public void addVertex(int v) {
 		vertexSet.add(v);
-		adjEdges.put(v, new HashSet<>());
+		Set<Edge> edges = new HashSet<>();
+		adjEdges.put(v, edges);
+		if (ownAdjSets != null) {
+			ownAdjSets.add(edges);
+		}
 	}
 
 	@Override
@@ -57,7 +157,10 @@ public class UGraph<V, E> implements Graph<V, E> {
 			throw new IllegalStateException();
 		}
 		vertexSet.remove(v);
-		adjEdges.remove(v);
+		Set<Edge> edges = adjEdges.remove(v);
+		if (ownAdjSets != null) {
+			ownAdjSets.remove(edges);
+		}
 	}
 
 	@Override
@@ -66,8 +169,8 @@ public class UGraph<V, E> implements Graph<V, E> {
 		assertVertexExists(w);
 		Edge edge = new UndirectedEdge(v, w);
 		setEdgeLabel(v, w, e);
-		adjEdges.get(v).add(edge);
-		adjEdges.get(w).add(edge);
+		writableAdjEdges(v).add(edge);
+		writableAdjEdges(w).add(edge);
 		numEdges += 1;
 	}
 
@@ -75,9 +178,19 @@ public class UGraph<V, E> implements Graph<V, E> {
 	public void addEdge(int v, int w) {
 		assertVertexExists(v);
 		assertVertexExists(w);
+		linkEdge(v, w);
+	}
+
+	/**
+	 * Adds the edge <code>{v, w}</code> without checking the vertices.
+	 * 
+	 * @param v existing vertex
+	 * @param w existing vertex
+	 */
+	protected void linkEdge(int v, int w) {
 		Edge edge = new UndirectedEdge(v, w);
-		adjEdges.get(v).add(edge);
-		adjEdges.get(w).add(edge);
+		writableAdjEdges(v).add(edge);
+		writableAdjEdges(w).add(edge);
 		numEdges += 1;
 	}
 
@@ -97,17 +210,39 @@ public class UGraph<V, E> implements Graph<V, E> {
 	public void removeEdge(int v, int w) {
 		assertVertexExists(v);
 		assertVertexExists(w);
-		edge(v, w).ifPresent(edge -> {
-			adjEdges.get(v).remove(edge);
-			adjEdges.get(w).remove(edge);
-			numEdges -= 1;
-		});
+		unlinkEdge(v, w);
+	}
+
+	/**
+	 * Removes the edge <code>{v, w}</code> without checking the vertices.
+	 * 
+	 * @param v existing vertex
+	 * @param w existing vertex
+	 * @return {@code true} if the edge existed
+	 */
+	protected boolean unlinkEdge(int v, int w) {
+		for (Edge edge : adjEdges.get(v)) {
+			if (w == edge.either() || w == edge.other()) {
+				writableAdjEdges(v).remove(edge);
+				writableAdjEdges(w).remove(edge);
+				numEdges -= 1;
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
 	public void removeEdges() {
 		for (int v : vertexSet) {
-			adjEdges.get(v).clear();
+			Set<Edge> edges = adjEdges.get(v);
+			if (ownAdjSets == null || ownAdjSets.contains(edges)) {
+				edges.clear();
+			} else {
+				edges = new HashSet<>();
+				adjEdges.put(v, edges);
+				ownAdjSets.add(edges);
+			}
 		}
 		numEdges = 0;
 	}
@@ -139,19 +274,26 @@ public class UGraph<V, E> implements Graph<V, E> {
 		return vertexSet.contains(v);
 	}
 
-	private Set<Edge> createEdgeSet() {
-		Set<Edge> edges = new HashSet<>();
-		for (int v : vertexSet) {
-			for (Edge edge : adjEdges.get(v)) {
-				edges.add(edge);
-			}
-		}
-		return Collections.unmodifiableSet(edges);
+	/**
+	 * Each edge is contained in the adjacency sets of both end vertices. It is only reported from the
+	 * set of its smaller vertex, so the edges are streamed lazily without collecting them in a set.
+	 * The stream is splittable by vertex and can be processed in parallel.
+	 */
+	@Override
+	public Stream<Edge> edges() {
+		return adjEdges.entrySet().stream().flatMap(entry -> {
+			int v = entry.getKey();
+			return entry.getValue().stream().filter(edge -> Math.min(edge.either(), edge.other()) == v);
+		});
 	}
 
 	@Override
-	public Stream<Edge> edges() {
-		return createEdgeSet().stream();
+	public LongStream edgeKeys() {
+		return adjEdges.entrySet().stream().flatMapToLong(entry -> {
+			int v = entry.getKey();
+			return entry.getValue().stream().filter(edge -> Math.min(edge.either(), edge.other()) == v)
+					.mapToLong(edge -> edgeKey(edge.either(), edge.other()));
+		});
 	}
 
 	@Override
@@ -179,6 +321,14 @@ public class UGraph<V, E> implements Graph<V, E> {
 		return result.stream();
 	}
 
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		assertVertexExists(v);
+		for (Edge e : adjEdges.get(v)) {
+			action.accept(e.either() == v ? e.other() : e.either());
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder s = new StringBuilder();
@@ -187,9 +337,7 @@ public class UGraph<V, E> implements Graph<V, E> {
 		for (int v : vertexSet) {
 			s.append(v).append("\n");
 		}
-		for (Edge e : createEdgeSet()) {
-			s.append(e.either()).append(" ").append(e.other()).append("\n");
-		}
+		edges().forEach(e -> s.append(e.either()).append(" ").append(e.other()).append("\n"));
 		return s.toString();
 	}
 
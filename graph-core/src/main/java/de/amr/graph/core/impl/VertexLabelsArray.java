@@ -1,5 +1,6 @@
 package de.amr.graph.core.impl;
 
+import java.util.Arrays;
 import java.util.function.IntFunction;
 
 import de.amr.graph.core.api.VertexLabeling;
@@ -13,27 +14,38 @@ import de.amr.graph.core.api.VertexLabeling;
  */
 public class VertexLabelsArray<V> implements VertexLabeling<V> {
 
-	private Object[] labels;
+	private static final Object NULL = new Object();
+
+	private final Object[] labels;
 	private IntFunction<V> fnDefaultLabel;
 
 	public VertexLabelsArray(int size) {
+		this(size, v -> null);
+	}
+
+	public VertexLabelsArray(int size, IntFunction<V> fnDefaultLabel) {
 		labels = new Object[size];
+		this.fnDefaultLabel = fnDefaultLabel;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public V get(int v) {
-		return (V) (labels[v] != null ? labels[v] : fnDefaultLabel);
+		Object label = labels[v];
+		if (label == null) {
+			return fnDefaultLabel.apply(v);
+		}
+		return label == NULL ? null : (V) label;
 	}
 
 	@Override
-	public void set(int v, V vertex) {
-		labels[v] = vertex;
+	public void set(int v, V vertexLabel) {
+		labels[v] = vertexLabel != null ? vertexLabel : NULL;
 	}
 
 	@Override
 	public void clearVertexLabels() {
-		labels = new Object[labels.length];
+		Arrays.fill(labels, null);
 	}
 
 	@Override
@@ -45,4 +57,4 @@ public class VertexLabelsArray<V> implements VertexLabeling<V> {
 	public void setDefaultVertexLabel(IntFunction<V> fnDefaultLabel) {
 		this.fnDefaultLabel = fnDefaultLabel;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,267 @@
+package de.amr.graph.core.impl;
+
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.VertexLabeling;
+import de.amr.graph.core.api.WeightedGraph;
+
+/**
+ * Immutable undirected graph in compressed sparse row (CSR) format with {@code double} edge
+ * weights.
+ *
+ * <p>
+ * The weight of the edge to neighbor <code>targets[i]</code> is stored in <code>weights[i]</code>,
+ * so iterating the neighbors of a vertex with their weights scans two parallel arrays. Parallel
+ * edges are merged keeping the minimum weight.
+ *
+ * <p>
+ * Instances are created using a {@link Builder}, see {@link #weightedBuilder()}.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class WeightedCSRGraph<V, E> extends CSRGraph<V, E> implements WeightedGraph<V, E> {
+
+	/**
+	 * Builder for weighted CSR graphs.
+	 *
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 */
+	public static class Builder<V, E> {
+
+		private final BitSet vertexSet = new BitSet();
+		private int[] us = new int[16];
+		private int[] vs = new int[16];
+		private double[] ws = new double[16];
+		private int numEdgeEntries;
+		private IntFunction<V> fnDefaultVertexLabel = v -> null;
+		private BiFunction<Integer, Integer, E> fnDefaultEdgeLabel = (u, v) -> null;
+
+		/**
+		 * Adds the given vertex.
+		 *
+		 * @param v a non-negative vertex
+		 * @return this builder
+		 */
+		public Builder<V, E> vertex(int v) {
+			if (v < 0) {
+				throw new IllegalArgumentException("Illegal vertex: " + v);
+			}
+			vertexSet.set(v);
+			return this;
+		}
+
+		/**
+		 * Adds the given vertices.
+		 *
+		 * @param vertices stream of non-negative vertices
+		 * @return this builder
+		 */
+		public Builder<V, E> vertices(IntStream vertices) {
+			vertices.forEachOrdered(this::vertex);
+			return this;
+		}
+
+		/**
+		 * Adds the edge <code>{u, v}</code> with the given weight. Missing end points are added as
+		 * vertices.
+		 *
+		 * @param u      either vertex
+		 * @param v      other vertex
+		 * @param weight edge weight
+		 * @return this builder
+		 */
+		public Builder<V, E> edge(int u, int v, double weight) {
+			vertex(u);
+			vertex(v);
+			if (numEdgeEntries == us.length) {
+				int capacity = 2 * us.length;
+				us = Arrays.copyOf(us, capacity);
+				vs = Arrays.copyOf(vs, capacity);
+				ws = Arrays.copyOf(ws, capacity);
+			}
+			us[numEdgeEntries] = u;
+			vs[numEdgeEntries] = v;
+			ws[numEdgeEntries] = weight;
+			++numEdgeEntries;
+			return this;
+		}
+
+		/**
+		 * Adds all vertices and edges of the given graph. Labels are not copied.
+		 *
+		 * @param g      a graph with non-negative vertices
+		 * @param weight weight function for the edges of the graph, e.g.
+		 *               {@link EdgeWeight#labels(Graph)}
+		 * @return this builder
+		 */
+		public Builder<V, E> graph(Graph<?, ?> g, EdgeWeight weight) {
+			vertices(g.vertices());
+			g.edgeKeys().forEachOrdered(key -> {
+				int u = either(key), v = other(key);
+				edge(u, v, weight.weight(u, v));
+			});
+			return this;
+		}
+
+		/**
+		 * @param fnDefaultLabel default vertex label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+			fnDefaultVertexLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @param fnDefaultLabel default edge label of the graph
+		 * @return this builder
+		 */
+		public Builder<V, E> defaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+			fnDefaultEdgeLabel = fnDefaultLabel;
+			return this;
+		}
+
+		/**
+		 * @return the weighted CSR graph with the vertices and edges collected by this builder
+		 */
+		public WeightedCSRGraph<V, E> build() {
+			int numSlots = vertexSet.length();
+			// distribute the arcs of each edge (one for a loop) to the slots of their source
+			int[] start = new int[numSlots + 1];
+			for (int i = 0; i < numEdgeEntries; ++i) {
+				start[us[i] + 1] += 1;
+				if (us[i] != vs[i]) {
+					start[vs[i] + 1] += 1;
+				}
+			}
+			for (int v = 0; v < numSlots; ++v) {
+				start[v + 1] += start[v];
+			}
+			int[] slotTargets = new int[start[numSlots]];
+			double[] slotWeights = new double[start[numSlots]];
+			int[] fill = Arrays.copyOf(start, numSlots);
+			for (int i = 0; i < numEdgeEntries; ++i) {
+				int pos = fill[us[i]]++;
+				slotTargets[pos] = vs[i];
+				slotWeights[pos] = ws[i];
+				if (us[i] != vs[i]) {
+					pos = fill[vs[i]]++;
+					slotTargets[pos] = us[i];
+					slotWeights[pos] = ws[i];
+				}
+			}
+			// sort each neighbor list by target and merge parallel edges, keeping the minimum weight
+			int[] degree = new int[numSlots];
+			IntStream.range(0, numSlots).parallel()
+					.forEach(v -> degree[v] = sortAndMerge(slotTargets, slotWeights, start[v], start[v + 1]));
+			int[] offsets = new int[numSlots + 1];
+			for (int v = 0; v < numSlots; ++v) {
+				offsets[v + 1] = offsets[v] + degree[v];
+			}
+			int[] targets = new int[offsets[numSlots]];
+			double[] weights = new double[offsets[numSlots]];
+			IntStream.range(0, numSlots).parallel().forEach(v -> {
+				System.arraycopy(slotTargets, start[v], targets, offsets[v], degree[v]);
+				System.arraycopy(slotWeights, start[v], weights, offsets[v], degree[v]);
+			});
+			long numLoops = IntStream.range(0, numSlots).parallel()
+					.filter(v -> Arrays.binarySearch(targets, offsets[v], offsets[v + 1], v) >= 0).count();
+			int numEdges = (int) ((targets.length + numLoops) / 2);
+			return new WeightedCSRGraph<>((BitSet) vertexSet.clone(), offsets, targets, weights, numEdges,
+					new VertexLabelsMap<>(fnDefaultVertexLabel), new EdgeLabelsLongMap<>(fnDefaultEdgeLabel));
+		}
+
+		private static int sortAndMerge(int[] targets, double[] weights, int from, int to) {
+			boolean sorted = true;
+			for (int i = from + 1; i < to && sorted; ++i) {
+				sorted = targets[i - 1] < targets[i];
+			}
+			if (!sorted) {
+				long[] order = new long[to - from];
+				for (int i = from; i < to; ++i) {
+					order[i - from] = (long) targets[i] << 32 | (i - from);
+				}
+				Arrays.sort(order);
+				int[] t = Arrays.copyOfRange(targets, from, to);
+				double[] w = Arrays.copyOfRange(weights, from, to);
+				for (int i = 0; i < order.length; ++i) {
+					int j = (int) order[i];
+					targets[from + i] = t[j];
+					weights[from + i] = w[j];
+				}
+			}
+			int last = from - 1;
+			for (int i = from; i < to; ++i) {
+				if (last >= from && targets[last] == targets[i]) {
+					weights[last] = Math.min(weights[last], weights[i]);
+				} else {
+					++last;
+					targets[last] = targets[i];
+					weights[last] = weights[i];
+				}
+			}
+			return last + 1 - from;
+		}
+	}
+
+	/**
+	 * @param <V> vertex label type
+	 * @param <E> edge label type
+	 * @return a new builder
+	 */
+	public static <V, E> Builder<V, E> weightedBuilder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Creates a weighted CSR graph with the same vertices and edges as the given graph. Labels are
+	 * not copied.
+	 *
+	 * @param <V>    vertex label type
+	 * @param <E>    edge label type
+	 * @param g      a graph with non-negative vertices
+	 * @param weight weight function for the edges of the graph
+	 * @return weighted CSR graph with the topology of the given graph
+	 */
+	public static <V, E> WeightedCSRGraph<V, E> copyOf(Graph<?, ?> g, EdgeWeight weight) {
+		return WeightedCSRGraph.<V, E>weightedBuilder().graph(g, weight).build();
+	}
+
+	protected final double[] weights;
+
+	protected WeightedCSRGraph(BitSet vertexSet, int[] offsets, int[] targets, double[] weights, int numEdges,
+			VertexLabeling<V> vertexLabeling, EdgeLabeling<E> edgeLabeling) {
+		super(vertexSet, offsets, targets, numEdges, vertexLabeling, edgeLabeling);
+		this.weights = weights;
+	}
+
+	@Override
+	public void forEachWeightedNeighbor(int v, NeighborWeightConsumer action) {
+		assertVertexExists(v);
+		for (int i = offsets[v]; i < offsets[v + 1]; ++i) {
+			action.accept(targets[i], weights[i]);
+		}
+	}
+
+	@Override
+	public double weight(int u, int v) {
+		assertVertexExists(u);
+		assertVertexExists(v);
+		int i = Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v);
+		return i >= 0 ? weights[i] : Double.POSITIVE_INFINITY;
+	}
+}
@@ -0,0 +1,395 @@
+package de.amr.graph.event;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.amr.datastruct.LongIntHashMap;
+import de.amr.graph.core.api.ObservableGraph;
+
+/**
+ * Graph observer which forwards the events of a graph asynchronously to another observer.
+ * <p>
+ * The events are stored in a bounded ring buffer of primitive arrays and delivered to the target
+ * observer by a separate consumer thread, so a slow target does not stall the thread changing the
+ * graph. The {@link Backpressure} policy decides what happens if the buffer is full. Vertex events
+ * are delivered without old and new values, the target has to read the current vertex label from
+ * the graph.
+ * <p>
+ * Usage: <code>graph.addGraphObserver(new AsyncGraphEventDispatcher&lt;&gt;(slowObserver, 4096,
+ * Backpressure.COALESCE))</code>
+ * 
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class AsyncGraphEventDispatcher<V, E> implements GraphObserver<V, E>, AutoCloseable {
+
+	/**
+	 * What happens if an event is published while the buffer is full.
+	 */
+	public enum Backpressure {
+		/** The publishing thread waits until the buffer has space. */
+		BLOCK,
+		/** The new event is dropped. */
+		DROP,
+		/**
+		 * Waiting events are merged on every publish, not only if the buffer is full: a vertex or edge
+		 * change is dropped if an event for the same vertex or edge still waits, an edge addition and a
+		 * removal of the same edge cancel each other, and a graph change replaces all waiting events
+		 * except batches. If the buffer is still full, the publishing thread waits.
+		 */
+		COALESCE
+	}
+
+	private static final byte VERTEX_CHANGED = 0, EDGE_CHANGED = 1, EDGE_ADDED = 2, EDGE_REMOVED = 3,
+			GRAPH_CHANGED = 4, BATCH_CHANGED = 5, CANCELLED = 6;
+
+	private final GraphObserver<V, E> target;
+	private final Backpressure backpressure;
+	private final byte[] kinds;
+	private final long[] keys; // vertex or packed edge
+	private final Object[] refs; // graph or batch event
+	private final int mask;
+	private final LongIntHashMap pendingVertexSlot;
+	private final LongIntHashMap pendingEdgeSlot;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final Condition idle = lock.newCondition();
+	private final Thread consumer;
+	private long head; // sequence number of next event to consume
+	private long tail; // sequence number of next event to publish
+	private boolean dispatching;
+	private boolean closed;
+	private long droppedEvents;
+
+	/**
+	 * Creates a dispatcher using a daemon consumer thread.
+	 * 
+	 * @param target       observer receiving the events
+	 * @param capacity     buffer capacity, rounded up to a power of two
+	 * @param backpressure backpressure policy
+	 */
+	public AsyncGraphEventDispatcher(GraphObserver<V, E> target, int capacity, Backpressure backpressure) {
+		this(target, capacity, backpressure, runnable -> {
+			Thread thread = new Thread(runnable, "graph-event-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Creates a dispatcher.
+	 * 
+	 * @param target        observer receiving the events
+	 * @param capacity      buffer capacity, rounded up to a power of two
+	 * @param backpressure  backpressure policy
+	 * @param threadFactory factory creating the consumer thread, e.g. a virtual thread factory
+	 */
+	public AsyncGraphEventDispatcher(GraphObserver<V, E> target, int capacity, Backpressure backpressure,
+			ThreadFactory threadFactory) {
+		if (target == null) {
+			throw new IllegalArgumentException("Target observer must be specified");
+		}
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Illegal capacity: " + capacity);
+		}
+		if (backpressure == null) {
+			throw new IllegalArgumentException("Backpressure policy must be specified");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.target = target;
+		this.backpressure = backpressure;
+		kinds = new byte[size];
+		keys = new long[size];
+		refs = new Object[size];
+		mask = size - 1;
+		pendingVertexSlot = backpressure == Backpressure.COALESCE ? new LongIntHashMap(size) : null;
+		pendingEdgeSlot = backpressure == Backpressure.COALESCE ? new LongIntHashMap(size) : null;
+		consumer = threadFactory.newThread(this::consume);
+		consumer.start();
+	}
+
+	/**
+	 * @return the number of events dropped because the buffer was full
+	 */
+	public long getDroppedEvents() {
+		lock.lock();
+		try {
+			return droppedEvents;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until all published events have been delivered to the target observer.
+	 */
+	public void flush() {
+		lock.lock();
+		try {
+			while ((head != tail || dispatching) && !closed) {
+				idle.awaitUninterruptibly();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Delivers the remaining events and stops the consumer thread.
+	 */
+	@Override
+	public void close() {
+		flush();
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void publish(byte kind, long key, Object ref) {
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			if (backpressure == Backpressure.COALESCE && coalesce(kind, key, ref)) {
+				return;
+			}
+			if (tail - head == kinds.length && backpressure == Backpressure.COALESCE) {
+				compact();
+			}
+			while (tail - head == kinds.length) {
+				if (backpressure == Backpressure.DROP) {
+					++droppedEvents;
+					return;
+				}
+				notFull.awaitUninterruptibly();
+				if (closed) {
+					return;
+				}
+			}
+			int slot = (int) (tail & mask);
+			kinds[slot] = kind;
+			keys[slot] = key;
+			refs[slot] = ref;
+			if (backpressure == Backpressure.COALESCE) {
+				if (kind == VERTEX_CHANGED) {
+					pendingVertexSlot.put(key, slot);
+				} else if (kind == EDGE_CHANGED || kind == EDGE_ADDED || kind == EDGE_REMOVED) {
+					pendingEdgeSlot.put(edgeKey(either(key), other(key)), slot);
+				}
+			}
+			++tail;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// called with lock held
+	private boolean coalesce(byte kind, long key, Object ref) {
+		switch (kind) {
+		case VERTEX_CHANGED: {
+			return pendingVertexSlot.get(key, -1) != -1;
+		}
+		case EDGE_CHANGED: {
+			// the target reads the current edge label, so a change is covered by a waiting change or addition
+			int slot = pendingEdgeSlot.get(edgeKey(either(key), other(key)), -1);
+			return slot != -1 && (kinds[slot] == EDGE_CHANGED || kinds[slot] == EDGE_ADDED);
+		}
+		case EDGE_ADDED:
+		case EDGE_REMOVED: {
+			// an addition and a removal of the same edge cancel each other
+			long edge = edgeKey(either(key), other(key));
+			int slot = pendingEdgeSlot.get(edge, -1);
+			if (slot == -1 || kinds[slot] != (kind == EDGE_ADDED ? EDGE_REMOVED : EDGE_ADDED)) {
+				return false;
+			}
+			kinds[slot] = CANCELLED;
+			refs[slot] = null;
+			pendingEdgeSlot.remove(edge);
+			return true;
+		}
+		case GRAPH_CHANGED: {
+			// a graph change makes all waiting events except batches obsolete
+			long newTail = head;
+			for (long seq = head; seq < tail; ++seq) {
+				int slot = (int) (seq & mask);
+				if (kinds[slot] == BATCH_CHANGED) {
+					int newSlot = (int) (newTail++ & mask);
+					kinds[newSlot] = BATCH_CHANGED;
+					refs[newSlot] = refs[slot];
+				}
+			}
+			for (long seq = newTail; seq < tail; ++seq) {
+				refs[(int) (seq & mask)] = null;
+			}
+			tail = newTail;
+			notFull.signalAll();
+			pendingVertexSlot.clear();
+			pendingEdgeSlot.clear();
+			return false;
+		}
+		default:
+			return false;
+		}
+	}
+
+	// called with lock held, removes cancelled events from the buffer
+	private void compact() {
+		long newTail = head;
+		for (long seq = head; seq < tail; ++seq) {
+			int slot = (int) (seq & mask);
+			if (kinds[slot] == CANCELLED) {
+				continue;
+			}
+			int newSlot = (int) (newTail++ & mask);
+			if (newSlot != slot) {
+				kinds[newSlot] = kinds[slot];
+				keys[newSlot] = keys[slot];
+				refs[newSlot] = refs[slot];
+				if (kinds[slot] == VERTEX_CHANGED) {
+					pendingVertexSlot.put(keys[slot], newSlot);
+				} else if (kinds[slot] != GRAPH_CHANGED && kinds[slot] != BATCH_CHANGED) {
+					long edge = edgeKey(either(keys[slot]), other(keys[slot]));
+					if (pendingEdgeSlot.get(edge, -1) == slot) {
+						pendingEdgeSlot.put(edge, newSlot);
+					}
+				}
+			}
+		}
+		for (long seq = newTail; seq < tail; ++seq) {
+			refs[(int) (seq & mask)] = null;
+		}
+		tail = newTail;
+		notFull.signalAll();
+	}
+
+	private void consume() {
+		while (true) {
+			byte kind;
+			long key;
+			Object ref;
+			lock.lock();
+			try {
+				dispatching = false;
+				while (true) {
+					while (head != tail && kinds[(int) (head & mask)] == CANCELLED) {
+						++head;
+						notFull.signal();
+					}
+					if (head != tail) {
+						break;
+					}
+					idle.signalAll();
+					if (closed) {
+						return;
+					}
+					notEmpty.awaitUninterruptibly();
+				}
+				int slot = (int) (head & mask);
+				kind = kinds[slot];
+				key = keys[slot];
+				ref = refs[slot];
+				refs[slot] = null;
+				if (backpressure == Backpressure.COALESCE) {
+					if (kind == VERTEX_CHANGED) {
+						pendingVertexSlot.remove(key);
+					} else if (kind == EDGE_CHANGED || kind == EDGE_ADDED || kind == EDGE_REMOVED) {
+						// a later event for the same edge may be waiting in another slot
+						long edge = edgeKey(either(key), other(key));
+						if (pendingEdgeSlot.get(edge, -1) == slot) {
+							pendingEdgeSlot.remove(edge);
+						}
+					}
+				}
+				++head;
+				dispatching = true;
+				notFull.signal();
+			} finally {
+				lock.unlock();
+			}
+			try {
+				dispatch(kind, key, ref);
+			} catch (RuntimeException x) {
+				Thread t = Thread.currentThread();
+				t.getUncaughtExceptionHandler().uncaughtException(t, x);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void dispatch(byte kind, long key, Object ref) {
+		ObservableGraph<V, E> graph = kind == BATCH_CHANGED ? null : (ObservableGraph<V, E>) ref;
+		switch (kind) {
+		case VERTEX_CHANGED:
+			target.vertexChanged(new VertexEvent<>(graph, (int) key));
+			break;
+		case EDGE_CHANGED:
+			target.edgeChanged(new EdgeEvent<>(graph, either(key), other(key)));
+			break;
+		case EDGE_ADDED:
+			target.edgeAdded(new EdgeEvent<>(graph, either(key), other(key)));
+			break;
+		case EDGE_REMOVED:
+			target.edgeRemoved(new EdgeEvent<>(graph, either(key), other(key)));
+			break;
+		case GRAPH_CHANGED:
+			target.graphChanged(graph);
+			break;
+		case BATCH_CHANGED:
+			target.graphBatchChanged((GraphBatchEvent<V, E>) ref);
+			break;
+		default:
+			break;
+		}
+	}
+
+	// GraphObserver interface
+
+	@Override
+	public void vertexChanged(VertexEvent<V, E> event) {
+		publish(VERTEX_CHANGED, event.getVertex(), event.getGraph());
+	}
+
+	@Override
+	public void edgeChanged(EdgeEvent<V, E> event) {
+		publish(EDGE_CHANGED, arcKey(event.getEither(), event.getOther()), event.getGraph());
+	}
+
+	@Override
+	public void edgeAdded(EdgeEvent<V, E> event) {
+		publish(EDGE_ADDED, arcKey(event.getEither(), event.getOther()), event.getGraph());
+	}
+
+	@Override
+	public void edgeRemoved(EdgeEvent<V, E> event) {
+		publish(EDGE_REMOVED, arcKey(event.getEither(), event.getOther()), event.getGraph());
+	}
+
+	@Override
+	public void graphChanged(ObservableGraph<V, E> graph) {
+		publish(GRAPH_CHANGED, 0, graph);
+	}
+
+	@Override
+	public void graphBatchChanged(GraphBatchEvent<V, E> event) {
+		publish(BATCH_CHANGED, 0, event);
+	}
+}
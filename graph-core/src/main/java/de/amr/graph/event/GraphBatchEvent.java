@@ -0,0 +1,27 @@
+package de.amr.graph.event;
+
+import de.amr.graph.core.api.ObservableGraph;
+
+/**
+ * Event for the changes of a graph made inside a batch.
+ * 
+ * @author Armin Reichert
+ * 
+ * @param <V>
+ *          vertex label type
+ * @param <E>
+ *          edge label type
+ */
+public class GraphBatchEvent<V, E> extends GraphEvent<V, E> {
+
+	private final GraphChangeSet changes;
+
+	public GraphBatchEvent(ObservableGraph<V, E> graph, GraphChangeSet changes) {
+		super(graph);
+		this.changes = changes;
+	}
+
+	public GraphChangeSet getChanges() {
+		return changes;
+	}
+}
@@ -0,0 +1,151 @@
+package de.amr.graph.event;
+
+import static de.amr.graph.util.EdgeKeys.arcKey;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Compact record of the changes of a graph made inside a batch.
+ * <p>
+ * Edges are stored as packed {@code long} values, so no event object is allocated per change. The
+ * endpoints keep the order given to the graph operation, i.e. the values are arc keys (see
+ * {@link de.amr.graph.util.EdgeKeys#arcKey(int, int)}), not canonical edge keys. The same undirected
+ * edge may be recorded as <code>arcKey(u, v)</code> or <code>arcKey(v, u)</code>.
+ * 
+ * @author Armin Reichert
+ */
+public class GraphChangeSet {
+
+	private long[] addedEdges = new long[16];
+	private int numAddedEdges;
+	private long[] removedEdges = new long[16];
+	private int numRemovedEdges;
+	private long[] changedEdges = new long[16];
+	private int numChangedEdges;
+	private int[] changedVertices = new int[16];
+	private int numChangedVertices;
+	private boolean graphChanged;
+
+	private static long[] append(long[] array, int size, long value) {
+		if (size == array.length) {
+			array = Arrays.copyOf(array, 2 * array.length);
+		}
+		array[size] = value;
+		return array;
+	}
+
+	/**
+	 * Records the addition of edge <code>{u, v}</code>.
+	 * 
+	 * @param u either vertex
+	 * @param v other vertex
+	 */
+	public void edgeAdded(int u, int v) {
+		addedEdges = append(addedEdges, numAddedEdges++, arcKey(u, v));
+	}
+
+	/**
+	 * Records the removal of edge <code>{u, v}</code>.
+	 * 
+	 * @param u either vertex
+	 * @param v other vertex
+	 */
+	public void edgeRemoved(int u, int v) {
+		removedEdges = append(removedEdges, numRemovedEdges++, arcKey(u, v));
+	}
+
+	/**
+	 * Records the change of edge <code>{u, v}</code>.
+	 * 
+	 * @param u either vertex
+	 * @param v other vertex
+	 */
+	public void edgeChanged(int u, int v) {
+		changedEdges = append(changedEdges, numChangedEdges++, arcKey(u, v));
+	}
+
+	/**
+	 * Records the change of vertex <code>v</code>.
+	 * 
+	 * @param v vertex
+	 */
+	public void vertexChanged(int v) {
+		if (numChangedVertices == changedVertices.length) {
+			changedVertices = Arrays.copyOf(changedVertices, 2 * changedVertices.length);
+		}
+		changedVertices[numChangedVertices++] = v;
+	}
+
+	/**
+	 * Records a change of the graph not described by edge or vertex changes.
+	 */
+	public void graphChanged() {
+		graphChanged = true;
+	}
+
+	/**
+	 * @return {@code true} if no change has been recorded
+	 */
+	public boolean isEmpty() {
+		return !graphChanged && numAddedEdges == 0 && numRemovedEdges == 0 && numChangedEdges == 0
+				&& numChangedVertices == 0;
+	}
+
+	/**
+	 * @return {@code true} if the graph has changed in a way that is not described by the recorded
+	 *         edge and vertex changes, for example when all edges have been removed
+	 */
+	public boolean isGraphChanged() {
+		return graphChanged;
+	}
+
+	/**
+	 * @return the added edges in order of addition, as arc keys
+	 */
+	public LongStream addedEdges() {
+		return Arrays.stream(addedEdges, 0, numAddedEdges);
+	}
+
+	/**
+	 * @return the number of added edges
+	 */
+	public int numAddedEdges() {
+		return numAddedEdges;
+	}
+
+	/**
+	 * @return the removed edges in order of removal, as arc keys
+	 */
+	public LongStream removedEdges() {
+		return Arrays.stream(removedEdges, 0, numRemovedEdges);
+	}
+
+	/**
+	 * @return the number of removed edges
+	 */
+	public int numRemovedEdges() {
+		return numRemovedEdges;
+	}
+
+	/**
+	 * @return the changed edges in order of change (may contain duplicates), as arc keys
+	 */
+	public LongStream changedEdges() {
+		return Arrays.stream(changedEdges, 0, numChangedEdges);
+	}
+
+	/**
+	 * @return the changed vertices in order of change (may contain duplicates)
+	 */
+	public IntStream changedVertices() {
+		return Arrays.stream(changedVertices, 0, numChangedVertices);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("GraphChangeSet (%d edges added, %d edges removed, %d edge changes, %d vertex changes%s)",
+				numAddedEdges, numRemovedEdges, numChangedEdges, numChangedVertices, graphChanged ? ", graph changed" : "");
+	}
+}
@@ -53,4 +53,15 @@ public interface GraphObserver<V, E> {
 	 *                the new or changed graph
 	 */
 	void graphChanged(ObservableGraph<V, E> graph);
-}
\ No newline at end of file
+
+	/**
+	 * Called once after a batch of changes (see {@link ObservableGraph#batch(Runnable)}). The
+	 * default implementation treats the batch like a change of the graph as a whole.
+	 * 
+	 * @param event
+	 *                the changes made inside the batch
+	 */
+	default void graphBatchChanged(GraphBatchEvent<V, E> event) {
+		graphChanged(event.getGraph());
+	}
+}
@@ -0,0 +1,199 @@
+package de.amr.graph.io;
+
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+import java.util.function.Supplier;
+
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Versioned binary file format for graphs.
+ * <p>
+ * A file starts with a header: the magic number, the format version, the graph kind and flags
+ * telling which labels are stored. For a general graph ({@link #KIND_GRAPH}), the vertex list and
+ * the edge list follow as {@code int} values. Other kinds (e.g. grids) store their structure in
+ * their own encoding. Then the labels of all vertices and edges follow, in the order of the vertex
+ * and edge lists, each encoded by a {@link LabelCodec}.
+ * 
+ * @author Armin Reichert
+ */
+public interface BinaryGraphFormat {
+
+	int MAGIC = 0x414D5247; // "AMRG"
+	int VERSION = 1;
+
+	byte KIND_GRAPH = 0;
+	byte KIND_GRID = 1;
+	byte KIND_MAPPED_CSR = 2;
+
+	byte FLAG_VERTEX_LABELS = 1;
+	byte FLAG_EDGE_LABELS = 2;
+	byte FLAG_WEIGHTS = 4;
+
+	/**
+	 * Writes the file header.
+	 * 
+	 * @param out                output
+	 * @param kind               graph kind
+	 * @param vertexLabelsStored if vertex labels are stored
+	 * @param edgeLabelsStored   if edge labels are stored
+	 * @throws IOException if writing fails
+	 */
+	static void writeHeader(ChannelOutput out, byte kind, boolean vertexLabelsStored, boolean edgeLabelsStored)
+			throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeByte(kind);
+		out.writeByte((vertexLabelsStored ? FLAG_VERTEX_LABELS : 0) | (edgeLabelsStored ? FLAG_EDGE_LABELS : 0));
+	}
+
+	/**
+	 * Reads and checks the file header.
+	 * 
+	 * @param in   input
+	 * @param kind expected graph kind
+	 * @return the flags of the file
+	 * @throws IOException if reading fails or the header is invalid
+	 */
+	static byte readHeader(ChannelInput in, byte kind) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a binary graph file");
+		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary graph format version: " + version);
+		}
+		byte fileKind = in.readByte();
+		if (fileKind != kind) {
+			throw new IOException(String.format("Graph kind is %d, expected %d", fileKind, kind));
+		}
+		return in.readByte();
+	}
+
+	/**
+	 * Saves the graph structure without labels.
+	 * 
+	 * @param g    a graph
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void save(Graph<?, ?> g, Path path) throws IOException {
+		save(g, path, null, null);
+	}
+
+	/**
+	 * Saves the graph.
+	 * 
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param g           a graph
+	 * @param path        file path
+	 * @param vertexCodec codec for the vertex labels or {@code null} if vertex labels are not stored
+	 * @param edgeCodec   codec for the edge labels or {@code null} if edge labels are not stored
+	 * @throws IOException if writing fails
+	 */
+	static <V, E> void save(Graph<V, E> g, Path path, LabelCodec<V> vertexCodec, LabelCodec<E> edgeCodec)
+			throws IOException {
+		int[] vertices = g.vertices().toArray();
+		// the edges are streamed twice instead of collected, the count is taken from the stream so that
+		// it matches the stored edges
+		long numEdges = g.edgeKeys().count();
+		if (numEdges > Integer.MAX_VALUE) {
+			throw new IOException("Too many edges: " + numEdges);
+		}
+		try (ChannelOutput out = new ChannelOutput(path)) {
+			writeHeader(out, KIND_GRAPH, vertexCodec != null, edgeCodec != null);
+			out.writeInt(vertices.length);
+			for (int v : vertices) {
+				out.writeInt(v);
+			}
+			out.writeInt((int) numEdges);
+			for (PrimitiveIterator.OfLong keys = g.edgeKeys().iterator(); keys.hasNext();) {
+				long key = keys.nextLong();
+				out.writeInt(either(key));
+				out.writeInt(other(key));
+			}
+			if (vertexCodec != null) {
+				for (int v : vertices) {
+					out.writeLabel(g.get(v), vertexCodec);
+				}
+			}
+			if (edgeCodec != null) {
+				for (PrimitiveIterator.OfLong keys = g.edgeKeys().iterator(); keys.hasNext();) {
+					long key = keys.nextLong();
+					out.writeLabel(g.getEdgeLabel(either(key), other(key)), edgeCodec);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads a graph without labels.
+	 * 
+	 * @param <V>     vertex label type
+	 * @param <E>     edge label type
+	 * @param <G>     graph type
+	 * @param path    file path
+	 * @param fnGraph creates the empty graph
+	 * @return the loaded graph
+	 * @throws IOException if reading fails
+	 */
+	static <V, E, G extends Graph<V, E>> G load(Path path, Supplier<G> fnGraph) throws IOException {
+		return load(path, fnGraph, (LabelCodec<V>) null, (LabelCodec<E>) null);
+	}
+
+	/**
+	 * Loads a graph. Labels stored in the file are ignored if no codec is given.
+	 * 
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param <G>         graph type
+	 * @param path        file path
+	 * @param fnGraph     creates the empty graph
+	 * @param vertexCodec codec for the vertex labels or {@code null}
+	 * @param edgeCodec   codec for the edge labels or {@code null}
+	 * @return the loaded graph
+	 * @throws IOException if reading fails
+	 */
+	static <V, E, G extends Graph<V, E>> G load(Path path, Supplier<G> fnGraph, LabelCodec<V> vertexCodec,
+			LabelCodec<E> edgeCodec) throws IOException {
+		G g = fnGraph.get();
+		try (ChannelInput in = new ChannelInput(path)) {
+			byte flags = readHeader(in, KIND_GRAPH);
+			int[] vertices = new int[in.readInt()];
+			for (int i = 0; i < vertices.length; ++i) {
+				vertices[i] = in.readInt();
+				g.addVertex(vertices[i]);
+			}
+			int[] edges = new int[2 * in.readInt()];
+			for (int i = 0; i < edges.length; i += 2) {
+				edges[i] = in.readInt();
+				edges[i + 1] = in.readInt();
+				g.addEdge(edges[i], edges[i + 1]);
+			}
+			if ((flags & FLAG_VERTEX_LABELS) != 0) {
+				for (int v : vertices) {
+					if (vertexCodec != null) {
+						g.set(v, in.readLabel(vertexCodec));
+					} else {
+						in.skipLabel();
+					}
+				}
+			}
+			if ((flags & FLAG_EDGE_LABELS) != 0) {
+				for (int i = 0; i < edges.length; i += 2) {
+					if (edgeCodec != null) {
+						g.setEdgeLabel(edges[i], edges[i + 1], in.readLabel(edgeCodec));
+					} else {
+						in.skipLabel();
+					}
+				}
+			}
+		}
+		return g;
+	}
+}
@@ -0,0 +1,107 @@
+package de.amr.graph.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads primitive values and labels from a file through a large direct buffer.
+ * 
+ * @author Armin Reichert
+ */
+public class ChannelInput implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Opens the given file for reading.
+	 * 
+	 * @param path file path
+	 * @throws IOException if the file cannot be opened
+	 */
+	public ChannelInput(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		buffer.limit(0);
+	}
+
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		if (buffer.capacity() < bytes) {
+			ByteBuffer larger = ByteBuffer.allocateDirect(bytes);
+			larger.put(buffer);
+			buffer = larger;
+		} else {
+			buffer.compact();
+		}
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) == -1) {
+				throw new EOFException("Unexpected end of file");
+			}
+		}
+		buffer.flip();
+	}
+
+	public byte readByte() throws IOException {
+		ensure(Byte.BYTES);
+		return buffer.get();
+	}
+
+	public int readInt() throws IOException {
+		ensure(Integer.BYTES);
+		return buffer.getInt();
+	}
+
+	public long readLong() throws IOException {
+		ensure(Long.BYTES);
+		return buffer.getLong();
+	}
+
+	/**
+	 * Reads a label written by {@link ChannelOutput#writeLabel(Object, LabelCodec)}.
+	 * 
+	 * @param <T>   label type
+	 * @param codec label codec
+	 * @return the label or {@code null}
+	 * @throws IOException if reading fails
+	 */
+	public <T> T readLabel(LabelCodec<T> codec) throws IOException {
+		int size = readInt();
+		if (size == -1) {
+			return null;
+		}
+		if (size < 0) {
+			throw new IOException("Invalid label size: " + size);
+		}
+		ensure(size);
+		int end = buffer.position() + size;
+		ByteBuffer labelBytes = buffer.slice(buffer.position(), size);
+		buffer.position(end);
+		return codec.read(labelBytes);
+	}
+
+	/**
+	 * Skips a label written by {@link ChannelOutput#writeLabel(Object, LabelCodec)}.
+	 * 
+	 * @throws IOException if reading fails
+	 */
+	public void skipLabel() throws IOException {
+		int size = readInt();
+		if (size > 0) {
+			ensure(size);
+			buffer.position(buffer.position() + size);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,95 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes primitive values and labels to a file through a large direct buffer.
+ * 
+ * @author Armin Reichert
+ */
+public class ChannelOutput implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Creates or truncates the given file.
+	 * 
+	 * @param path file path
+	 * @throws IOException if the file cannot be opened
+	 */
+	public ChannelOutput(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+			if (buffer.capacity() < bytes) {
+				buffer = ByteBuffer.allocateDirect(bytes);
+			}
+		}
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	public void writeByte(int value) throws IOException {
+		ensure(Byte.BYTES);
+		buffer.put((byte) value);
+	}
+
+	public void writeInt(int value) throws IOException {
+		ensure(Integer.BYTES);
+		buffer.putInt(value);
+	}
+
+	public void writeLong(long value) throws IOException {
+		ensure(Long.BYTES);
+		buffer.putLong(value);
+	}
+
+	/**
+	 * Writes a label as its byte size (-1 for {@code null}) followed by its bytes.
+	 * 
+	 * @param <T>   label type
+	 * @param label a label or {@code null}
+	 * @param codec label codec
+	 * @throws IOException if writing fails
+	 */
+	public <T> void writeLabel(T label, LabelCodec<T> codec) throws IOException {
+		if (label == null) {
+			writeInt(-1);
+			return;
+		}
+		int size = codec.size(label);
+		ensure(Integer.BYTES + size);
+		buffer.putInt(size);
+		int start = buffer.position();
+		codec.write(label, buffer);
+		if (buffer.position() - start != size) {
+			throw new IOException(String.format("Label codec wrote %d bytes instead of %d", buffer.position() - start, size));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * DIMACS shortest path format (<code>.gr</code>) as used by the road networks of the 9th DIMACS
+ * implementation challenge.
+ * <p>
+ * The file contains comment lines (<code>c ...</code>), one problem line <code>p sp n m</code> and
+ * <code>m</code> arc lines <code>a u v w</code>. Vertices are numbered from 1 to n in the file and
+ * from 0 to n-1 in the graph. Arcs are directed, an undirected edge is written as two arcs in opposite
+ * directions, a loop as a single arc.
+ * 
+ * @author Armin Reichert
+ */
+public interface DimacsFormat {
+
+	/**
+	 * Reads a DIMACS shortest path file. Each arc is passed to the sink, so an undirected edge usually
+	 * arrives twice.
+	 * 
+	 * @param path file path
+	 * @param sink receives the size from the problem line and the arcs
+	 * @throws IOException if reading fails or the file is invalid
+	 */
+	static void read(Path path, EdgeSink sink) throws IOException {
+		try (TextInput in = new TextInput(path)) {
+			int n = -1;
+			while (!in.eof()) {
+				if (!in.atLineEnd()) {
+					int type = in.peek();
+					if (type == 'a') {
+						if (n == -1) {
+							throw in.error("Arc before problem line");
+						}
+						in.skipWord();
+						int u = in.readInt() - 1;
+						int v = in.readInt() - 1;
+						if (u < 0 || u >= n || v < 0 || v >= n) {
+							throw in.error(String.format("Vertex out of range 1..%d", n));
+						}
+						sink.edge(u, v, in.readDouble());
+					} else if (type == 'p') {
+						if (n != -1) {
+							throw in.error("Duplicate problem line");
+						}
+						in.skipWord();
+						if (!"sp".equals(in.readWord())) {
+							throw in.error("Shortest path problem line expected");
+						}
+						n = in.readInt();
+						long m = in.readLong();
+						if (n < 0 || m < 0) {
+							throw in.error("Invalid problem size");
+						}
+						sink.begin(n, m);
+					} else if (type != 'c') {
+						throw in.error("Unknown line type: " + (char) type);
+					}
+				}
+				in.nextLine();
+			}
+			if (n == -1) {
+				throw in.error("Missing problem line");
+			}
+		}
+	}
+
+	/**
+	 * Writes a graph with unit arc weights.
+	 * 
+	 * @param g    a graph with vertices <code>0..n-1</code>
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void write(Graph<?, ?> g, Path path) throws IOException {
+		write(g, path, label -> 1);
+	}
+
+	/**
+	 * Writes a graph with arc weights computed from the edge labels.
+	 * 
+	 * @param <E>    edge label type
+	 * @param g      a graph with non-negative vertices, n is the largest vertex plus 1
+	 * @param path   file path
+	 * @param weight computes the arc weight from the edge label
+	 * @throws IOException if writing fails
+	 */
+	static <E> void write(Graph<?, E> g, Path path, ToDoubleFunction<? super E> weight) throws IOException {
+		int n = g.vertices().max().orElse(-1) + 1;
+		if (g.vertices().anyMatch(v -> v < 0)) {
+			throw new IllegalArgumentException("DIMACS format requires non-negative vertices");
+		}
+		long loops = g.edges().filter(edge -> edge.either() == edge.other()).count();
+		try (TextOutput out = new TextOutput(path)) {
+			out.writeAscii("p sp ");
+			out.writeInt(n);
+			out.space();
+			out.writeLong(2L * g.numEdges() - loops);
+			out.newLine();
+			for (Iterator<Edge> edges = g.edges().iterator(); edges.hasNext();) {
+				Edge edge = edges.next();
+				int u = edge.either(), v = edge.other();
+				double w = weight.applyAsDouble(g.getEdgeLabel(u, v));
+				writeArc(out, u, v, w);
+				if (u != v) {
+					writeArc(out, v, u, w);
+				}
+			}
+		}
+	}
+
+	private static void writeArc(TextOutput out, int u, int v, double w) throws IOException {
+		out.writeAscii("a ");
+		out.writeInt(u + 1);
+		out.space();
+		out.writeInt(v + 1);
+		out.space();
+		out.writeDouble(w);
+		out.newLine();
+	}
+}
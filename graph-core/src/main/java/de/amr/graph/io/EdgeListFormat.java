@@ -0,0 +1,102 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.Multigraph;
+
+/**
+ * Plain text edge lists as used by many public network datasets.
+ * <p>
+ * Each line contains the two end vertices of an edge and optionally a weight, separated by spaces or
+ * tabs. Further columns are ignored. Empty lines and lines starting with <code>#</code> or
+ * <code>%</code> are skipped. Vertices are used as given, isolated vertices cannot be represented.
+ * 
+ * @author Armin Reichert
+ */
+public interface EdgeListFormat {
+
+	/**
+	 * Reads an edge list.
+	 * 
+	 * @param path file path
+	 * @param sink receives the edges, the weight is {@link Double#NaN} for lines without weight
+	 * @throws IOException if reading fails or the file contains an invalid line
+	 */
+	static void read(Path path, EdgeSink sink) throws IOException {
+		try (TextInput in = new TextInput(path)) {
+			while (!in.eof()) {
+				if (!in.atLineEnd() && in.peek() != '#' && in.peek() != '%') {
+					int u = in.readInt();
+					int v = in.readInt();
+					sink.edge(u, v, in.atLineEnd() ? Double.NaN : in.readDouble());
+				}
+				in.nextLine();
+			}
+		}
+	}
+
+	/**
+	 * Writes the edges of a graph as vertex pairs.
+	 * 
+	 * @param g    a graph
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void write(Graph<?, ?> g, Path path) throws IOException {
+		try (TextOutput out = new TextOutput(path)) {
+			writeEdges(g.edges().iterator(), out);
+		}
+	}
+
+	/**
+	 * Writes the edges of a multigraph as vertex pairs, parallel edges are written repeatedly.
+	 * 
+	 * @param g    a multigraph
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void write(Multigraph g, Path path) throws IOException {
+		try (TextOutput out = new TextOutput(path)) {
+			writeEdges(g.edgeStream().iterator(), out);
+		}
+	}
+
+	/**
+	 * Writes the edges of a graph as vertex pairs followed by the weight computed from the edge label.
+	 * 
+	 * @param <E>    edge label type
+	 * @param g      a graph
+	 * @param path   file path
+	 * @param weight computes the edge weight from the edge label
+	 * @throws IOException if writing fails
+	 */
+	static <E> void write(Graph<?, E> g, Path path, ToDoubleFunction<? super E> weight) throws IOException {
+		try (TextOutput out = new TextOutput(path)) {
+			for (Iterator<Edge> edges = g.edges().iterator(); edges.hasNext();) {
+				Edge edge = edges.next();
+				int u = edge.either(), v = edge.other();
+				out.writeInt(u);
+				out.space();
+				out.writeInt(v);
+				out.space();
+				out.writeDouble(weight.applyAsDouble(g.getEdgeLabel(u, v)));
+				out.newLine();
+			}
+		}
+	}
+
+	private static void writeEdges(Iterator<Edge> edges, TextOutput out) throws IOException {
+		while (edges.hasNext()) {
+			Edge edge = edges.next();
+			out.writeInt(edge.either());
+			out.space();
+			out.writeInt(edge.other());
+			out.newLine();
+		}
+	}
+}
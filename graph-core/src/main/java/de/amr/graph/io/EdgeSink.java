@@ -0,0 +1,136 @@
+package de.amr.graph.io;
+
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.Multigraph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.impl.CSRGraph;
+
+/**
+ * Receives the vertices and edges read by a text format reader.
+ * <p>
+ * Readers pass each edge as primitive values so that no objects are created per input line.
+ * Formats declaring their size in a header call {@link #begin(int, long)} before the first edge.
+ * 
+ * @author Armin Reichert
+ */
+@FunctionalInterface
+public interface EdgeSink {
+
+	/**
+	 * Called once before the first edge if the format declares its size. The default implementation
+	 * does nothing.
+	 * 
+	 * @param numVertices number of vertices, the vertices are <code>0..numVertices-1</code>
+	 * @param numEdges    number of edge entries that will follow
+	 */
+	default void begin(int numVertices, long numEdges) {
+	}
+
+	/**
+	 * Receives an edge.
+	 * 
+	 * @param u      either vertex
+	 * @param v      other vertex
+	 * @param weight edge weight, {@link Double#NaN} if the input has no weights
+	 */
+	void edge(int u, int v, double weight);
+
+	/**
+	 * @param g a graph
+	 * @return sink adding the vertices and edges to the graph, weights are ignored. An edge entry for
+	 *         an existing edge (e.g. the reverse arc of an undirected edge in DIMACS format) does not
+	 *         add a second edge.
+	 */
+	static EdgeSink into(Graph<?, ?> g) {
+		return new EdgeSink() {
+
+			@Override
+			public void begin(int numVertices, long numEdges) {
+				for (int v = 0; v < numVertices; ++v) {
+					if (!g.containsVertex(v)) {
+						g.addVertex(v);
+					}
+				}
+			}
+
+			@Override
+			public void edge(int u, int v, double weight) {
+				if (!g.containsVertex(u)) {
+					g.addVertex(u);
+				}
+				if (!g.containsVertex(v)) {
+					g.addVertex(v);
+				}
+				if (!g.adjacent(u, v)) {
+					g.addEdge(u, v);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param g a graph
+	 * @return sink adding the vertices and edges to the graph and storing the weights as edge labels. An
+	 *         edge entry for an existing edge only sets the label.
+	 */
+	static EdgeSink intoWeighted(Graph<?, Double> g) {
+		EdgeSink structure = into(g);
+		return new EdgeSink() {
+
+			@Override
+			public void begin(int numVertices, long numEdges) {
+				structure.begin(numVertices, numEdges);
+			}
+
+			@Override
+			public void edge(int u, int v, double weight) {
+				structure.edge(u, v, weight);
+				g.setEdgeLabel(u, v, weight);
+			}
+		};
+	}
+
+	/**
+	 * @param g a multigraph
+	 * @return sink adding the vertices and edges to the multigraph, each edge entry creates an edge
+	 */
+	static EdgeSink into(Multigraph g) {
+		return new EdgeSink() {
+
+			@Override
+			public void begin(int numVertices, long numEdges) {
+				for (int v = 0; v < numVertices; ++v) {
+					g.addVertex(v);
+				}
+			}
+
+			@Override
+			public void edge(int u, int v, double weight) {
+				g.addVertex(u);
+				g.addVertex(v);
+				g.addEdge(new UndirectedEdge(u, v));
+			}
+		};
+	}
+
+	/**
+	 * @param builder a CSR graph builder
+	 * @return sink adding the vertices and edges to the builder
+	 */
+	static EdgeSink into(CSRGraph.Builder<?, ?> builder) {
+		return new EdgeSink() {
+
+			@Override
+			public void begin(int numVertices, long numEdges) {
+				for (int v = 0; v < numVertices; ++v) {
+					builder.vertex(v);
+				}
+			}
+
+			@Override
+			public void edge(int u, int v, double weight) {
+				builder.edge(u, v);
+			}
+		};
+	}
+}
@@ -0,0 +1,136 @@
+package de.amr.graph.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts vertex or edge labels from and to bytes.
+ * <p>
+ * The binary graph format stores each label as its byte size followed by the bytes written by
+ * {@link #write(Object, ByteBuffer)}. A {@code null} label is stored without calling the codec.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <T> label type
+ */
+public interface LabelCodec<T> {
+
+	/**
+	 * @param label a non-null label
+	 * @return the number of bytes written for this label
+	 */
+	int size(T label);
+
+	/**
+	 * Writes the label into the buffer which has at least {@link #size(Object)} bytes remaining.
+	 * 
+	 * @param label  a non-null label
+	 * @param buffer target buffer
+	 */
+	void write(T label, ByteBuffer buffer);
+
+	/**
+	 * Reads a label from the buffer which contains exactly the bytes of the label.
+	 * 
+	 * @param buffer source buffer
+	 * @return the label
+	 */
+	T read(ByteBuffer buffer);
+
+	/**
+	 * @return codec for {@code Integer} labels
+	 */
+	static LabelCodec<Integer> ints() {
+		return new LabelCodec<>() {
+
+			@Override
+			public int size(Integer label) {
+				return Integer.BYTES;
+			}
+
+			@Override
+			public void write(Integer label, ByteBuffer buffer) {
+				buffer.putInt(label);
+			}
+
+			@Override
+			public Integer read(ByteBuffer buffer) {
+				return buffer.getInt();
+			}
+		};
+	}
+
+	/**
+	 * @return codec for {@code Double} labels
+	 */
+	static LabelCodec<Double> doubles() {
+		return new LabelCodec<>() {
+
+			@Override
+			public int size(Double label) {
+				return Double.BYTES;
+			}
+
+			@Override
+			public void write(Double label, ByteBuffer buffer) {
+				buffer.putDouble(label);
+			}
+
+			@Override
+			public Double read(ByteBuffer buffer) {
+				return buffer.getDouble();
+			}
+		};
+	}
+
+	/**
+	 * @return codec for {@code String} labels, stored in UTF-8
+	 */
+	static LabelCodec<String> strings() {
+		return new LabelCodec<>() {
+
+			@Override
+			public int size(String label) {
+				return label.getBytes(StandardCharsets.UTF_8).length;
+			}
+
+			@Override
+			public void write(String label, ByteBuffer buffer) {
+				buffer.put(label.getBytes(StandardCharsets.UTF_8));
+			}
+
+			@Override
+			public String read(ByteBuffer buffer) {
+				byte[] bytes = new byte[buffer.remaining()];
+				buffer.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+	/**
+	 * @param <T>      enum type
+	 * @param enumType enum class
+	 * @return codec for enum labels, stored as ordinal
+	 */
+	static <T extends Enum<T>> LabelCodec<T> enums(Class<T> enumType) {
+		T[] constants = enumType.getEnumConstants();
+		return new LabelCodec<>() {
+
+			@Override
+			public int size(T label) {
+				return Short.BYTES;
+			}
+
+			@Override
+			public void write(T label, ByteBuffer buffer) {
+				buffer.putShort((short) label.ordinal());
+			}
+
+			@Override
+			public T read(ByteBuffer buffer) {
+				return constants[buffer.getShort()];
+			}
+		};
+	}
+}
@@ -0,0 +1,136 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Matrix Market coordinate format for sparse adjacency matrices (e.g. the SuiteSparse collection).
+ * <p>
+ * The file starts with a header line
+ * <code>%%MatrixMarket matrix coordinate &lt;field&gt; &lt;symmetry&gt;</code> followed by comment
+ * lines starting with <code>%</code>, the size line <code>rows cols entries</code> and one line
+ * <code>i j [value]</code> per entry. Rows and columns are numbered from 1, vertices from 0. Supported
+ * fields are <code>real</code>, <code>integer</code> and <code>pattern</code> (no values), supported
+ * symmetries are <code>general</code> and <code>symmetric</code>.
+ * 
+ * @author Armin Reichert
+ */
+public interface MatrixMarketFormat {
+
+	/**
+	 * Reads a square sparse matrix as a graph. Each entry is passed as an edge to the sink, for a
+	 * general matrix an undirected edge usually arrives twice.
+	 * 
+	 * @param path file path
+	 * @param sink receives the matrix size and the entries, the weight is {@link Double#NaN} for
+	 *             pattern matrices
+	 * @throws IOException if reading fails, the file is invalid or describes an unsupported matrix
+	 */
+	static void read(Path path, EdgeSink sink) throws IOException {
+		try (TextInput in = new TextInput(path)) {
+			if (in.eof() || !"%%matrixmarket".equals(in.readWord().toLowerCase(Locale.ROOT))) {
+				throw in.error("Matrix Market header expected");
+			}
+			String object = in.readWord().toLowerCase(Locale.ROOT);
+			String format = in.readWord().toLowerCase(Locale.ROOT);
+			String field = in.readWord().toLowerCase(Locale.ROOT);
+			String symmetry = in.readWord().toLowerCase(Locale.ROOT);
+			if (!"matrix".equals(object) || !"coordinate".equals(format)) {
+				throw in.error("Only coordinate matrices are supported");
+			}
+			if (!"real".equals(field) && !"integer".equals(field) && !"pattern".equals(field)) {
+				throw in.error("Unsupported field: " + field);
+			}
+			if (!"general".equals(symmetry) && !"symmetric".equals(symmetry)) {
+				throw in.error("Unsupported symmetry: " + symmetry);
+			}
+			boolean pattern = "pattern".equals(field);
+			in.nextLine();
+			while (!in.eof() && (in.atLineEnd() || in.peek() == '%')) {
+				in.nextLine();
+			}
+			if (in.eof()) {
+				throw in.error("Size line expected");
+			}
+			int rows = in.readInt(), cols = in.readInt();
+			long entries = in.readLong();
+			if (rows != cols) {
+				throw in.error(String.format("Matrix is not square: %d x %d", rows, cols));
+			}
+			in.nextLine();
+			sink.begin(rows, entries);
+			long count = 0;
+			while (!in.eof()) {
+				if (!in.atLineEnd() && in.peek() != '%') {
+					int i = in.readInt() - 1;
+					int j = in.readInt() - 1;
+					if (i < 0 || i >= rows || j < 0 || j >= rows) {
+						throw in.error(String.format("Index out of range 1..%d", rows));
+					}
+					sink.edge(i, j, pattern ? Double.NaN : in.readDouble());
+					++count;
+				}
+				in.nextLine();
+			}
+			if (count != entries) {
+				throw in.error(String.format("Expected %d entries but found %d", entries, count));
+			}
+		}
+	}
+
+	/**
+	 * Writes the adjacency matrix of a graph as symmetric pattern matrix.
+	 * 
+	 * @param g    a graph with non-negative vertices, the matrix size is the largest vertex plus 1
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void write(Graph<?, ?> g, Path path) throws IOException {
+		write(g, path, null);
+	}
+
+	/**
+	 * Writes the weighted adjacency matrix of a graph as symmetric real matrix.
+	 * 
+	 * @param <E>    edge label type
+	 * @param g      a graph with non-negative vertices, the matrix size is the largest vertex plus 1
+	 * @param path   file path
+	 * @param weight computes the matrix entry from the edge label or {@code null} for a pattern matrix
+	 * @throws IOException if writing fails
+	 */
+	static <E> void write(Graph<?, E> g, Path path, ToDoubleFunction<? super E> weight) throws IOException {
+		if (g.vertices().anyMatch(v -> v < 0)) {
+			throw new IllegalArgumentException("Matrix Market format requires non-negative vertices");
+		}
+		int n = g.vertices().max().orElse(-1) + 1;
+		try (TextOutput out = new TextOutput(path)) {
+			out.writeAscii(weight != null ? "%%MatrixMarket matrix coordinate real symmetric\n"
+					: "%%MatrixMarket matrix coordinate pattern symmetric\n");
+			out.writeInt(n);
+			out.space();
+			out.writeInt(n);
+			out.space();
+			out.writeInt(g.numEdges());
+			out.newLine();
+			for (Iterator<Edge> edges = g.edges().iterator(); edges.hasNext();) {
+				Edge edge = edges.next();
+				int u = edge.either(), v = edge.other();
+				// symmetric matrices store the lower triangle
+				out.writeInt(Math.max(u, v) + 1);
+				out.space();
+				out.writeInt(Math.min(u, v) + 1);
+				if (weight != null) {
+					out.space();
+					out.writeDouble(weight.applyAsDouble(g.getEdgeLabel(u, v)));
+				}
+				out.newLine();
+			}
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads whitespace separated numbers and words from an ASCII text file.
+ * <p>
+ * The file is read through a large buffer and numbers are parsed directly from the bytes, so no
+ * objects are created per line or number. Decimal numbers with at most 15 significant digits and
+ * small exponents are converted exactly without {@link Double#parseDouble(String)}.
+ * 
+ * @author Armin Reichert
+ */
+public class TextInput implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final FileChannel channel;
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	private int pos;
+	private int limit;
+	private boolean eof;
+	private long lineNumber = 1;
+	private byte[] token = new byte[32];
+	private int tokenLength;
+
+	/**
+	 * Opens the given file for reading.
+	 * 
+	 * @param path file path
+	 * @throws IOException if the file cannot be opened
+	 */
+	public TextInput(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+	}
+
+	private boolean fill() throws IOException {
+		if (pos < limit) {
+			return true;
+		}
+		if (eof) {
+			return false;
+		}
+		buffer.clear();
+		int n;
+		do {
+			n = channel.read(buffer);
+		} while (n == 0);
+		if (n == -1) {
+			eof = true;
+			pos = limit = 0;
+			return false;
+		}
+		pos = 0;
+		limit = n;
+		return true;
+	}
+
+	private static boolean isSpace(int b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	/**
+	 * @return the number of the current line, starting with 1
+	 */
+	public long lineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @param message error message
+	 * @return an exception with the message prefixed by the current line number
+	 */
+	public IOException error(String message) {
+		return new IOException(String.format("Line %d: %s", lineNumber, message));
+	}
+
+	/**
+	 * @return the next byte without consuming it or -1 at the end of the file
+	 * @throws IOException if reading fails
+	 */
+	public int peek() throws IOException {
+		return fill() ? bytes[pos] & 0xFF : -1;
+	}
+
+	/**
+	 * @return {@code true} if the end of the file has been reached
+	 * @throws IOException if reading fails
+	 */
+	public boolean eof() throws IOException {
+		return !fill();
+	}
+
+	/**
+	 * Skips spaces, tabs and carriage returns.
+	 * 
+	 * @throws IOException if reading fails
+	 */
+	public void skipSpaces() throws IOException {
+		while (fill() && isSpace(bytes[pos])) {
+			++pos;
+		}
+	}
+
+	/**
+	 * Skips spaces and tells if the current line has no further content.
+	 * 
+	 * @return {@code true} if the next byte is a line break or the end of the file
+	 * @throws IOException if reading fails
+	 */
+	public boolean atLineEnd() throws IOException {
+		skipSpaces();
+		int b = peek();
+		return b == '\n' || b == -1;
+	}
+
+	/**
+	 * Skips the rest of the current line including the line break.
+	 * 
+	 * @throws IOException if reading fails
+	 */
+	public void nextLine() throws IOException {
+		while (fill()) {
+			int i = pos;
+			while (i < limit && bytes[i] != '\n') {
+				++i;
+			}
+			if (i < limit) {
+				pos = i + 1;
+				++lineNumber;
+				return;
+			}
+			pos = limit;
+		}
+	}
+
+	private void readToken() throws IOException {
+		skipSpaces();
+		tokenLength = 0;
+		while (fill()) {
+			byte b = bytes[pos];
+			if (b == '\n' || isSpace(b)) {
+				break;
+			}
+			if (tokenLength == token.length) {
+				token = Arrays.copyOf(token, 2 * token.length);
+			}
+			token[tokenLength++] = b;
+			++pos;
+		}
+		if (tokenLength == 0) {
+			throw error("Unexpected end of line");
+		}
+	}
+
+	/**
+	 * Reads the next word. Only used for headers and keywords since it creates a string.
+	 * 
+	 * @return the next whitespace separated word
+	 * @throws IOException if reading fails or the line has no further word
+	 */
+	public String readWord() throws IOException {
+		readToken();
+		return new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Skips the next word without creating a string, e.g. the line type of a data line.
+	 * 
+	 * @throws IOException if reading fails or the line has no further word
+	 */
+	public void skipWord() throws IOException {
+		readToken();
+	}
+
+	/**
+	 * @return the next decimal integer
+	 * @throws IOException if reading fails or the next word is no valid {@code long} value
+	 */
+	public long readLong() throws IOException {
+		readToken();
+		int i = 0;
+		boolean negative = token[0] == '-';
+		if (negative || token[0] == '+') {
+			++i;
+		}
+		if (i == tokenLength) {
+			throw error("Integer expected");
+		}
+		long value = 0;
+		for (; i < tokenLength; ++i) {
+			int digit = token[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw error("Integer expected: " + new String(token, 0, tokenLength, StandardCharsets.US_ASCII));
+			}
+			// accumulate negatively to cover Long.MIN_VALUE
+			if (value < (Long.MIN_VALUE + digit) / 10) {
+				throw error("Integer out of range");
+			}
+			value = value * 10 - digit;
+		}
+		if (!negative) {
+			if (value == Long.MIN_VALUE) {
+				throw error("Integer out of range");
+			}
+			value = -value;
+		}
+		return value;
+	}
+
+	/**
+	 * @return the next decimal integer
+	 * @throws IOException if reading fails or the next word is no valid {@code int} value
+	 */
+	public int readInt() throws IOException {
+		long value = readLong();
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw error("Integer out of range: " + value);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * @return the next floating-point number
+	 * @throws IOException if reading fails or the next word is no valid number
+	 */
+	public double readDouble() throws IOException {
+		readToken();
+		int i = 0;
+		boolean negative = token[0] == '-';
+		if (negative || token[0] == '+') {
+			++i;
+		}
+		long mantissa = 0;
+		int digits = 0, exponent = 0;
+		boolean anyDigit = false, exact = true;
+		for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; ++i) {
+			anyDigit = true;
+			if (mantissa != 0 || token[i] != '0') {
+				mantissa = mantissa * 10 + (token[i] - '0');
+				exact &= ++digits <= 15;
+			}
+		}
+		if (i < tokenLength && token[i] == '.') {
+			for (++i; i < tokenLength && token[i] >= '0' && token[i] <= '9'; ++i) {
+				anyDigit = true;
+				if (mantissa != 0 || token[i] != '0') {
+					mantissa = mantissa * 10 + (token[i] - '0');
+					exact &= ++digits <= 15;
+				}
+				--exponent;
+			}
+		}
+		if (anyDigit && i < tokenLength && (token[i] == 'e' || token[i] == 'E')) {
+			++i;
+			boolean negativeExp = i < tokenLength && token[i] == '-';
+			if (negativeExp || i < tokenLength && token[i] == '+') {
+				++i;
+			}
+			int exp = 0, expDigits = 0;
+			for (; i < tokenLength && token[i] >= '0' && token[i] <= '9' && exp < 10_000; ++i, ++expDigits) {
+				exp = exp * 10 + (token[i] - '0');
+			}
+			exact &= expDigits > 0;
+			exponent += negativeExp ? -exp : exp;
+		}
+		if (anyDigit && exact && i == tokenLength && -22 <= exponent && exponent <= 22) {
+			// mantissa < 2^53 and the power of ten are exact doubles, so the result is correctly rounded
+			double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+			return negative ? -value : value;
+		}
+		String word = new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+		try {
+			return Double.parseDouble(word);
+		} catch (NumberFormatException x) {
+			throw error("Number expected: " + word);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,110 @@
+package de.amr.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes numbers and ASCII text to a file through a large buffer.
+ * <p>
+ * Integers are converted to digits directly into the buffer. Doubles with an integral value are
+ * written like integers, other values use {@link Double#toString(double)}.
+ * 
+ * @author Armin Reichert
+ */
+public class TextOutput implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	private int pos;
+
+	/**
+	 * Creates or truncates the given file.
+	 * 
+	 * @param path file path
+	 * @throws IOException if the file cannot be opened
+	 */
+	public TextOutput(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	private void ensure(int n) throws IOException {
+		if (pos + n > bytes.length) {
+			flush();
+		}
+	}
+
+	private void flush() throws IOException {
+		buffer.clear().limit(pos);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		pos = 0;
+	}
+
+	public void writeByte(int b) throws IOException {
+		ensure(1);
+		bytes[pos++] = (byte) b;
+	}
+
+	public void writeAscii(CharSequence text) throws IOException {
+		for (int i = 0; i < text.length(); ++i) {
+			writeByte(text.charAt(i));
+		}
+	}
+
+	public void newLine() throws IOException {
+		writeByte('\n');
+	}
+
+	public void space() throws IOException {
+		writeByte(' ');
+	}
+
+	public void writeLong(long value) throws IOException {
+		ensure(20);
+		if (value < 0) {
+			bytes[pos++] = '-';
+		} else {
+			value = -value;
+		}
+		// convert the non-positive value to cover Long.MIN_VALUE
+		int start = pos;
+		do {
+			bytes[pos++] = (byte) ('0' - value % 10);
+			value /= 10;
+		} while (value != 0);
+		for (int i = start, j = pos - 1; i < j; ++i, --j) {
+			byte tmp = bytes[i];
+			bytes[i] = bytes[j];
+			bytes[j] = tmp;
+		}
+	}
+
+	public void writeInt(int value) throws IOException {
+		writeLong(value);
+	}
+
+	public void writeDouble(double value) throws IOException {
+		if (value == (long) value && Math.abs(value) < 1e15 && !(value == 0 && 1 / value < 0)) {
+			writeLong((long) value);
+		} else {
+			writeAscii(Double.toString(value));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+}
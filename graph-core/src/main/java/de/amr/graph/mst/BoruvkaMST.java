@@ -0,0 +1,77 @@
+package de.amr.graph.mst;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import de.amr.datastruct.ConcurrentIntPartition;
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Borůvka's algorithm running each round in parallel.
+ * <p>
+ * In each round, every tree selects its cheapest outgoing edge (concurrently, by compare-and-set)
+ * and all selected edges are added using a {@link ConcurrentIntPartition}. Ties are broken by edge
+ * index, so the selected edges never form a cycle. Edges inside a tree are dropped after each round.
+ * The number of trees at least halves per round.
+ * 
+ * @author Armin Reichert
+ */
+public class BoruvkaMST implements MinimumSpanningForest {
+
+	@Override
+	public SpanningForest compute(Graph<?, ?> g, EdgeWeight weight) {
+		EdgeArrays edges = new EdgeArrays(g, weight);
+		int n = edges.numVertexSlots;
+		ConcurrentIntPartition trees = new ConcurrentIntPartition(n);
+		AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+		boolean[] selected = new boolean[edges.count];
+		int[] active = IntStream.range(0, edges.count).toArray();
+		while (active.length > 0) {
+			IntStream.range(0, n).parallel().forEach(v -> cheapest.set(v, -1));
+			final int[] crossing = active;
+			IntStream.range(0, crossing.length).parallel().forEach(i -> {
+				int e = crossing[i];
+				int ru = trees.find(edges.either[e]), rv = trees.find(edges.other[e]);
+				if (ru != rv) {
+					offer(cheapest, ru, e, edges.weights);
+					offer(cheapest, rv, e, edges.weights);
+				}
+			});
+			IntStream.range(0, n).parallel().forEach(root -> {
+				int e = cheapest.get(root);
+				if (e != -1 && trees.union(edges.either[e], edges.other[e])) {
+					selected[e] = true;
+				}
+			});
+			active = IntStream.of(crossing).parallel()
+					.filter(e -> trees.find(edges.either[e]) != trees.find(edges.other[e])).toArray();
+		}
+		int[] treeEdges = IntStream.range(0, edges.count).filter(e -> selected[e]).toArray();
+		int[] either = new int[treeEdges.length], other = new int[treeEdges.length];
+		double[] weights = new double[treeEdges.length];
+		for (int i = 0; i < treeEdges.length; ++i) {
+			either[i] = edges.either[treeEdges[i]];
+			other[i] = edges.other[treeEdges[i]];
+			weights[i] = edges.weights[treeEdges[i]];
+		}
+		return new SpanningForest(edges.vertices, either, other, weights, treeEdges.length);
+	}
+
+	private static void offer(AtomicIntegerArray cheapest, int root, int e, double[] weights) {
+		while (true) {
+			int current = cheapest.get(root);
+			if (current != -1 && !lighter(e, current, weights)) {
+				return;
+			}
+			if (cheapest.compareAndSet(root, current, e)) {
+				return;
+			}
+		}
+	}
+
+	private static boolean lighter(int e, int f, double[] weights) {
+		int cmp = Double.compare(weights[e], weights[f]);
+		return cmp < 0 || cmp == 0 && e < f;
+	}
+}
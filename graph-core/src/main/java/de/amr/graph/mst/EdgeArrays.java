@@ -0,0 +1,98 @@
+package de.amr.graph.mst;
+
+import java.util.Arrays;
+
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Edges of a graph in primitive arrays, loops are left out.
+ * 
+ * @author Armin Reichert
+ */
+class EdgeArrays {
+
+	final int[] vertices;
+	final int numVertexSlots;
+	int[] either;
+	int[] other;
+	double[] weights;
+	int count;
+
+	EdgeArrays(Graph<?, ?> g, EdgeWeight weight) {
+		vertices = g.vertices().sorted().toArray();
+		if (vertices.length > 0 && vertices[0] < 0) {
+			throw new IllegalArgumentException("Spanning forest requires non-negative vertices");
+		}
+		numVertexSlots = vertices.length == 0 ? 0 : vertices[vertices.length - 1] + 1;
+		int capacity = Math.max(16, g.numEdges());
+		either = new int[capacity];
+		other = new int[capacity];
+		weights = new double[capacity];
+		for (int v : vertices) {
+			g.forEachNeighbor(v, w -> {
+				if (v < w) {
+					add(v, w, weight.weight(v, w));
+				}
+			});
+		}
+	}
+
+	private void add(int u, int v, double weight) {
+		if (count == either.length) {
+			either = Arrays.copyOf(either, 2 * count);
+			other = Arrays.copyOf(other, 2 * count);
+			weights = Arrays.copyOf(weights, 2 * count);
+		}
+		either[count] = u;
+		other[count] = v;
+		weights[count] = weight;
+		++count;
+	}
+
+	/**
+	 * Sorts edge indices by ascending weight using a stable LSD radix sort over the bit patterns of
+	 * the weights, so no comparisons and no boxing are needed.
+	 * 
+	 * @return the edge indices sorted by weight
+	 */
+	int[] sortedByWeight() {
+		long[] keys = new long[count];
+		int[] order = new int[count];
+		for (int i = 0; i < count; ++i) {
+			long bits = Double.doubleToLongBits(weights[i]);
+			// flip all bits of negative numbers and the sign bit of positive numbers: unsigned order
+			keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+			order[i] = i;
+		}
+		long[] keysTmp = new long[count];
+		int[] orderTmp = new int[count];
+		int[] histogram = new int[1 << 16];
+		for (int shift = 0; shift < 64; shift += 16) {
+			Arrays.fill(histogram, 0);
+			for (int i = 0; i < count; ++i) {
+				++histogram[(int) (keys[i] >>> shift) & 0xFFFF];
+			}
+			if (count == 0 || histogram[(int) (keys[0] >>> shift) & 0xFFFF] == count) {
+				continue; // all keys have the same digit
+			}
+			for (int digit = 0, sum = 0; digit < histogram.length; ++digit) {
+				int n = histogram[digit];
+				histogram[digit] = sum;
+				sum += n;
+			}
+			for (int i = 0; i < count; ++i) {
+				int target = histogram[(int) (keys[i] >>> shift) & 0xFFFF]++;
+				keysTmp[target] = keys[i];
+				orderTmp[target] = order[i];
+			}
+			long[] k = keys;
+			keys = keysTmp;
+			keysTmp = k;
+			int[] o = order;
+			order = orderTmp;
+			orderTmp = o;
+		}
+		return order;
+	}
+}
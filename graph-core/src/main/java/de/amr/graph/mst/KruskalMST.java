@@ -0,0 +1,36 @@
+package de.amr.graph.mst;
+
+import de.amr.datastruct.IntPartition;
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Kruskal's algorithm: edges are radix-sorted by weight and added if they connect two different
+ * trees of an {@link IntPartition}.
+ * 
+ * @author Armin Reichert
+ */
+public class KruskalMST implements MinimumSpanningForest {
+
+	@Override
+	public SpanningForest compute(Graph<?, ?> g, EdgeWeight weight) {
+		EdgeArrays edges = new EdgeArrays(g, weight);
+		IntPartition trees = new IntPartition(edges.numVertexSlots);
+		int maxEdges = Math.max(0, edges.vertices.length - 1);
+		int[] either = new int[maxEdges], other = new int[maxEdges];
+		double[] weights = new double[maxEdges];
+		int numTreeEdges = 0;
+		for (int e : edges.sortedByWeight()) {
+			if (numTreeEdges == maxEdges) {
+				break;
+			}
+			if (trees.union(edges.either[e], edges.other[e])) {
+				either[numTreeEdges] = edges.either[e];
+				other[numTreeEdges] = edges.other[e];
+				weights[numTreeEdges] = edges.weights[e];
+				++numTreeEdges;
+			}
+		}
+		return new SpanningForest(edges.vertices, either, other, weights, numTreeEdges);
+	}
+}
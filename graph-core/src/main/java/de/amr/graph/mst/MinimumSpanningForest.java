@@ -0,0 +1,28 @@
+package de.amr.graph.mst;
+
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Algorithm computing a minimum spanning forest, that is a minimum spanning tree for each connected
+ * component of an undirected graph. The graph vertices must be non-negative, loops are ignored.
+ * 
+ * @author Armin Reichert
+ */
+public interface MinimumSpanningForest {
+
+	/**
+	 * @param g      an undirected graph with non-negative vertices
+	 * @param weight the edge weights
+	 * @return a minimum spanning forest of the graph
+	 */
+	SpanningForest compute(Graph<?, ?> g, EdgeWeight weight);
+
+	/**
+	 * @param g an undirected graph with non-negative vertices using numerical edge labels as weights
+	 * @return a minimum spanning forest of the graph
+	 */
+	default SpanningForest compute(Graph<?, ? extends Number> g) {
+		return compute(g, EdgeWeight.labels(g));
+	}
+}
@@ -0,0 +1,73 @@
+package de.amr.graph.mst;
+
+import java.util.BitSet;
+
+import de.amr.datastruct.IndexedMinHeap;
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Prim's algorithm using an {@link IndexedMinHeap}. Each tree is grown from its smallest vertex by
+ * repeatedly adding the cheapest edge leaving the tree. Works directly on the adjacency of the graph
+ * and needs no edge list.
+ * 
+ * @author Armin Reichert
+ */
+public class PrimMST implements MinimumSpanningForest {
+
+	private final int arity;
+
+	/**
+	 * Creates an instance using a 4-ary heap.
+	 */
+	public PrimMST() {
+		this(4);
+	}
+
+	/**
+	 * @param arity arity of the heap
+	 */
+	public PrimMST(int arity) {
+		this.arity = arity;
+	}
+
+	@Override
+	public SpanningForest compute(Graph<?, ?> g, EdgeWeight weight) {
+		int[] vertices = g.vertices().sorted().toArray();
+		if (vertices.length > 0 && vertices[0] < 0) {
+			throw new IllegalArgumentException("Spanning forest requires non-negative vertices");
+		}
+		int n = vertices.length == 0 ? 0 : vertices[vertices.length - 1] + 1;
+		IndexedMinHeap heap = new IndexedMinHeap(n, arity);
+		int[] parent = new int[n];
+		BitSet inTree = new BitSet(n);
+		int maxEdges = Math.max(0, vertices.length - 1);
+		int[] either = new int[maxEdges], other = new int[maxEdges];
+		double[] weights = new double[maxEdges];
+		int numTreeEdges = 0;
+		for (int root : vertices) {
+			if (inTree.get(root)) {
+				continue;
+			}
+			parent[root] = -1;
+			heap.insert(root, 0);
+			while (!heap.isEmpty()) {
+				double key = heap.key(heap.min());
+				int u = heap.extractMin();
+				inTree.set(u);
+				if (parent[u] != -1) {
+					either[numTreeEdges] = parent[u];
+					other[numTreeEdges] = u;
+					weights[numTreeEdges] = key;
+					++numTreeEdges;
+				}
+				g.forEachNeighbor(u, v -> {
+					if (!inTree.get(v) && heap.insertOrDecrease(v, weight.weight(u, v))) {
+						parent[v] = u;
+					}
+				});
+			}
+		}
+		return new SpanningForest(vertices, either, other, weights, numTreeEdges);
+	}
+}
@@ -0,0 +1,107 @@
+package de.amr.graph.mst;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.WeightedEdge;
+import de.amr.graph.core.impl.PrimitiveUGraph;
+
+/**
+ * Spanning forest stored as compact edge arrays.
+ * 
+ * @author Armin Reichert
+ */
+public final class SpanningForest {
+
+	private final int[] vertices;
+	private final int[] either;
+	private final int[] other;
+	private final double[] weights;
+
+	SpanningForest(int[] vertices, int[] either, int[] other, double[] weights, int numEdges) {
+		this.vertices = vertices;
+		this.either = Arrays.copyOf(either, numEdges);
+		this.other = Arrays.copyOf(other, numEdges);
+		this.weights = Arrays.copyOf(weights, numEdges);
+	}
+
+	/**
+	 * @return the number of vertices spanned by this forest
+	 */
+	public int numVertices() {
+		return vertices.length;
+	}
+
+	/**
+	 * @return the number of edges of this forest
+	 */
+	public int numEdges() {
+		return either.length;
+	}
+
+	/**
+	 * @return the number of trees, that is the number of connected components of the graph
+	 */
+	public int numTrees() {
+		return vertices.length - either.length;
+	}
+
+	/**
+	 * @param i edge index
+	 * @return either vertex of the i'th edge
+	 */
+	public int either(int i) {
+		return either[i];
+	}
+
+	/**
+	 * @param i edge index
+	 * @return other vertex of the i'th edge
+	 */
+	public int other(int i) {
+		return other[i];
+	}
+
+	/**
+	 * @param i edge index
+	 * @return weight of the i'th edge
+	 */
+	public double weight(int i) {
+		return weights[i];
+	}
+
+	/**
+	 * @return the sum of all edge weights
+	 */
+	public double totalWeight() {
+		double sum = 0;
+		for (double weight : weights) {
+			sum += weight;
+		}
+		return sum;
+	}
+
+	/**
+	 * @return stream of the forest edges
+	 */
+	public Stream<WeightedEdge<Double>> edges() {
+		return IntStream.range(0, either.length).mapToObj(i -> new WeightedEdge<>(either[i], other[i], weights[i]));
+	}
+
+	/**
+	 * @param <V> vertex label type
+	 * @return graph containing all spanned vertices and the forest edges labeled with their weights
+	 */
+	public <V> Graph<V, Double> toGraph() {
+		PrimitiveUGraph<V, Double> g = new PrimitiveUGraph<>(vertices.length, either.length);
+		for (int v : vertices) {
+			g.addVertex(v);
+		}
+		for (int i = 0; i < either.length; ++i) {
+			g.addEdge(either[i], other[i], weights[i]);
+		}
+		return g;
+	}
+}
@@ -0,0 +1,89 @@
+package de.amr.graph.util;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Connected components of a graph with non-negative vertices.
+ * <p>
+ * Components are numbered densely from 0 in the order of their smallest vertex, so the numbering
+ * does not depend on the algorithm that computed it.
+ * 
+ * @author Armin Reichert
+ */
+public final class ConnectedComponents {
+
+	private final int[] componentOf;
+	private final int[] sizes;
+
+	/**
+	 * @param componentOf component number for each vertex slot, -1 for slots that are no vertices
+	 * @param sizes       number of vertices of each component
+	 */
+	ConnectedComponents(int[] componentOf, int[] sizes) {
+		this.componentOf = componentOf;
+		this.sizes = sizes;
+	}
+
+	/**
+	 * @return the number of components
+	 */
+	public int count() {
+		return sizes.length;
+	}
+
+	/**
+	 * @return {@code true} if there is at most one component
+	 */
+	public boolean isConnected() {
+		return sizes.length <= 1;
+	}
+
+	/**
+	 * @param v a vertex
+	 * @return the number of the component containing the vertex
+	 */
+	public int componentOf(int v) {
+		if (v < 0 || v >= componentOf.length || componentOf[v] == -1) {
+			throw new IllegalStateException("Vertex not in graph: " + v);
+		}
+		return componentOf[v];
+	}
+
+	/**
+	 * @param component a component number
+	 * @return the number of vertices of the component
+	 */
+	public int size(int component) {
+		return sizes[component];
+	}
+
+	/**
+	 * @return the size of the largest component or 0 for an empty graph
+	 */
+	public int largestSize() {
+		return Arrays.stream(sizes).max().orElse(0);
+	}
+
+	/**
+	 * @return a copy of the component sizes indexed by component number
+	 */
+	public int[] sizes() {
+		return sizes.clone();
+	}
+
+	/**
+	 * @return a copy of the component numbers indexed by vertex, -1 at indices that are no vertices
+	 */
+	public int[] componentIds() {
+		return componentOf.clone();
+	}
+
+	/**
+	 * @param component a component number
+	 * @return the vertices of the component in ascending order
+	 */
+	public IntStream vertices(int component) {
+		return IntStream.range(0, componentOf.length).filter(v -> componentOf[v] == component);
+	}
+}
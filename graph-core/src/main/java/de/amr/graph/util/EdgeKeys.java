@@ -0,0 +1,49 @@
+package de.amr.graph.util;
+
+/**
+ * Packs vertex pairs into a single {@code long} value. This avoids allocating edge objects when
+ * edges are sorted, hashed or streamed.
+ *
+ * <p>
+ * An <em>edge key</em> is the canonical key of an undirected edge: the smaller vertex is stored in the
+ * upper, the larger vertex in the lower 32 bits. An <em>arc key</em> stores its vertices in the given
+ * order.
+ *
+ * @author Armin Reichert
+ */
+public interface EdgeKeys {
+
+	/**
+	 * @param u either vertex
+	 * @param v other vertex
+	 * @return the canonical key of the undirected edge <code>{u, v}</code>
+	 */
+	public static long edgeKey(int u, int v) {
+		return u <= v ? arcKey(u, v) : arcKey(v, u);
+	}
+
+	/**
+	 * @param u source vertex
+	 * @param v target vertex
+	 * @return the key of the arc <code>(u, v)</code>
+	 */
+	public static long arcKey(int u, int v) {
+		return ((long) u << 32) | (v & 0xFFFF_FFFFL);
+	}
+
+	/**
+	 * @param key an edge or arc key
+	 * @return the vertex stored in the upper 32 bits (smaller vertex resp. source vertex)
+	 */
+	public static int either(long key) {
+		return (int) (key >>> 32);
+	}
+
+	/**
+	 * @param key an edge or arc key
+	 * @return the vertex stored in the lower 32 bits (larger vertex resp. target vertex)
+	 */
+	public static int other(long key) {
+		return (int) key;
+	}
+}
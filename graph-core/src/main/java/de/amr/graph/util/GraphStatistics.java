@@ -0,0 +1,199 @@
+package de.amr.graph.util;
+
+import java.util.Arrays;
+
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Degree statistics of a graph: degree histogram, minimum, maximum and average degree, number of
+ * isolated vertices, dead ends and junctions and the edge density.
+ * <p>
+ * For mazes, dead ends are the cells with exactly one passage, junctions the cells with more than
+ * two passages.
+ * 
+ * @author Armin Reichert
+ */
+public final class GraphStatistics {
+
+	/**
+	 * Computes the statistics of the given graph by a parallel reduction over its vertices.
+	 * 
+	 * @param g a graph
+	 * @return the statistics of the graph
+	 */
+	public static GraphStatistics of(Graph<?, ?> g) {
+		Histogram histogram = g.vertices().parallel().collect(Histogram::new, (h, v) -> h.add(g.degree(v)),
+				Histogram::merge);
+		return new GraphStatistics(histogram.toArray(), g.numEdges());
+	}
+
+	private static class Histogram {
+
+		private int[] counts = new int[8];
+		private int maxDegree = -1;
+
+		void add(int degree) {
+			if (degree >= counts.length) {
+				counts = Arrays.copyOf(counts, Math.max(degree + 1, 2 * counts.length));
+			}
+			counts[degree] += 1;
+			maxDegree = Math.max(maxDegree, degree);
+		}
+
+		void merge(Histogram other) {
+			if (other.maxDegree >= counts.length) {
+				counts = Arrays.copyOf(counts, other.maxDegree + 1);
+			}
+			for (int d = 0; d <= other.maxDegree; ++d) {
+				counts[d] += other.counts[d];
+			}
+			maxDegree = Math.max(maxDegree, other.maxDegree);
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(counts, maxDegree + 1);
+		}
+	}
+
+	private final int[] histogram;
+	private final int numVertices;
+	private final long numEdges;
+	private final long degreeSum;
+	private final int minDegree;
+
+	/**
+	 * @param histogram number of vertices for each degree, index is the degree
+	 * @param numEdges  number of edges of the graph
+	 */
+	public GraphStatistics(int[] histogram, long numEdges) {
+		int last = histogram.length - 1;
+		while (last >= 0 && histogram[last] == 0) {
+			--last;
+		}
+		this.histogram = Arrays.copyOf(histogram, last + 1);
+		this.numEdges = numEdges;
+		int n = 0, min = -1;
+		long sum = 0;
+		for (int d = 0; d <= last; ++d) {
+			if (histogram[d] < 0) {
+				throw new IllegalArgumentException("Negative vertex count for degree " + d);
+			}
+			if (histogram[d] > 0 && min == -1) {
+				min = d;
+			}
+			n += histogram[d];
+			sum += (long) d * histogram[d];
+		}
+		this.numVertices = n;
+		this.degreeSum = sum;
+		this.minDegree = Math.max(0, min);
+	}
+
+	/**
+	 * @return the number of vertices
+	 */
+	public int numVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * @return the number of edges
+	 */
+	public long numEdges() {
+		return numEdges;
+	}
+
+	/**
+	 * @param degree a degree
+	 * @return the number of vertices with the given degree
+	 */
+	public int count(int degree) {
+		return degree >= 0 && degree < histogram.length ? histogram[degree] : 0;
+	}
+
+	/**
+	 * @return the degree histogram, index is the degree, length is the maximum degree plus one
+	 */
+	public int[] degreeHistogram() {
+		return histogram.clone();
+	}
+
+	/**
+	 * @return the minimum vertex degree or 0 if the graph has no vertices
+	 */
+	public int minDegree() {
+		return minDegree;
+	}
+
+	/**
+	 * @return the maximum vertex degree or 0 if the graph has no vertices
+	 */
+	public int maxDegree() {
+		return Math.max(0, histogram.length - 1);
+	}
+
+	/**
+	 * @return the average vertex degree or 0 if the graph has no vertices
+	 */
+	public double averageDegree() {
+		return numVertices == 0 ? 0 : (double) degreeSum / numVertices;
+	}
+
+	/**
+	 * @return the number of vertices without neighbors
+	 */
+	public int numIsolated() {
+		return count(0);
+	}
+
+	/**
+	 * @return the number of vertices with degree 1
+	 */
+	public int numDeadEnds() {
+		return count(1);
+	}
+
+	/**
+	 * @return the number of vertices with degree greater than 2
+	 */
+	public int numJunctions() {
+		int junctions = 0;
+		for (int d = 3; d < histogram.length; ++d) {
+			junctions += histogram[d];
+		}
+		return junctions;
+	}
+
+	/**
+	 * @return the ratio of the number of edges and the number of vertex pairs, 0 if there are less
+	 *         than 2 vertices
+	 */
+	public double density() {
+		return numVertices < 2 ? 0 : 2.0 * numEdges / ((double) numVertices * (numVertices - 1));
+	}
+
+	/**
+	 * @return multi-line report of these statistics including the degree distribution
+	 */
+	public String report() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("Vertices: %d%n", numVertices));
+		sb.append(String.format("Edges: %d%n", numEdges));
+		sb.append(String.format("Degree: min %d, max %d, avg %.3f%n", minDegree(), maxDegree(), averageDegree()));
+		sb.append(String.format("Isolated: %d, dead ends: %d, junctions: %d%n", numIsolated(), numDeadEnds(),
+				numJunctions()));
+		sb.append(String.format("Density: %.6f%n", density()));
+		for (int d = 0; d < histogram.length; ++d) {
+			if (histogram[d] > 0) {
+				sb.append(String.format("  degree %d: %d (%.2f%%)%n", d, histogram[d], 100.0 * histogram[d] / numVertices));
+			}
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d vertices, %d edges, degree %d..%d, avg %.3f)", getClass().getSimpleName(),
+				numVertices, numEdges, minDegree(), maxDegree(), averageDegree());
+	}
+}
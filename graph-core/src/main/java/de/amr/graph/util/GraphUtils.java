@@ -3,14 +3,21 @@ package de.amr.graph.util;
 import static java.lang.String.format;
 
 import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import de.amr.datastruct.ConcurrentIntPartition;
+import de.amr.datastruct.IntPartition;
 import de.amr.datastruct.Partition;
 import de.amr.graph.core.api.Edge;
 import de.amr.graph.core.api.Graph;
 import de.amr.graph.core.api.Multigraph;
 import de.amr.graph.core.api.UndirectedEdge;
-import de.amr.graph.core.impl.DefaultMultigraph;
+import de.amr.graph.core.impl.IncidenceMultigraph;
 
 /**
  * Some useful graph methods.
@@ -38,7 +45,8 @@ public interface GraphUtils {
 	}
 
 	/**
-	 * Checks whether a graph contains a cycle.
+	 * Checks whether a graph contains a cycle. If the vertices form a (nearly) dense range starting at
+	 * 0, an {@link IntPartition} is used, else a {@link Partition}.
 	 * 
 	 * @param <V> vertex label type
 	 * @param <E> edge label type
@@ -46,6 +54,21 @@ public interface GraphUtils {
 	 * @return {@code true} if the graph contains a cycle
 	 */
 	public static <V, E> boolean containsCycle(Graph<V, E> g) {
+		IntSummaryStatistics range = g.vertices().summaryStatistics();
+		if (range.getCount() == 0) {
+			return false;
+		}
+		if (range.getMin() >= 0 && range.getMax() < 2L * range.getCount() + 64) {
+			// dense vertex range
+			IntPartition p = new IntPartition(range.getMax() + 1);
+			Iterable<Edge> edges = g.edges()::iterator;
+			for (Edge edge : edges) {
+				if (!p.union(edge.either(), edge.other())) {
+					return true;
+				}
+			}
+			return false;
+		}
 		Partition<Integer> p = new Partition<>();
 		Iterable<Edge> edges = g.edges()::iterator;
 		for (Edge edge : edges) {
@@ -59,6 +82,119 @@ public interface GraphUtils {
 		return false;
 	}
 
+	/**
+	 * Computes the connected components using union-find over all edges.
+	 * 
+	 * @param g an undirected graph with non-negative vertices
+	 * @return the connected components
+	 */
+	public static ConnectedComponents components(Graph<?, ?> g) {
+		int n = vertexSlots(g);
+		IntPartition p = new IntPartition(n);
+		g.vertices().forEach(v -> g.forEachNeighbor(v, w -> {
+			if (v < w) {
+				p.union(v, w);
+			}
+		}));
+		return numberComponents(g, n, p::find);
+	}
+
+	/**
+	 * Computes the connected components in parallel using a concurrent union-find. The graph must
+	 * support concurrent read access.
+	 * <p>
+	 * Like the "Afforest" algorithm, each vertex is first linked to its first two neighbors. Most
+	 * vertices of the largest component are already joined after this phase. The largest component is
+	 * then estimated by sampling and the remaining edges of its vertices are skipped: an edge leading
+	 * out of this component is still processed from its other end.
+	 * 
+	 * @param g an undirected graph with non-negative vertices
+	 * @return the connected components
+	 */
+	public static ConnectedComponents componentsParallel(Graph<?, ?> g) {
+		int n = vertexSlots(g);
+		ConcurrentIntPartition p = new ConcurrentIntPartition(n);
+		final int sampledNeighbors = 2;
+		IntStream.range(0, n).parallel().filter(g::containsVertex).forEach(v -> {
+			int[] count = { 0 };
+			g.forEachNeighbor(v, w -> {
+				if (count[0]++ < sampledNeighbors) {
+					p.union(v, w);
+				}
+			});
+		});
+		int largest = sampleLargestSet(g, n, p);
+		IntStream.range(0, n).parallel().filter(g::containsVertex).filter(v -> p.find(v) != largest).forEach(v -> {
+			int[] count = { 0 };
+			g.forEachNeighbor(v, w -> {
+				if (count[0]++ >= sampledNeighbors) {
+					p.union(v, w);
+				}
+			});
+		});
+		int[] roots = new int[n];
+		IntStream.range(0, n).parallel().forEach(v -> roots[v] = p.find(v));
+		return numberComponents(g, n, v -> roots[v]);
+	}
+
+	private static int vertexSlots(Graph<?, ?> g) {
+		IntSummaryStatistics range = g.vertices().summaryStatistics();
+		if (range.getCount() > 0 && range.getMin() < 0) {
+			throw new IllegalArgumentException("Connected components require non-negative vertices");
+		}
+		return range.getCount() == 0 ? 0 : range.getMax() + 1;
+	}
+
+	private static int sampleLargestSet(Graph<?, ?> g, int n, ConcurrentIntPartition p) {
+		if (n == 0) {
+			return -1;
+		}
+		Random rnd = new Random(n);
+		int[] roots = new int[1024];
+		int numRoots = 0;
+		for (int i = 0; i < roots.length; ++i) {
+			int v = rnd.nextInt(n);
+			if (g.containsVertex(v)) {
+				roots[numRoots++] = p.find(v);
+			}
+		}
+		Arrays.sort(roots, 0, numRoots);
+		int best = -1, bestCount = 0;
+		for (int i = 0, j = 0; i < numRoots; i = j) {
+			while (j < numRoots && roots[j] == roots[i]) {
+				++j;
+			}
+			if (j - i > bestCount) {
+				best = roots[i];
+				bestCount = j - i;
+			}
+		}
+		return best;
+	}
+
+	private static ConnectedComponents numberComponents(Graph<?, ?> g, int n, IntUnaryOperator root) {
+		int[] componentOf = new int[n];
+		int[] componentOfRoot = new int[n];
+		Arrays.fill(componentOf, -1);
+		Arrays.fill(componentOfRoot, -1);
+		int[] sizes = new int[16];
+		int count = 0;
+		for (int v = 0; v < n; ++v) {
+			if (g.containsVertex(v)) {
+				int r = root.applyAsInt(v);
+				if (componentOfRoot[r] == -1) {
+					if (count == sizes.length) {
+						sizes = Arrays.copyOf(sizes, 2 * count);
+					}
+					componentOfRoot[r] = count++;
+				}
+				componentOf[v] = componentOfRoot[r];
+				++sizes[componentOf[v]];
+			}
+		}
+		return new ConnectedComponents(componentOf, Arrays.copyOf(sizes, count));
+	}
+
 	/**
 	 * @param base the base of the logarithm
 	 * @param n    a number
@@ -85,10 +221,19 @@ public interface GraphUtils {
 		return pow;
 	}
 
+	/**
+	 * Builds the dual graph of a full grid explicitly. For large grids, the implicit
+	 * <code>de.amr.graph.grid.impl.GridDualGraph</code> computes the same adjacency without storing
+	 * any edges.
+	 * 
+	 * @param cols number of grid columns
+	 * @param rows number of grid rows
+	 * @return dual graph with the faces as vertices and -1 as the outer face
+	 */
 	public static Multigraph dualGraphOfGrid(int cols, int rows) {
-		var dualGraph = new DefaultMultigraph();
 		int numRows = rows - 1;
 		int numCols = cols - 1;
+		var dualGraph = new IncidenceMultigraph(numCols * numRows + 1, 2 * numCols * numRows + numCols + numRows);
 		int outerVertex = -1;
 		dualGraph.addVertex(outerVertex);
 		for (int row = 0; row < numRows; ++row) {
@@ -0,0 +1,90 @@
+package de.amr.graph.util;
+
+import java.util.Arrays;
+
+/**
+ * Renumbering of the vertices of a graph to <code>0..size-1</code>, for example to improve the
+ * memory locality of a compact graph representation. Keeps both directions of the mapping, so
+ * results computed on the renumbered graph (vertices, paths) can be translated back.
+ * 
+ * @author Armin Reichert
+ */
+public final class Permutation {
+
+	/**
+	 * @param order the (non-negative) old vertices in their new order, the vertex at index
+	 *              <code>i</code> gets the new number <code>i</code>
+	 * @return the permutation defined by the given order
+	 */
+	public static Permutation fromOrder(int[] order) {
+		int numSlots = 0;
+		for (int v : order) {
+			if (v < 0) {
+				throw new IllegalArgumentException("Permutation requires non-negative vertices");
+			}
+			numSlots = Math.max(numSlots, v + 1);
+		}
+		int[] newOf = new int[numSlots];
+		Arrays.fill(newOf, -1);
+		for (int i = 0; i < order.length; ++i) {
+			if (newOf[order[i]] != -1) {
+				throw new IllegalArgumentException("Vertex occurs twice in order: " + order[i]);
+			}
+			newOf[order[i]] = i;
+		}
+		return new Permutation(newOf, order.clone());
+	}
+
+	private final int[] newOf;
+	private final int[] oldOf;
+
+	private Permutation(int[] newOf, int[] oldOf) {
+		this.newOf = newOf;
+		this.oldOf = oldOf;
+	}
+
+	/**
+	 * @return the number of renumbered vertices
+	 */
+	public int size() {
+		return oldOf.length;
+	}
+
+	/**
+	 * @param v an old vertex
+	 * @return the new number of the vertex
+	 */
+	public int toNew(int v) {
+		if (v < 0 || v >= newOf.length || newOf[v] == -1) {
+			throw new IllegalArgumentException("Vertex not in permutation: " + v);
+		}
+		return newOf[v];
+	}
+
+	/**
+	 * @param v a new vertex number
+	 * @return the old vertex
+	 */
+	public int toOld(int v) {
+		return oldOf[v];
+	}
+
+	/**
+	 * @param vertices new vertex numbers, e.g. a path found in the renumbered graph
+	 * @return the old vertices
+	 */
+	public int[] toOld(int[] vertices) {
+		int[] result = new int[vertices.length];
+		for (int i = 0; i < vertices.length; ++i) {
+			result[i] = oldOf[vertices[i]];
+		}
+		return result;
+	}
+
+	/**
+	 * @return the old vertices in their new order
+	 */
+	public int[] order() {
+		return oldOf.clone();
+	}
+}
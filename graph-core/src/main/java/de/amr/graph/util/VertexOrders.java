@@ -0,0 +1,131 @@
+package de.amr.graph.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import de.amr.graph.core.api.Graph;
+
+/**
+ * Vertex orders improving the memory locality of graph traversals. Neighbors get close numbers, so
+ * after renumbering (e.g. {@link de.amr.graph.core.impl.CSRGraph#copyOf(Graph, Permutation)}) the
+ * adjacency data of vertices visited together is stored close together.
+ * <p>
+ * All orders require non-negative vertices. Each connected component is numbered consecutively.
+ * 
+ * @author Armin Reichert
+ */
+public interface VertexOrders {
+
+	/**
+	 * Breadth-first order. Each component is traversed from its smallest vertex.
+	 * 
+	 * @param g a graph with non-negative vertices
+	 * @return permutation numbering the vertices in breadth-first order
+	 */
+	static Permutation breadthFirst(Graph<?, ?> g) {
+		return Permutation.fromOrder(traverse(g, false));
+	}
+
+	/**
+	 * Reverse Cuthill-McKee order. Each component is traversed breadth-first from a vertex of minimum
+	 * degree, visiting the neighbors of a vertex in order of increasing degree. The resulting order is
+	 * reversed. This reduces the bandwidth of the adjacency matrix.
+	 * 
+	 * @param g a graph with non-negative vertices
+	 * @return permutation numbering the vertices in reverse Cuthill-McKee order
+	 */
+	static Permutation reverseCuthillMcKee(Graph<?, ?> g) {
+		int[] order = traverse(g, true);
+		for (int i = 0, j = order.length - 1; i < j; ++i, --j) {
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+		return Permutation.fromOrder(order);
+	}
+
+	/**
+	 * Order by decreasing degree, ties by increasing vertex. Gives the high-degree vertices, which
+	 * are accessed most often, neighboring numbers.
+	 * 
+	 * @param g a graph with non-negative vertices
+	 * @return permutation numbering the vertices by decreasing degree
+	 */
+	static Permutation degree(Graph<?, ?> g) {
+		int[] vertices = sortedVertices(g);
+		long[] keys = new long[vertices.length];
+		for (int i = 0; i < vertices.length; ++i) {
+			keys[i] = ((long) (Integer.MAX_VALUE - g.degree(vertices[i])) << 32) | vertices[i];
+		}
+		Arrays.parallelSort(keys);
+		int[] order = new int[keys.length];
+		for (int i = 0; i < keys.length; ++i) {
+			order[i] = (int) keys[i];
+		}
+		return Permutation.fromOrder(order);
+	}
+
+	private static int[] sortedVertices(Graph<?, ?> g) {
+		int[] vertices = g.vertices().sorted().toArray();
+		if (vertices.length > 0 && vertices[0] < 0) {
+			throw new IllegalArgumentException("Vertex order requires non-negative vertices");
+		}
+		return vertices;
+	}
+
+	private static int[] traverse(Graph<?, ?> g, boolean byDegree) {
+		int[] vertices = sortedVertices(g);
+		int[] order = new int[vertices.length];
+		int[] degree = null;
+		int[] starts = vertices;
+		if (byDegree) {
+			degree = new int[vertices.length == 0 ? 0 : vertices[vertices.length - 1] + 1];
+			for (int v : vertices) {
+				degree[v] = g.degree(v);
+			}
+			final int[] deg = degree;
+			starts = Arrays.stream(vertices).boxed().sorted((v, w) -> Integer.compare(deg[v], deg[w]))
+					.mapToInt(Integer::intValue).toArray();
+		}
+		BitSet visited = new BitSet();
+		long[] neighbors = new long[16];
+		int tail = 0;
+		for (int start : starts) {
+			if (visited.get(start)) {
+				continue;
+			}
+			visited.set(start);
+			int head = tail;
+			order[tail++] = start;
+			while (head < tail) {
+				int v = order[head++];
+				int count = 0;
+				for (int w : adjacent(g, v)) {
+					if (!visited.get(w)) {
+						visited.set(w);
+						if (count == neighbors.length) {
+							neighbors = Arrays.copyOf(neighbors, 2 * count);
+						}
+						neighbors[count++] = byDegree ? ((long) degree[w] << 32) | w : w;
+					}
+				}
+				Arrays.sort(neighbors, 0, count);
+				for (int i = 0; i < count; ++i) {
+					order[tail++] = (int) neighbors[i];
+				}
+			}
+		}
+		return order;
+	}
+
+	private static int[] adjacent(Graph<?, ?> g, int v) {
+		int[] result = new int[g.degree(v)];
+		int[] count = { 0 };
+		g.forEachNeighbor(v, w -> {
+			if (count[0] < result.length) {
+				result[count[0]++] = w;
+			}
+		});
+		return result;
+	}
+}
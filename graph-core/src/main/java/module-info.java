@@ -4,6 +4,8 @@ module de.amr.graph.core {
 	exports de.amr.graph.core.api;
 	exports de.amr.graph.core.impl;
 	exports de.amr.graph.event;
+	exports de.amr.graph.io;
+	exports de.amr.graph.mst;
 	exports de.amr.graph.util;
 	exports de.amr.util;
 
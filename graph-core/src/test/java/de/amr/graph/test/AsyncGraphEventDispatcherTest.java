@@ -0,0 +1,177 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.ObservableGraph;
+import de.amr.graph.core.impl.ObservableUGraph;
+import de.amr.graph.event.AsyncGraphEventDispatcher;
+import de.amr.graph.event.AsyncGraphEventDispatcher.Backpressure;
+import de.amr.graph.event.EdgeEvent;
+import de.amr.graph.event.GraphObserver;
+import de.amr.graph.event.VertexEvent;
+
+public class AsyncGraphEventDispatcherTest {
+
+	private static class RecordingObserver implements GraphObserver<Void, Void> {
+
+		final List<String> events = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch release;
+
+		RecordingObserver(CountDownLatch release) {
+			this.release = release;
+		}
+
+		private void record(String event) {
+			try {
+				release.await();
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+			}
+			events.add(event);
+		}
+
+		@Override
+		public void vertexChanged(VertexEvent<Void, Void> event) {
+			record("v" + event.getVertex());
+		}
+
+		@Override
+		public void edgeChanged(EdgeEvent<Void, Void> event) {
+			record("c" + event.getEither() + "-" + event.getOther());
+		}
+
+		@Override
+		public void edgeAdded(EdgeEvent<Void, Void> event) {
+			record("+" + event.getEither() + "-" + event.getOther());
+		}
+
+		@Override
+		public void edgeRemoved(EdgeEvent<Void, Void> event) {
+			record("-" + event.getEither() + "-" + event.getOther());
+		}
+
+		@Override
+		public void graphChanged(ObservableGraph<Void, Void> graph) {
+			record("g");
+		}
+	}
+
+	private ObservableUGraph<Void, Void> createGraph(int n) {
+		ObservableUGraph<Void, Void> g = new ObservableUGraph<>();
+		g.setEventsEnabled(false);
+		for (int v = 0; v < n; ++v) {
+			g.addVertex(v);
+		}
+		g.setEventsEnabled(true);
+		return g;
+	}
+
+	@Test
+	public void testBlockDeliversAllEventsInOrder() {
+		ObservableUGraph<Void, Void> g = createGraph(100);
+		RecordingObserver target = new RecordingObserver(new CountDownLatch(0));
+		try (AsyncGraphEventDispatcher<Void, Void> dispatcher = new AsyncGraphEventDispatcher<>(target, 4,
+				Backpressure.BLOCK)) {
+			g.addGraphObserver(dispatcher);
+			for (int v = 0; v < 99; ++v) {
+				g.addEdge(v, v + 1);
+			}
+			dispatcher.flush();
+			assertEquals(99, target.events.size());
+			assertEquals("+0-1", target.events.get(0));
+			assertEquals("+98-99", target.events.get(98));
+		}
+	}
+
+	@Test
+	public void testDrop() {
+		ObservableUGraph<Void, Void> g = createGraph(100);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingObserver target = new RecordingObserver(release);
+		try (AsyncGraphEventDispatcher<Void, Void> dispatcher = new AsyncGraphEventDispatcher<>(target, 8,
+				Backpressure.DROP)) {
+			g.addGraphObserver(dispatcher);
+			for (int v = 0; v < 99; ++v) {
+				g.addEdge(v, v + 1);
+			}
+			release.countDown();
+			dispatcher.flush();
+			assertTrue(dispatcher.getDroppedEvents() >= 99 - 9);
+			assertEquals(99, target.events.size() + dispatcher.getDroppedEvents());
+		}
+	}
+
+	@Test
+	public void testCoalesce() {
+		ObservableUGraph<Void, Void> g = createGraph(10);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingObserver target = new RecordingObserver(release);
+		try (AsyncGraphEventDispatcher<Void, Void> dispatcher = new AsyncGraphEventDispatcher<>(target, 16,
+				Backpressure.COALESCE)) {
+			g.addGraphObserver(dispatcher);
+			g.addEdge(0, 1); // may be taken by the consumer immediately
+			for (int i = 0; i < 100; ++i) {
+				g.addEdge(2, 3);
+				g.removeEdge(3, 2);
+			}
+			g.addEdge(4, 5);
+			release.countDown();
+			dispatcher.flush();
+			// each addition of edge {2, 3} is cancelled by its removal
+			assertEquals(List.of("+0-1", "+4-5"), target.events);
+		}
+	}
+
+	@Test
+	public void testCoalesceRemoveAndAddAgain() {
+		ObservableUGraph<Void, Void> g = createGraph(10);
+		g.setEventsEnabled(false);
+		g.addEdge(2, 3);
+		g.setEventsEnabled(true);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingObserver target = new RecordingObserver(release);
+		try (AsyncGraphEventDispatcher<Void, Void> dispatcher = new AsyncGraphEventDispatcher<>(target, 16,
+				Backpressure.COALESCE)) {
+			g.addGraphObserver(dispatcher);
+			g.addEdge(0, 1); // may be taken by the consumer immediately
+			g.removeEdge(2, 3);
+			g.addEdge(3, 2);
+			g.addEdge(4, 5);
+			g.removeEdge(4, 5);
+			g.addEdge(6, 7);
+			release.countDown();
+			dispatcher.flush();
+			assertEquals(List.of("+0-1", "+6-7"), target.events);
+		}
+	}
+
+	@Test
+	public void testGraphChangeReplacesWaitingEvents() {
+		ObservableUGraph<Void, Void> g = createGraph(10);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingObserver target = new RecordingObserver(release);
+		try (AsyncGraphEventDispatcher<Void, Void> dispatcher = new AsyncGraphEventDispatcher<>(target, 8,
+				Backpressure.COALESCE)) {
+			g.addGraphObserver(dispatcher);
+			for (int v = 0; v < 9; ++v) {
+				g.addEdge(v, v + 1);
+				if (v == 5) {
+					g.removeEdges();
+				}
+			}
+			release.countDown();
+			dispatcher.flush();
+			assertEquals(List.of("+6-7", "+7-8", "+8-9"), target.events.subList(target.events.size() - 3,
+					target.events.size()));
+			assertTrue(target.events.contains("g"));
+		}
+	}
+}
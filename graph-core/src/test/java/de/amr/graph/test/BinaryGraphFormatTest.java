@@ -0,0 +1,78 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.TraversalState;
+import de.amr.graph.core.impl.PrimitiveUGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.io.BinaryGraphFormat;
+import de.amr.graph.io.LabelCodec;
+
+public class BinaryGraphFormatTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("graph", ".bin");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testRoundTripWithLabels() throws IOException {
+		UGraph<String, Double> g = new UGraph<>();
+		for (int v = 0; v < 1000; ++v) {
+			g.addVertex(v);
+			g.set(v, v % 3 == 0 ? null : "vertex-" + v);
+		}
+		for (int v = 1; v < 1000; ++v) {
+			g.addEdge(v - 1, v, v * 0.5);
+		}
+		BinaryGraphFormat.save(g, file, LabelCodec.strings(), LabelCodec.doubles());
+
+		UGraph<String, Double> h = BinaryGraphFormat.load(file, UGraph::new, LabelCodec.strings(), LabelCodec.doubles());
+		assertEquals(g.numVertices(), h.numVertices());
+		assertEquals(g.numEdges(), h.numEdges());
+		assertNull(h.get(3));
+		assertEquals("vertex-998", h.get(998));
+		assertTrue(h.adjacent(500, 501));
+		assertEquals(250.5, h.getEdgeLabel(501, 500).doubleValue());
+	}
+
+	@Test
+	public void testSkipsLabelsWithoutCodec() throws IOException {
+		PrimitiveUGraph<TraversalState, Integer> g = new PrimitiveUGraph<>();
+		g.addVertex(-5);
+		g.addVertex(7);
+		g.addEdge(-5, 7, 42);
+		g.set(7, TraversalState.COMPLETED);
+		BinaryGraphFormat.save(g, file, LabelCodec.enums(TraversalState.class), LabelCodec.ints());
+
+		PrimitiveUGraph<TraversalState, Integer> h = BinaryGraphFormat.load(file, PrimitiveUGraph::new, null,
+				LabelCodec.ints());
+		assertTrue(h.adjacent(7, -5));
+		assertNull(h.get(7));
+		assertEquals(42, h.getEdgeLabel(7, -5).intValue());
+	}
+
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+		assertThrows(IOException.class, () -> BinaryGraphFormat.load(file, UGraph::new));
+	}
+}
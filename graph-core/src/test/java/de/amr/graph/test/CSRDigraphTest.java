@@ -0,0 +1,105 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.DirectedEdge;
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.impl.CSRDigraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.EdgeKeys;
+
+public class CSRDigraphTest {
+
+	private CSRDigraph<String, Integer> g;
+
+	@BeforeEach
+	public void setUp() {
+		// 0 -> 1 -> 2 -> 0, 2 -> 3, one-way 3 -> 4, duplicate 0 -> 1, isolated 6
+		g = CSRDigraph.<String, Integer>builder().edge(0, 1).edge(1, 2).edge(2, 0).edge(2, 3).edge(3, 4).edge(0, 1)
+				.vertex(6).build();
+	}
+
+	@Test
+	public void testTopology() {
+		assertEquals(6, g.numVertices());
+		assertEquals(5, g.numEdges());
+		assertTrue(g.adjacent(3, 4));
+		assertFalse(g.adjacent(4, 3));
+		assertEquals(2, g.outDegree(2));
+		assertEquals(1, g.inDegree(2));
+		assertEquals(0, g.degree(4));
+		assertEquals(1, g.inDegree(4));
+		assertArrayEquals(new int[] { 0, 3 }, g.adj(2).mapToInt(Integer::intValue).toArray());
+		assertArrayEquals(new int[] { 1 }, g.predecessors(2).toArray());
+		assertEquals(0, g.inDegree(6) + g.outDegree(6));
+		assertEquals(new DirectedEdge(2, 3), g.edge(2, 3).get());
+		assertFalse(g.edge(3, 2).isPresent());
+		assertThrows(IllegalStateException.class, () -> g.degree(5));
+		assertThrows(UnsupportedOperationException.class, () -> g.addEdge(4, 3));
+	}
+
+	@Test
+	public void testReversed() {
+		CSRDigraph<String, Integer> r = g.reversed();
+		assertSame(g, r.reversed());
+		assertEquals(g.numEdges(), r.numEdges());
+		Set<Edge> reversedEdges = g.edges().map(e -> new DirectedEdge(e.other(), e.either()))
+				.collect(Collectors.toSet());
+		assertEquals(reversedEdges, r.edges().collect(Collectors.toSet()));
+		assertTrue(r.adjacent(4, 3));
+		assertFalse(r.adjacent(3, 4));
+		g.vertices().forEach(v -> {
+			assertEquals(g.inDegree(v), r.outDegree(v));
+			assertArrayEquals(g.predecessors(v).toArray(), r.adj(v).mapToInt(Integer::intValue).toArray());
+		});
+		r.set(3, "shared");
+		assertEquals("shared", g.get(3));
+	}
+
+	@Test
+	public void testDirectedLabels() {
+		g.setEdgeLabel(0, 1, 5);
+		g.setEdgeLabel(1, 0, 7);
+		assertEquals(5, g.getEdgeLabel(0, 1).intValue());
+		assertEquals(7, g.getEdgeLabel(1, 0).intValue());
+		assertEquals(5, g.reversed().getEdgeLabel(1, 0).intValue());
+		g.reversed().setEdgeLabel(4, 3, 9);
+		assertEquals(9, g.getEdgeLabel(3, 4).intValue());
+		assertArrayEquals(new long[] { EdgeKeys.arcKey(0, 1), EdgeKeys.arcKey(1, 2) },
+				g.edgeKeys().limit(2).toArray());
+	}
+
+	@Test
+	public void testCopyOfUndirected() {
+		UGraph<Void, Void> u = new UGraph<>();
+		Random rnd = new Random(9);
+		for (int v = 0; v < 200; ++v) {
+			u.addVertex(v);
+		}
+		for (int i = 0; i < 500; ++i) {
+			int a = rnd.nextInt(200), b = rnd.nextInt(200);
+			if (a != b && !u.adjacent(a, b)) {
+				u.addEdge(a, b);
+			}
+		}
+		CSRDigraph<Void, Void> d = CSRDigraph.copyOf(u);
+		assertEquals(2 * u.numEdges(), d.numEdges());
+		u.vertices().forEach(v -> {
+			assertEquals(u.degree(v), d.outDegree(v));
+			assertEquals(u.degree(v), d.inDegree(v));
+		});
+		assertEquals(d.numEdges(), CSRDigraph.copyOf(d).numEdges());
+	}
+}
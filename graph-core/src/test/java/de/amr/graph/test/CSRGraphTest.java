@@ -0,0 +1,83 @@
+package de.amr.graph.test;
+
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.CSRGraph;
+import de.amr.graph.core.impl.UGraph;
+
+public class CSRGraphTest {
+
+	@Test
+	public void testEmptyGraph() {
+		CSRGraph<Void, Void> g = CSRGraph.<Void, Void>builder().build();
+		assertEquals(0, g.numVertices());
+		assertEquals(0, g.numEdges());
+		assertEquals(0, g.edges().count());
+	}
+
+	@Test
+	public void testCopyOfUGraph() {
+		UGraph<Void, Void> u = new UGraph<>();
+		for (int v = 0; v < 5; ++v) {
+			u.addVertex(v);
+		}
+		u.addEdge(0, 1);
+		u.addEdge(0, 2);
+		u.addEdge(3, 2);
+		CSRGraph<Void, Void> g = CSRGraph.copyOf(u);
+		assertEquals(5, g.numVertices());
+		assertEquals(3, g.numEdges());
+		assertEquals(3, g.edges().count());
+		assertTrue(g.adjacent(0, 1));
+		assertTrue(g.adjacent(1, 0));
+		assertTrue(g.adjacent(2, 3));
+		assertFalse(g.adjacent(1, 2));
+		assertEquals(2, g.degree(0));
+		assertEquals(0, g.degree(4));
+		assertEquals(List.of(0, 3), g.adj(2).collect(toList()));
+	}
+
+	@Test
+	public void testDuplicateEdgesAreRemoved() {
+		CSRGraph<Void, Void> g = CSRGraph.<Void, Void>builder()
+				.edges(LongStream.of(edgeKey(0, 1), edgeKey(1, 0), edgeKey(1, 2), edgeKey(2, 2), edgeKey(2, 2))).build();
+		assertEquals(3, g.numVertices());
+		assertEquals(3, g.numEdges());
+		assertEquals(1, g.degree(0));
+		assertEquals(2, g.degree(1));
+		assertEquals(2, g.degree(2));
+		assertTrue(g.adjacent(2, 2));
+	}
+
+	@Test
+	public void testSparseVertices() {
+		CSRGraph<Void, Void> g = CSRGraph.<Void, Void>builder().edge(2, 7).build();
+		assertEquals(2, g.numVertices());
+		assertTrue(g.containsVertex(7));
+		assertFalse(g.containsVertex(3));
+		assertThrows(IllegalStateException.class, () -> g.degree(3));
+	}
+
+	@Test
+	public void testImmutable() {
+		CSRGraph<Void, Void> g = CSRGraph.<Void, Void>builder().edge(0, 1).build();
+		assertThrows(UnsupportedOperationException.class, () -> g.addEdge(0, 1));
+		assertThrows(UnsupportedOperationException.class, () -> g.removeEdge(0, 1));
+		assertThrows(UnsupportedOperationException.class, () -> g.addVertex(2));
+	}
+
+	@Test
+	public void testNegativeVertexRejected() {
+		assertThrows(IllegalArgumentException.class, () -> CSRGraph.<Void, Void>builder().edge(-1, 0));
+	}
+}
@@ -0,0 +1,57 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.datastruct.ConcurrentIntPartition;
+import de.amr.datastruct.IntPartition;
+
+public class ConcurrentIntPartitionTest {
+
+	@Test
+	public void testUnion() {
+		ConcurrentIntPartition p = new ConcurrentIntPartition(3);
+		assertEquals(3, p.size());
+		assertTrue(p.union(2, 1));
+		assertFalse(p.union(1, 2));
+		assertTrue(p.sameSet(1, 2));
+		assertFalse(p.sameSet(0, 2));
+		assertEquals(1, p.find(2));
+		assertEquals(2, p.size());
+	}
+
+	@Test
+	public void testParallelUnions() {
+		int n = 200_000, m = 150_000;
+		Random rnd = new Random(3);
+		int[] us = rnd.ints(m, 0, n).toArray();
+		int[] vs = rnd.ints(m, 0, n).toArray();
+		IntPartition model = new IntPartition(n);
+		int merges = 0;
+		for (int i = 0; i < m; ++i) {
+			if (model.union(us[i], vs[i])) {
+				++merges;
+			}
+		}
+		ConcurrentIntPartition p = new ConcurrentIntPartition(n);
+		AtomicInteger successfulUnions = new AtomicInteger();
+		IntStream.range(0, m).parallel().forEach(i -> {
+			if (p.union(us[i], vs[i])) {
+				successfulUnions.incrementAndGet();
+			}
+		});
+		assertEquals(merges, successfulUnions.get());
+		assertEquals(model.size(), p.size());
+		IntStream.range(0, m).parallel().forEach(i -> assertTrue(p.sameSet(us[i], vs[i])));
+		for (int x = 1; x < n; x += 97) {
+			assertEquals(model.sameSet(0, x), p.sameSet(0, x));
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.ConcurrentUGraph;
+import de.amr.graph.core.impl.PrimitiveUGraph;
+
+public class ConcurrentUGraphTest {
+
+	@Test
+	public void testSingleThreaded() {
+		ConcurrentUGraph<String, Integer> g = new ConcurrentUGraph<>();
+		g.addVertex(1);
+		g.addVertex(2);
+		g.addEdge(1, 2, 7);
+		g.addEdge(2, 1);
+		g.addEdge(1, 1);
+		assertEquals(2, g.numEdges());
+		assertEquals(2, g.degree(1));
+		assertTrue(g.adjacent(2, 1));
+		assertEquals(7, g.getEdgeLabel(2, 1).intValue());
+		g.set(1, "one");
+		assertEquals("one", g.get(1));
+		g.removeVertex(1);
+		assertEquals(0, g.numEdges());
+		assertEquals(0, g.degree(2));
+		assertThrows(IllegalStateException.class, () -> g.addEdge(1, 2));
+	}
+
+	@Test
+	public void testParallelConstruction() {
+		int n = 10_000, m = 100_000;
+		Random rnd = new Random(1);
+		int[] us = rnd.ints(m, 0, n).toArray();
+		int[] vs = rnd.ints(m, 0, n).toArray();
+		PrimitiveUGraph<Void, Void> model = new PrimitiveUGraph<>(n, m);
+		IntStream.range(0, n).forEach(model::addVertex);
+		for (int i = 0; i < m; ++i) {
+			model.addEdge(us[i], vs[i]);
+		}
+		ConcurrentUGraph<Void, Void> g = new ConcurrentUGraph<>();
+		IntStream.range(0, n).parallel().forEach(g::addVertex);
+		IntStream.range(0, m).parallel().forEach(i -> g.addEdge(us[i], vs[i]));
+		assertEquals(model.numEdges(), g.numEdges());
+		assertEquals(model.numEdges(), g.edges().count());
+		IntStream.range(0, n).forEach(v -> assertEquals(model.degree(v), g.degree(v)));
+
+		IntStream.range(0, m / 2).parallel().forEach(i -> g.removeEdge(vs[i], us[i]));
+		for (int i = 0; i < m / 2; ++i) {
+			model.removeEdge(us[i], vs[i]);
+		}
+		assertEquals(model.numEdges(), g.numEdges());
+		for (int i = 0; i < m; ++i) {
+			assertEquals(model.adjacent(us[i], vs[i]), g.adjacent(us[i], vs[i]));
+		}
+		g.removeEdges();
+		assertEquals(0, g.numEdges());
+		assertFalse(g.adjacent(us[0], vs[0]));
+	}
+}
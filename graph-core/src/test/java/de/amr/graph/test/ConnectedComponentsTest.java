@@ -0,0 +1,76 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.PrimitiveUGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.ConnectedComponents;
+import de.amr.graph.util.GraphUtils;
+
+public class ConnectedComponentsTest {
+
+	@Test
+	public void testSmallGraph() {
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int v = 0; v < 8; ++v) {
+			if (v != 3) {
+				g.addVertex(v);
+			}
+		}
+		g.addEdge(7, 0);
+		g.addEdge(1, 2);
+		g.addEdge(2, 4);
+		g.addEdge(5, 5);
+		ConnectedComponents cc = GraphUtils.components(g);
+		assertEquals(4, cc.count());
+		assertFalse(cc.isConnected());
+		assertArrayEquals(new int[] { 0, 1, 1, -1, 1, 2, 3, 0 }, cc.componentIds());
+		assertArrayEquals(new int[] { 2, 3, 1, 1 }, cc.sizes());
+		assertEquals(3, cc.largestSize());
+		assertArrayEquals(new int[] { 1, 2, 4 }, cc.vertices(1).toArray());
+		assertThrows(IllegalStateException.class, () -> cc.componentOf(3));
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		Random rnd = new Random(5);
+		for (int round = 0; round < 5; ++round) {
+			int n = 20_000;
+			PrimitiveUGraph<Void, Void> g = new PrimitiveUGraph<>(n, n);
+			for (int v = 0; v < n; ++v) {
+				g.addVertex(v);
+			}
+			// one giant component and many small ones
+			for (int i = 0; i < n * (round + 2) / 4; ++i) {
+				int u = rnd.nextInt(n), v = rnd.nextInt(n);
+				g.addEdge(u, v);
+			}
+			ConnectedComponents sequential = GraphUtils.components(g);
+			ConnectedComponents parallel = GraphUtils.componentsParallel(g);
+			assertEquals(sequential.count(), parallel.count());
+			assertArrayEquals(sequential.componentIds(), parallel.componentIds());
+			assertArrayEquals(sequential.sizes(), parallel.sizes());
+		}
+	}
+
+	@Test
+	public void testEmptyAndConnected() {
+		UGraph<Void, Void> g = new UGraph<>();
+		assertEquals(0, GraphUtils.componentsParallel(g).count());
+		assertTrue(GraphUtils.components(g).isConnected());
+		g.addVertex(0);
+		g.addVertex(1);
+		g.addEdge(0, 1);
+		assertTrue(GraphUtils.componentsParallel(g).isConnected());
+		g.addVertex(-1);
+		assertThrows(IllegalArgumentException.class, () -> GraphUtils.components(g));
+	}
+}
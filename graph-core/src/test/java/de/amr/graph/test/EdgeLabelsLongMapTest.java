@@ -0,0 +1,78 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.datastruct.LongObjectHashMap;
+import de.amr.graph.core.impl.DoubleEdgeLabelsLongMap;
+import de.amr.graph.core.impl.EdgeLabelsLongMap;
+import de.amr.graph.core.impl.IntEdgeLabelsLongMap;
+
+public class EdgeLabelsLongMapTest {
+
+	@Test
+	public void testObjectLabels() {
+		EdgeLabelsLongMap<String> labels = new EdgeLabelsLongMap<>((u, v) -> "default");
+		assertEquals("default", labels.getEdgeLabel(1, 2));
+		labels.setEdgeLabel(1, 2, "a");
+		assertEquals("a", labels.getEdgeLabel(2, 1));
+		labels.setEdgeLabel(0, 0, "loop");
+		assertEquals("loop", labels.getEdgeLabel(0, 0));
+		labels.setEdgeLabel(1, 2, null);
+		assertNull(labels.getEdgeLabel(1, 2));
+		labels.clearEdgeLabels();
+		assertEquals("default", labels.getEdgeLabel(1, 2));
+	}
+
+	@Test
+	public void testIntLabels() {
+		IntEdgeLabelsLongMap labels = new IntEdgeLabelsLongMap(1);
+		assertEquals(1, labels.getIntEdgeLabel(3, 4));
+		labels.setIntEdgeLabel(4, 3, 7);
+		assertEquals(7, labels.getIntEdgeLabel(3, 4));
+		assertEquals(7, labels.getEdgeLabel(3, 4).intValue());
+		labels.setDefaultEdgeLabel((u, v) -> u + v);
+		assertEquals(11, labels.getIntEdgeLabel(5, 6));
+		assertEquals(7, labels.getIntEdgeLabel(3, 4));
+		labels.setIntEdgeLabel(5, 6, 2);
+		labels.setEdgeLabel(6, 5, null);
+		assertEquals(11, labels.getIntEdgeLabel(5, 6));
+	}
+
+	@Test
+	public void testDoubleLabels() {
+		DoubleEdgeLabelsLongMap labels = new DoubleEdgeLabelsLongMap(Double.POSITIVE_INFINITY);
+		assertEquals(Double.POSITIVE_INFINITY, labels.getDoubleEdgeLabel(-1, 4));
+		labels.setDoubleEdgeLabel(-1, 4, 0.5);
+		assertEquals(0.5, labels.getDoubleEdgeLabel(4, -1));
+		labels.setEdgeLabel(4, -1, null);
+		assertEquals(Double.POSITIVE_INFINITY, labels.getDoubleEdgeLabel(-1, 4));
+	}
+
+	@Test
+	public void testMapAgainstHashMap() {
+		LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+		Map<Long, Long> model = new HashMap<>();
+		Random rnd = new Random(7);
+		for (int i = 0; i < 100_000; ++i) {
+			long key = rnd.nextInt(2000) - 1000;
+			if (rnd.nextInt(3) == 0) {
+				map.remove(key);
+				model.remove(key);
+			} else {
+				map.put(key, key * 3);
+				model.put(key, key * 3);
+			}
+		}
+		assertEquals(model.size(), map.size());
+		for (long key = -1000; key < 1000; ++key) {
+			assertEquals(model.get(key), map.get(key));
+		}
+	}
+}
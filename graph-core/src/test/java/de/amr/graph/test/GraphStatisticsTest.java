@@ -0,0 +1,72 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.GraphStatistics;
+
+public class GraphStatisticsTest {
+
+	@Test
+	public void testSmallGraph() {
+		// star with center 0 and leaves 1..4, path 4-5-6, isolated 7
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int v = 0; v < 8; ++v) {
+			g.addVertex(v);
+		}
+		for (int v = 1; v <= 4; ++v) {
+			g.addEdge(0, v);
+		}
+		g.addEdge(4, 5);
+		g.addEdge(5, 6);
+		GraphStatistics stats = GraphStatistics.of(g);
+		assertEquals(8, stats.numVertices());
+		assertEquals(6, stats.numEdges());
+		assertArrayEquals(new int[] { 1, 4, 2, 0, 1 }, stats.degreeHistogram());
+		assertEquals(0, stats.minDegree());
+		assertEquals(4, stats.maxDegree());
+		assertEquals(1.5, stats.averageDegree());
+		assertEquals(1, stats.numIsolated());
+		assertEquals(4, stats.numDeadEnds());
+		assertEquals(1, stats.numJunctions());
+		assertEquals(12.0 / 56, stats.density(), 1e-12);
+		assertTrue(stats.report().contains("degree 4: 1"));
+	}
+
+	@Test
+	public void testEmptyGraph() {
+		GraphStatistics stats = GraphStatistics.of(new UGraph<>());
+		assertEquals(0, stats.numVertices());
+		assertEquals(0, stats.maxDegree());
+		assertEquals(0.0, stats.averageDegree());
+		assertEquals(0.0, stats.density());
+	}
+
+	@Test
+	public void testParallelReduction() {
+		UGraph<Void, Void> g = new UGraph<>();
+		int n = 50_000;
+		for (int v = 0; v < n; ++v) {
+			g.addVertex(v);
+		}
+		Random rnd = new Random(3);
+		for (int i = 0; i < 2 * n; ++i) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			if (u != v && !g.adjacent(u, v)) {
+				g.addEdge(u, v);
+			}
+		}
+		GraphStatistics stats = GraphStatistics.of(g);
+		int[] expected = new int[stats.maxDegree() + 1];
+		g.vertices().forEach(v -> expected[g.degree(v)] += 1);
+		assertArrayEquals(expected, stats.degreeHistogram());
+		assertEquals(n, stats.numVertices());
+		assertEquals(2.0 * g.numEdges() / n, stats.averageDegree(), 1e-9);
+	}
+}
@@ -0,0 +1,77 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.impl.DefaultMultigraph;
+import de.amr.graph.core.impl.IncidenceMultigraph;
+
+public class IncidenceMultigraphTest {
+
+	@Test
+	public void testEdgeIds() {
+		IncidenceMultigraph g = new IncidenceMultigraph();
+		g.addVertex(42);
+		g.addVertex(43);
+		int e1 = g.addEdge(42, 43);
+		int e2 = g.addEdge(43, 42);
+		int loop = g.addEdge(42, 42);
+		assertEquals(3, g.edgeCount());
+		assertEquals(3, g.degree(42));
+		assertEquals(2, g.degree(43));
+		assertEquals(2, g.edges(42, 43).count());
+		g.removeEdgeById(e1);
+		assertFalse(g.containsEdgeId(e1));
+		assertTrue(g.containsEdgeId(e2));
+		assertEquals(42, g.other(e2, 43));
+		assertEquals(42, g.edgeById(loop).other());
+		assertTrue(g.adjacent(42, 43));
+		g.removeEdgeById(e2);
+		assertFalse(g.adjacent(42, 43));
+		assertTrue(g.adjacent(42, 42));
+		assertEquals(1, g.degree(42));
+		assertThrows(IllegalArgumentException.class, () -> g.removeEdgeById(e2));
+		assertThrows(IllegalStateException.class, () -> g.degree(44));
+	}
+
+	@Test
+	public void testAgainstDefaultMultigraph() {
+		int n = 30;
+		IncidenceMultigraph g = new IncidenceMultigraph();
+		DefaultMultigraph model = new DefaultMultigraph();
+		for (int v = 0; v < n; ++v) {
+			g.addVertex(v);
+			model.addVertex(v);
+		}
+		Random rnd = new Random(5);
+		for (int i = 0; i < 5000; ++i) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			if (rnd.nextInt(3) == 0) {
+				g.removeEdge(u, v);
+				model.removeEdge(u, v);
+			} else {
+				g.addEdge(new UndirectedEdge(u, v));
+				model.addEdge(new UndirectedEdge(u, v));
+			}
+		}
+		assertEquals(model.edgeCount(), g.edgeCount());
+		assertEquals(model.edgeCount(), g.edgeStream().count());
+		for (int u = 0; u < n; ++u) {
+			assertEquals(model.degree(u), g.degree(u));
+			assertEquals(model.adjVertices(u).sorted().boxed().toList(), g.adjVertices(u).sorted().boxed().toList());
+			for (int v = 0; v < n; ++v) {
+				assertEquals(model.edges(u, v).count(), g.edges(u, v).count());
+			}
+		}
+		g.removeEdges();
+		assertEquals(0, g.edgeCount());
+		assertEquals(0, g.degree(0));
+	}
+}
@@ -0,0 +1,72 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.datastruct.IntPartition;
+import de.amr.datastruct.Partition;
+
+public class IntPartitionTest {
+
+	@Test
+	public void testEmptyPartition() {
+		IntPartition p = new IntPartition(0);
+		assertEquals(0, p.size());
+	}
+
+	@Test
+	public void testUnion() {
+		IntPartition p = new IntPartition(4, true);
+		assertEquals(4, p.size());
+		assertTrue(p.union(1, 2));
+		assertFalse(p.union(2, 1));
+		assertEquals(3, p.size());
+		assertEquals(2, p.setSize(1));
+		assertTrue(p.sameSet(1, 2));
+		assertNotEquals(p.find(1), p.find(3));
+		Set<Integer> elements = new HashSet<>();
+		p.forEachInSet(2, elements::add);
+		assertEquals(Set.of(1, 2), elements);
+		p.clear();
+		assertEquals(4, p.size());
+		assertFalse(p.sameSet(1, 2));
+	}
+
+	@Test
+	public void testListingDisabled() {
+		IntPartition p = new IntPartition(2);
+		assertThrows(IllegalStateException.class, () -> p.forEachInSet(0, x -> {
+		}));
+	}
+
+	@Test
+	public void testAgainstPartition() {
+		int n = 1000;
+		IntPartition p = new IntPartition(n, true);
+		Partition<Integer> model = new Partition<>();
+		for (int i = 0; i < n; ++i) {
+			model.makeSet(i);
+		}
+		Random rnd = new Random(11);
+		for (int i = 0; i < 800; ++i) {
+			int x = rnd.nextInt(n), y = rnd.nextInt(n);
+			assertEquals(model.union(x, y), p.union(x, y));
+		}
+		assertEquals(model.size(), p.size());
+		for (int x = 0; x < n; ++x) {
+			assertEquals(model.find(x).size(), p.setSize(x));
+			int[] count = { 0 };
+			p.forEachInSet(x, e -> count[0]++);
+			assertEquals(p.setSize(x), count[0]);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.MappedGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.io.BinaryGraphFormat;
+
+public class MappedGraphTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("graph", ".csr");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testSameTopologyAndWeights() throws IOException {
+		UGraph<Void, Double> g = new UGraph<>();
+		Random rnd = new Random(3);
+		for (int v = 0; v < 1000; ++v) {
+			if (v % 7 != 5) {
+				g.addVertex(v);
+			}
+		}
+		int[] vertices = g.vertices().toArray();
+		for (int i = 0; i < 5000; ++i) {
+			int u = vertices[rnd.nextInt(vertices.length)], v = vertices[rnd.nextInt(vertices.length)];
+			if (!g.adjacent(u, v)) {
+				g.addEdge(u, v, (double) i);
+			}
+		}
+		MappedGraph.write(g, file, Double::doubleValue);
+
+		MappedGraph<String, Void> m = MappedGraph.open(file);
+		assertTrue(m.hasWeights());
+		assertEquals(g.numVertices(), m.numVertices());
+		assertEquals(g.numEdges(), m.numEdges());
+		assertFalse(m.containsVertex(5));
+		assertFalse(m.containsVertex(1000));
+		g.vertices().forEach(v -> {
+			assertEquals(g.degree(v), m.degree(v));
+			assertEquals(g.adj(v).collect(Collectors.toSet()), m.adj(v).collect(Collectors.toSet()));
+		});
+		g.edges().forEach(edge -> {
+			int u = edge.either(), v = edge.other();
+			assertTrue(m.adjacent(v, u));
+			assertEquals(g.getEdgeLabel(u, v).doubleValue(), m.weight(v, u));
+		});
+		assertEquals(g.numEdges(), m.edges().count());
+		g.vertices().forEach(v -> m.forEachWeightedNeighbor(v,
+				(w, weight) -> assertEquals(g.getEdgeLabel(v, w).doubleValue(), weight)));
+		int u = vertices[0];
+		int notAdjacent = g.vertices().filter(v -> !g.adjacent(u, v)).findFirst().getAsInt();
+		assertEquals(Double.POSITIVE_INFINITY, m.weight(u, notAdjacent));
+		assertThrows(IllegalStateException.class, () -> m.degree(5));
+		assertThrows(UnsupportedOperationException.class, () -> m.addEdge(0, 1));
+		m.set(0, "labels stay on the heap");
+		assertEquals("labels stay on the heap", m.get(0));
+	}
+
+	@Test
+	public void testWithoutWeights() throws IOException {
+		UGraph<Void, Void> g = new UGraph<>();
+		g.addVertex(0);
+		g.addVertex(1);
+		g.addVertex(2);
+		g.addEdge(0, 1);
+		MappedGraph.write(g, file);
+		MappedGraph<Void, Void> m = MappedGraph.open(file);
+		assertFalse(m.hasWeights());
+		assertTrue(m.adjacent(1, 0));
+		assertEquals(0, m.degree(2));
+		assertThrows(IllegalStateException.class, () -> m.weight(0, 1));
+		assertThrows(IllegalStateException.class, () -> m.forEachWeightedNeighbor(0, (w, weight) -> {
+		}));
+	}
+
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		UGraph<Void, Void> g = new UGraph<>();
+		g.addVertex(0);
+		BinaryGraphFormat.save(g, file);
+		assertThrows(IOException.class, () -> MappedGraph.open(file));
+	}
+}
@@ -0,0 +1,104 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.datastruct.IndexedMinHeap;
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.impl.PrimitiveUGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.mst.BoruvkaMST;
+import de.amr.graph.mst.KruskalMST;
+import de.amr.graph.mst.MinimumSpanningForest;
+import de.amr.graph.mst.PrimMST;
+import de.amr.graph.mst.SpanningForest;
+import de.amr.graph.util.GraphUtils;
+
+public class MinimumSpanningForestTest {
+
+	private static final MinimumSpanningForest[] ALGORITHMS = { new KruskalMST(), new PrimMST(), new PrimMST(2),
+			new BoruvkaMST() };
+
+	@Test
+	public void testSmallGraph() {
+		UGraph<Void, Integer> g = new UGraph<>();
+		for (int v = 0; v < 6; ++v) {
+			g.addVertex(v);
+		}
+		g.addEdge(0, 1, 4);
+		g.addEdge(0, 2, 1);
+		g.addEdge(1, 2, 2);
+		g.addEdge(1, 3, 5);
+		g.addEdge(2, 3, 8);
+		g.addEdge(3, 3, 0);
+		g.addEdge(4, 5, -3);
+		for (MinimumSpanningForest algorithm : ALGORITHMS) {
+			SpanningForest forest = algorithm.compute(g);
+			assertEquals(4, forest.numEdges());
+			assertEquals(2, forest.numTrees());
+			assertEquals(5, forest.totalWeight());
+			Graph<Void, Double> tree = forest.toGraph();
+			assertEquals(6, tree.numVertices());
+			assertTrue(tree.adjacent(1, 3));
+			assertFalse(tree.adjacent(0, 1));
+			assertFalse(GraphUtils.containsCycle(tree));
+		}
+	}
+
+	@Test
+	public void testAlgorithmsAgree() {
+		Random rnd = new Random(17);
+		int n = 5000;
+		PrimitiveUGraph<Void, Double> g = new PrimitiveUGraph<>(n, 4 * n);
+		for (int v = 0; v < n; ++v) {
+			if (v % 100 != 99) {
+				g.addVertex(v);
+			}
+		}
+		for (int i = 0; i < 4 * n; ++i) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			if (g.containsVertex(u) && g.containsVertex(v)) {
+				// few distinct weights to create many ties
+				g.addEdge(u, v, (double) rnd.nextInt(20) - 5);
+			}
+		}
+		SpanningForest reference = new KruskalMST().compute(g);
+		assertEquals(GraphUtils.components(g).count(), reference.numTrees());
+		for (MinimumSpanningForest algorithm : ALGORITHMS) {
+			SpanningForest forest = algorithm.compute(g, EdgeWeight.labels(g));
+			assertEquals(reference.numEdges(), forest.numEdges());
+			assertEquals(reference.totalWeight(), forest.totalWeight(), 1e-9);
+			assertFalse(GraphUtils.containsCycle(forest.toGraph()));
+			forest.edges().forEach(edge -> assertEquals(g.getEdgeLabel(edge.either(), edge.other()), edge.weight()));
+		}
+	}
+
+	@Test
+	public void testIndexedHeap() {
+		Random rnd = new Random(1);
+		IndexedMinHeap heap = new IndexedMinHeap(1000, 3);
+		double[] keys = new double[1000];
+		for (int i = 0; i < 1000; ++i) {
+			keys[i] = rnd.nextDouble();
+			heap.insert(i, keys[i]);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			keys[i] /= 2;
+			heap.decreaseKey(i, keys[i]);
+		}
+		assertFalse(heap.insertOrDecrease(1, keys[1] + 1));
+		double last = Double.NEGATIVE_INFINITY;
+		while (!heap.isEmpty()) {
+			int item = heap.extractMin();
+			assertTrue(keys[item] >= last);
+			assertFalse(heap.contains(item));
+			last = keys[item];
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.ObservableGraph;
+import de.amr.graph.core.impl.ObservableUGraph;
+import de.amr.graph.event.EdgeEvent;
+import de.amr.graph.event.GraphBatchEvent;
+import de.amr.graph.event.GraphObserver;
+import de.amr.graph.event.VertexEvent;
+import de.amr.graph.util.EdgeKeys;
+
+public class ObservableUGraphTest {
+
+	private static class CountingObserver implements GraphObserver<Void, Void> {
+
+		int edgeEvents;
+		int graphEvents;
+
+		@Override
+		public void vertexChanged(VertexEvent<Void, Void> event) {
+		}
+
+		@Override
+		public void edgeChanged(EdgeEvent<Void, Void> event) {
+			edgeEvents++;
+		}
+
+		@Override
+		public void edgeAdded(EdgeEvent<Void, Void> event) {
+			edgeEvents++;
+		}
+
+		@Override
+		public void edgeRemoved(EdgeEvent<Void, Void> event) {
+			edgeEvents++;
+		}
+
+		@Override
+		public void graphChanged(ObservableGraph<Void, Void> graph) {
+			graphEvents++;
+		}
+	}
+
+	@Test
+	public void testBatchFallsBackToGraphChanged() {
+		ObservableUGraph<Void, Void> g = new ObservableUGraph<>();
+		CountingObserver observer = new CountingObserver();
+		g.addGraphObserver(observer);
+		g.batch(() -> {
+			for (int v = 0; v < 4; ++v) {
+				g.addVertex(v);
+			}
+		});
+		assertEquals(1, observer.graphEvents);
+		g.addEdges(new int[] { 0, 1, 2 }, new int[] { 1, 2, 3 });
+		assertEquals(2, observer.graphEvents);
+		assertEquals(0, observer.edgeEvents);
+		assertEquals(3, g.numEdges());
+		g.removeEdge(0, 1);
+		assertEquals(1, observer.edgeEvents);
+	}
+
+	@Test
+	public void testBatchChangeSet() {
+		ObservableUGraph<Void, Void> g = new ObservableUGraph<>();
+		g.addVertex(0);
+		g.addVertex(1);
+		List<Long> added = new ArrayList<>();
+		g.addGraphObserver(new CountingObserver() {
+
+			@Override
+			public void graphBatchChanged(GraphBatchEvent<Void, Void> event) {
+				event.getChanges().addedEdges().forEach(added::add);
+			}
+		});
+		g.batch(() -> g.batch(() -> g.addEdge(1, 0)));
+		assertEquals(List.of(EdgeKeys.arcKey(1, 0)), added);
+		assertTrue(g.adjacent(0, 1));
+	}
+
+	@Test
+	public void testBatchWithMissingVertexLeavesGraphUnchanged() {
+		ObservableUGraph<Void, Void> g = new ObservableUGraph<>();
+		for (int v = 0; v < 4; ++v) {
+			g.addVertex(v);
+		}
+		CountingObserver observer = new CountingObserver();
+		g.addGraphObserver(observer);
+		assertThrows(IllegalStateException.class, () -> g.addEdges(new int[] { 0, 1 }, new int[] { 1, 4 }));
+		assertEquals(0, g.numEdges());
+		g.addEdges(new int[] { 0, 1 }, new int[] { 1, 2 });
+		assertThrows(IllegalStateException.class, () -> g.removeEdges(new int[] { 0, 1 }, new int[] { 1, 4 }));
+		assertEquals(2, g.numEdges());
+		assertEquals(1, observer.graphEvents);
+		g.removeEdges(new int[] { 1, 2 }, new int[] { 0, 3 });
+		assertEquals(1, g.numEdges());
+		assertTrue(g.adjacent(1, 2));
+		assertEquals(2, observer.graphEvents);
+		assertEquals(0, observer.edgeEvents);
+	}
+}
@@ -0,0 +1,101 @@
+package de.amr.graph.test;
+
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.PrimitiveUGraph;
+
+public class PrimitiveUGraphTest {
+
+	private PrimitiveUGraph<Void, Void> g;
+
+	@BeforeEach
+	public void setUp() {
+		g = new PrimitiveUGraph<>();
+	}
+
+	@Test
+	public void testCreation() {
+		assertEquals(0, g.numVertices());
+		assertEquals(0, g.numEdges());
+	}
+
+	@Test
+	public void testAddRemoveEdge() {
+		g.addVertex(0);
+		g.addVertex(-5);
+		g.addEdge(0, -5);
+		g.addEdge(-5, 0);
+		assertEquals(1, g.numEdges());
+		assertTrue(g.adjacent(0, -5));
+		assertTrue(g.adjacent(-5, 0));
+		assertTrue(g.edge(0, -5).isPresent());
+		g.removeEdge(-5, 0);
+		assertEquals(0, g.numEdges());
+		assertFalse(g.adjacent(0, -5));
+		assertEquals(0, g.degree(0));
+	}
+
+	@Test
+	public void testLoop() {
+		g.addVertex(3);
+		g.addEdge(3, 3);
+		assertEquals(1, g.numEdges());
+		assertEquals(1, g.degree(3));
+		g.removeEdge(3, 3);
+		assertEquals(0, g.degree(3));
+	}
+
+	@Test
+	public void testRemoveVertexRemovesIncidentEdges() {
+		for (int v = 0; v < 4; ++v) {
+			g.addVertex(v);
+		}
+		g.addEdge(0, 1);
+		g.addEdge(0, 2);
+		g.addEdge(2, 3);
+		g.removeVertex(0);
+		assertEquals(3, g.numVertices());
+		assertEquals(1, g.numEdges());
+		assertEquals(0, g.degree(1));
+		assertThrows(IllegalStateException.class, () -> g.degree(0));
+	}
+
+	@Test
+	public void testRandomOperations() {
+		int n = 200;
+		Random rnd = new Random(42);
+		Set<Long> model = new HashSet<>();
+		for (int v = 0; v < n; ++v) {
+			g.addVertex(v);
+		}
+		for (int i = 0; i < 20_000; ++i) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			if (rnd.nextBoolean()) {
+				g.addEdge(u, v);
+				model.add(edgeKey(u, v));
+			} else {
+				g.removeEdge(u, v);
+				model.remove(edgeKey(u, v));
+			}
+		}
+		assertEquals(model.size(), g.numEdges());
+		assertEquals(model.size(), g.edges().count());
+		for (int u = 0; u < n; ++u) {
+			for (int v = 0; v < n; ++v) {
+				assertEquals(model.contains(edgeKey(u, v)), g.adjacent(u, v));
+			}
+		}
+		g.edges().forEach(e -> assertTrue(model.contains(edgeKey(e.either(), e.other()))));
+	}
+}
@@ -0,0 +1,71 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.SubgraphView;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.GraphUtils;
+
+public class SubgraphViewTest {
+
+	private UGraph<String, Integer> g;
+
+	@BeforeEach
+	public void setUp() {
+		// path 0-1-2-...-9 with edge labels = smaller vertex
+		g = new UGraph<>();
+		for (int v = 0; v < 10; ++v) {
+			g.addVertex(v);
+		}
+		for (int v = 0; v < 9; ++v) {
+			g.addEdge(v, v + 1, v);
+		}
+	}
+
+	@Test
+	public void testInducedByPredicate() {
+		SubgraphView<String, Integer> even = SubgraphView.induced(g, v -> v < 5);
+		assertEquals(5, even.numVertices());
+		assertEquals(4, even.numEdges());
+		assertFalse(even.containsVertex(5));
+		assertEquals(1, even.degree(4));
+		assertThrows(IllegalStateException.class, () -> even.adj(7));
+		assertThrows(UnsupportedOperationException.class, () -> even.addEdge(0, 2));
+		even.set(3, "shared");
+		assertEquals("shared", g.get(3));
+		g.removeEdge(1, 2);
+		assertEquals(2, GraphUtils.components(even).count());
+	}
+
+	@Test
+	public void testInducedByBitSet() {
+		BitSet vertices = new BitSet();
+		vertices.set(2, 6);
+		vertices.set(8);
+		SubgraphView<String, Integer> view = SubgraphView.induced(g, vertices);
+		assertEquals(5, view.numVertices());
+		assertEquals(3, view.edges().count());
+		assertEquals("[3, 5]", view.adj(4).sorted().collect(Collectors.toList()).toString());
+		assertFalse(view.adjacent(8, 5));
+	}
+
+	@Test
+	public void testEdgeFiltered() {
+		SubgraphView<String, Integer> cheap = SubgraphView.edgeFiltered(g, (u, v) -> g.getEdgeLabel(u, v) < 3);
+		assertEquals(10, cheap.numVertices());
+		assertEquals(3, cheap.numEdges());
+		assertTrue(cheap.adjacent(2, 1));
+		assertFalse(cheap.adjacent(3, 4));
+		assertFalse(cheap.edge(3, 4).isPresent());
+		assertEquals(7, GraphUtils.components(cheap).count());
+	}
+}
@@ -0,0 +1,165 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.impl.CSRGraph;
+import de.amr.graph.core.impl.IncidenceMultigraph;
+import de.amr.graph.core.impl.PrimitiveUGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.io.DimacsFormat;
+import de.amr.graph.io.EdgeListFormat;
+import de.amr.graph.io.EdgeSink;
+import de.amr.graph.io.MatrixMarketFormat;
+
+public class TextGraphFormatTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("graph", ".txt");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	private void write(String text) throws IOException {
+		Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private UGraph<Void, Double> randomGraph(int n, int m) {
+		UGraph<Void, Double> g = new UGraph<>();
+		for (int v = 0; v < n; ++v) {
+			g.addVertex(v);
+		}
+		Random rnd = new Random(11);
+		while (g.numEdges() < m) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			if (!g.adjacent(u, v)) {
+				g.addEdge(u, v, rnd.nextInt(4) == 0 ? rnd.nextInt(1000) : rnd.nextDouble() * 100);
+			}
+		}
+		return g;
+	}
+
+	@Test
+	public void testEdgeListRoundTrip() throws IOException {
+		UGraph<Void, Double> g = randomGraph(500, 2000);
+		EdgeListFormat.write(g, file, Double::doubleValue);
+		UGraph<Void, Double> h = new UGraph<>();
+		EdgeListFormat.read(file, EdgeSink.intoWeighted(h));
+		assertEquals(g.numEdges(), h.numEdges());
+		g.edges().forEach(edge -> assertEquals(g.getEdgeLabel(edge.either(), edge.other()),
+				h.getEdgeLabel(edge.either(), edge.other())));
+	}
+
+	@Test
+	public void testEdgeListParsing() throws IOException {
+		write("# comment\n% comment\n\n1\t2\r\n  2 3 -1.5e2 extra\n3 1 .25\n4 4 1E-3\n5 6 NaN\n7 8 123456789012345678901\n");
+		List<double[]> lines = new ArrayList<>();
+		EdgeListFormat.read(file, (u, v, w) -> lines.add(new double[] { u, v, w }));
+		assertEquals(6, lines.size());
+		assertTrue(Double.isNaN(lines.get(0)[2]));
+		assertEquals(-150, lines.get(1)[2]);
+		assertEquals(0.25, lines.get(2)[2]);
+		assertEquals(0.001, lines.get(3)[2]);
+		assertEquals(4, lines.get(3)[1]);
+		assertTrue(Double.isNaN(lines.get(4)[2]));
+		assertEquals(1.23456789012345678901e20, lines.get(5)[2]);
+		write("1 x\n");
+		IOException x = assertThrows(IOException.class, () -> EdgeListFormat.read(file, (u, v, w) -> {
+		}));
+		assertTrue(x.getMessage().startsWith("Line 1"));
+	}
+
+	@Test
+	public void testMultigraphKeepsParallelEdges() throws IOException {
+		write("0 1\n0 1\n1 1\n");
+		IncidenceMultigraph g = new IncidenceMultigraph();
+		EdgeListFormat.read(file, EdgeSink.into(g));
+		assertEquals(3, g.edgeCount());
+		EdgeListFormat.write(g, file);
+		IncidenceMultigraph h = new IncidenceMultigraph();
+		EdgeListFormat.read(file, EdgeSink.into(h));
+		assertEquals(3, h.edgeCount());
+	}
+
+	@Test
+	public void testDimacsRoundTrip() throws IOException {
+		UGraph<Void, Double> g = randomGraph(300, 1000);
+		g.addEdge(7, 7, 2.0);
+		g.addVertex(300);
+		DimacsFormat.write(g, file, Double::doubleValue);
+		PrimitiveUGraph<Void, Double> h = new PrimitiveUGraph<>();
+		DimacsFormat.read(file, EdgeSink.intoWeighted(h));
+		assertEquals(301, h.numVertices());
+		assertEquals(g.numEdges(), h.numEdges());
+		assertEquals(2.0, h.getEdgeLabel(7, 7).doubleValue());
+		g.edges().forEach(edge -> assertEquals(g.getEdgeLabel(edge.either(), edge.other()),
+				h.getEdgeLabel(edge.other(), edge.either())));
+	}
+
+	@Test
+	public void testDimacsIntoUGraphMergesArcs() throws IOException {
+		write("p sp 3 4\na 1 2 5\na 2 1 5\na 2 3 1.5\na 3 2 1.5\n");
+		UGraph<Void, Double> g = new UGraph<>();
+		DimacsFormat.read(file, EdgeSink.intoWeighted(g));
+		assertEquals(3, g.numVertices());
+		assertEquals(2, g.numEdges());
+		assertEquals(2, g.edges().count());
+		assertEquals(1.5, g.getEdgeLabel(2, 1).doubleValue());
+	}
+
+	@Test
+	public void testDimacsValidation() throws IOException {
+		write("c road network\np sp 3 2\na 1 2 5\na 2 4 1\n");
+		assertThrows(IOException.class, () -> DimacsFormat.read(file, (u, v, w) -> {
+		}));
+		write("a 1 2 5\n");
+		assertThrows(IOException.class, () -> DimacsFormat.read(file, (u, v, w) -> {
+		}));
+	}
+
+	@Test
+	public void testMatrixMarketRoundTrip() throws IOException {
+		UGraph<Void, Double> g = randomGraph(200, 800);
+		MatrixMarketFormat.write(g, file);
+		CSRGraph.Builder<Void, Void> builder = CSRGraph.builder();
+		MatrixMarketFormat.read(file, EdgeSink.into(builder));
+		CSRGraph<Void, Void> h = builder.build();
+		assertEquals(200, h.numVertices());
+		assertEquals(g.numEdges(), h.numEdges());
+		g.edges().forEach(edge -> assertTrue(h.adjacent(edge.either(), edge.other())));
+	}
+
+	@Test
+	public void testMatrixMarketHeader() throws IOException {
+		write("%%MatrixMarket matrix coordinate integer general\n% comment\n3 3 2\n1 2 7\n3 1 -2\n");
+		UGraph<Void, Double> g = new UGraph<>();
+		MatrixMarketFormat.read(file, EdgeSink.intoWeighted(g));
+		assertEquals(3, g.numVertices());
+		assertEquals(-2, g.getEdgeLabel(0, 2).doubleValue());
+		assertFalse(g.adjacent(1, 2));
+		write("%%MatrixMarket matrix array real general\n2 2\n1\n2\n3\n4\n");
+		assertThrows(IOException.class, () -> MatrixMarketFormat.read(file, EdgeSink.into(g)));
+		write("%%MatrixMarket matrix coordinate real symmetric\n3 3 2\n1 2 7\n");
+		assertThrows(IOException.class, () -> MatrixMarketFormat.read(file, EdgeSink.into(g)));
+	}
+}
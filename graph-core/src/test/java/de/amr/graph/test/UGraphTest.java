@@ -1,12 +1,14 @@
 package de.amr.graph.test;
 
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import de.amr.graph.core.api.Edge;
 import de.amr.graph.core.api.UndirectedEdge;
 import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.EdgeKeys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -74,4 +76,44 @@ public class UGraphTest {
 		assertEquals(42, edgeMap.get(e1).intValue());
 		assertEquals(42, edgeMap.get(e2).intValue());
 	}
+
+	@Test
+	public void testSnapshot() {
+		g.addVertex(0);
+		g.addVertex(1);
+		g.addVertex(2);
+		g.addEdge(0, 1);
+		UGraph<Void, Void> snapshot = g.snapshot();
+		g.addEdge(1, 2);
+		g.removeEdge(0, 1);
+		g.addVertex(3);
+		assertEquals(1, snapshot.numEdges());
+		assertEquals(3, snapshot.numVertices());
+		assertTrue(snapshot.adjacent(0, 1));
+		assertFalse(snapshot.adjacent(1, 2));
+		assertEquals(1, snapshot.degree(1));
+		assertFalse(g.adjacent(0, 1));
+		assertTrue(g.adjacent(1, 2));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge(0, 2));
+		g.removeEdges();
+		assertEquals(1, snapshot.edges().count());
+	}
+
+	@Test
+	public void testLazyEdgeStreams() {
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int v = -5; v < 1000; ++v) {
+			g.addVertex(v);
+		}
+		for (int v = -5; v < 999; ++v) {
+			g.addEdge(v + 1, v);
+		}
+		g.addEdge(3, 3);
+		assertEquals(g.numEdges(), g.edges().count());
+		assertEquals(g.numEdges(), g.edges().parallel().count());
+		long[] keys = g.edgeKeys().parallel().sorted().toArray();
+		assertEquals(g.numEdges(), keys.length);
+		assertEquals(g.numEdges(), Arrays.stream(keys).distinct().count());
+		assertEquals(EdgeKeys.edgeKey(-5, -4), keys[0]);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.datastruct.VersionedBitSet;
+
+public class VersionedBitSetTest {
+
+	@Test
+	public void testSetAndGet() {
+		VersionedBitSet bits = new VersionedBitSet(10_000);
+		assertFalse(bits.get(9999));
+		bits.set(9999, true);
+		bits.set(64, true);
+		assertTrue(bits.get(9999));
+		assertEquals(2, bits.cardinality());
+		assertEquals(64, bits.nextSetBit(0));
+		assertEquals(9999, bits.nextSetBit(65));
+		bits.set(64, false);
+		assertEquals(9999, bits.nextSetBit(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> bits.get(10_000));
+	}
+
+	@Test
+	public void testSnapshotsAgainstBitSet() {
+		int n = 20_000;
+		VersionedBitSet bits = new VersionedBitSet(n);
+		BitSet model = new BitSet(n);
+		Random rnd = new Random(17);
+		VersionedBitSet snapshot = null;
+		BitSet snapshotModel = null;
+		for (int round = 0; round < 20; ++round) {
+			for (int i = 0; i < 1000; ++i) {
+				int bit = rnd.nextInt(n);
+				boolean value = rnd.nextBoolean();
+				bits.set(bit, value);
+				model.set(bit, value);
+			}
+			if (snapshot != null) {
+				assertEquals(snapshotModel.cardinality(), snapshot.cardinality());
+				for (int bit = snapshotModel.nextSetBit(0), i = 0; i < 100 && bit != -1; bit = snapshotModel
+						.nextSetBit(bit + 1), ++i) {
+					assertEquals(bit, snapshot.nextSetBit(bit));
+				}
+			}
+			snapshot = bits.snapshot();
+			snapshotModel = (BitSet) model.clone();
+		}
+		assertEquals(model.cardinality(), bits.cardinality());
+		for (int bit = 0; bit < n; ++bit) {
+			assertEquals(model.get(bit), bits.get(bit));
+			assertEquals(snapshotModel.get(bit), snapshot.get(bit));
+		}
+		bits.clear();
+		assertEquals(0, bits.cardinality());
+		assertEquals(snapshotModel.cardinality(), snapshot.cardinality());
+		VersionedBitSet frozen = snapshot;
+		assertThrows(UnsupportedOperationException.class, () -> frozen.set(0, true));
+	}
+}
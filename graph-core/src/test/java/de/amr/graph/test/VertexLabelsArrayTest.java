@@ -0,0 +1,63 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.TraversalState;
+import de.amr.graph.core.impl.DoubleVertexLabelsArray;
+import de.amr.graph.core.impl.EnumVertexLabelsArray;
+import de.amr.graph.core.impl.IntVertexLabelsArray;
+import de.amr.graph.core.impl.VertexLabelsArray;
+
+public class VertexLabelsArrayTest {
+
+	@Test
+	public void testObjectLabels() {
+		VertexLabelsArray<String> labels = new VertexLabelsArray<>(10, v -> "d" + v);
+		assertEquals("d3", labels.get(3));
+		labels.set(3, "a");
+		assertEquals("a", labels.get(3));
+		labels.set(3, null);
+		assertNull(labels.get(3));
+		labels.clearVertexLabels();
+		assertEquals("d3", labels.get(3));
+	}
+
+	@Test
+	public void testIntLabels() {
+		IntVertexLabelsArray labels = new IntVertexLabelsArray(10, -1);
+		assertEquals(-1, labels.getInt(9));
+		labels.setInt(9, 42);
+		assertEquals(42, labels.get(9).intValue());
+		labels.setDefaultVertexLabel(v -> v);
+		assertEquals(42, labels.getInt(9));
+		assertEquals(5, labels.getInt(5));
+		labels.clearVertexLabels();
+		assertEquals(9, labels.getInt(9));
+	}
+
+	@Test
+	public void testDoubleLabels() {
+		DoubleVertexLabelsArray labels = new DoubleVertexLabelsArray(4, Double.POSITIVE_INFINITY);
+		assertEquals(Double.POSITIVE_INFINITY, labels.getDouble(0));
+		labels.setDouble(0, 0.25);
+		assertEquals(0.25, labels.get(0).doubleValue());
+	}
+
+	@Test
+	public void testEnumLabels() {
+		EnumVertexLabelsArray<TraversalState> labels = new EnumVertexLabelsArray<>(100, TraversalState.class,
+				v -> TraversalState.UNVISITED);
+		assertEquals(TraversalState.UNVISITED, labels.get(50));
+		for (TraversalState state : TraversalState.values()) {
+			labels.set(50, state);
+			assertEquals(state, labels.get(50));
+		}
+		labels.set(50, null);
+		assertNull(labels.get(50));
+		labels.clearVertexLabels();
+		assertEquals(TraversalState.UNVISITED, labels.get(50));
+	}
+}
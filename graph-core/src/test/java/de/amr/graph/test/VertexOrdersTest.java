@@ -0,0 +1,125 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.impl.CSRGraph;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.util.Permutation;
+import de.amr.graph.util.VertexOrders;
+
+public class VertexOrdersTest {
+
+	private static UGraph<Void, Void> shuffledPath(int n, long seed) {
+		int[] label = new int[n];
+		for (int i = 0; i < n; ++i) {
+			label[i] = i;
+		}
+		Random rnd = new Random(seed);
+		for (int i = n - 1; i > 0; --i) {
+			int j = rnd.nextInt(i + 1);
+			int tmp = label[i];
+			label[i] = label[j];
+			label[j] = tmp;
+		}
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int i = 0; i < n; ++i) {
+			g.addVertex(label[i]);
+		}
+		for (int i = 0; i + 1 < n; ++i) {
+			g.addEdge(label[i], label[i + 1]);
+		}
+		return g;
+	}
+
+	private static int bandwidth(Graph<?, ?> g, Permutation p) {
+		return g.edges().mapToInt(e -> Math.abs(p.toNew(e.either()) - p.toNew(e.other()))).max().orElse(0);
+	}
+
+	private static void assertValid(Graph<?, ?> g, Permutation p) {
+		assertEquals(g.numVertices(), p.size());
+		g.vertices().forEach(v -> assertEquals(v, p.toOld(p.toNew(v))));
+	}
+
+	@Test
+	public void testPermutation() {
+		Permutation p = Permutation.fromOrder(new int[] { 7, 2, 4 });
+		assertEquals(3, p.size());
+		assertEquals(0, p.toNew(7));
+		assertEquals(2, p.toNew(4));
+		assertEquals(2, p.toOld(1));
+		assertArrayEquals(new int[] { 4, 7 }, p.toOld(new int[] { 2, 0 }));
+		assertThrows(IllegalArgumentException.class, () -> p.toNew(3));
+		assertThrows(IllegalArgumentException.class, () -> Permutation.fromOrder(new int[] { 1, 2, 1 }));
+		assertThrows(IllegalArgumentException.class, () -> Permutation.fromOrder(new int[] { 0, -1 }));
+	}
+
+	@Test
+	public void testOrdersReduceBandwidth() {
+		UGraph<Void, Void> path = shuffledPath(1000, 42);
+		Permutation identity = Permutation.fromOrder(path.vertices().sorted().toArray());
+		assertTrue(bandwidth(path, identity) > 100);
+		Permutation rcm = VertexOrders.reverseCuthillMcKee(path);
+		assertValid(path, rcm);
+		assertEquals(1, bandwidth(path, rcm));
+		Permutation bfs = VertexOrders.breadthFirst(path);
+		assertValid(path, bfs);
+		assertTrue(bandwidth(path, bfs) <= 2);
+	}
+
+	@Test
+	public void testDisconnectedWithGaps() {
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int v : new int[] { 3, 5, 8, 10, 20, 21 }) {
+			g.addVertex(v);
+		}
+		g.addEdge(3, 10);
+		g.addEdge(10, 8);
+		g.addEdge(20, 21);
+		for (Permutation p : new Permutation[] { VertexOrders.breadthFirst(g), VertexOrders.reverseCuthillMcKee(g),
+				VertexOrders.degree(g) }) {
+			assertValid(g, p);
+		}
+		// components are numbered consecutively
+		Permutation bfs = VertexOrders.breadthFirst(g);
+		assertArrayEquals(new int[] { 3, 10, 8, 5, 20, 21 }, bfs.order());
+		assertThrows(IllegalArgumentException.class, () -> {
+			UGraph<Void, Void> negative = new UGraph<>();
+			negative.addVertex(-1);
+			VertexOrders.breadthFirst(negative);
+		});
+	}
+
+	@Test
+	public void testDegreeOrder() {
+		UGraph<Void, Void> g = new UGraph<>();
+		for (int v = 0; v < 6; ++v) {
+			g.addVertex(v);
+		}
+		for (int v = 0; v < 5; ++v) {
+			g.addEdge(5, v);
+		}
+		g.addEdge(0, 1);
+		Permutation p = VertexOrders.degree(g);
+		assertArrayEquals(new int[] { 5, 0, 1, 2, 3, 4 }, p.order());
+	}
+
+	@Test
+	public void testRenumberedCopy() {
+		UGraph<Void, Void> g = shuffledPath(200, 7);
+		g.addEdge(0, 199);
+		Permutation p = VertexOrders.reverseCuthillMcKee(g);
+		CSRGraph<Void, Void> csr = CSRGraph.copyOf(g, p);
+		assertEquals(g.numVertices(), csr.numVertices());
+		assertEquals(g.numEdges(), csr.numEdges());
+		g.edges().forEach(e -> assertTrue(csr.adjacent(p.toNew(e.either()), p.toNew(e.other()))));
+		csr.edges().forEach(e -> assertTrue(g.adjacent(p.toOld(e.either()), p.toOld(e.other()))));
+	}
+}
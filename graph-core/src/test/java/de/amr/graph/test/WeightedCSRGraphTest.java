@@ -0,0 +1,64 @@
+package de.amr.graph.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.EdgeWeight;
+import de.amr.graph.core.impl.UGraph;
+import de.amr.graph.core.impl.WeightedCSRGraph;
+import de.amr.graph.mst.KruskalMST;
+
+public class WeightedCSRGraphTest {
+
+	@Test
+	public void testWeightsAlignedWithNeighbors() {
+		WeightedCSRGraph<Void, Void> g = WeightedCSRGraph.<Void, Void>weightedBuilder().edge(2, 0, 1.5).edge(0, 1, 2.0)
+				.edge(1, 2, 0.5).edge(0, 1, 0.75).edge(3, 3, 4.0).vertex(5).build();
+		assertEquals(5, g.numVertices());
+		assertEquals(4, g.numEdges());
+		assertArrayEquals(new int[] { 1, 2 }, g.adj(0).mapToInt(Integer::intValue).toArray());
+		List<Double> weights = new ArrayList<>();
+		g.forEachWeightedNeighbor(0, (neighbor, weight) -> weights.add(weight));
+		// parallel edges {0, 1} are merged keeping the minimum weight
+		assertEquals(List.of(0.75, 1.5), weights);
+		assertEquals(0.75, g.weight(1, 0));
+		assertEquals(0.5, g.weight(2, 1));
+		assertEquals(4.0, g.weight(3, 3));
+		assertEquals(Double.POSITIVE_INFINITY, g.weight(0, 3));
+		assertEquals(1, g.degree(3));
+		assertEquals(0, g.degree(5));
+	}
+
+	@Test
+	public void testCopyOfLabeledGraph() {
+		UGraph<Void, Double> u = new UGraph<>();
+		Random rnd = new Random(17);
+		for (int v = 0; v < 300; ++v) {
+			u.addVertex(v);
+		}
+		for (int i = 0; i < 1200; ++i) {
+			int a = rnd.nextInt(300), b = rnd.nextInt(300);
+			if (a != b && !u.adjacent(a, b)) {
+				u.addEdge(a, b, rnd.nextDouble());
+			}
+		}
+		WeightedCSRGraph<Void, Void> g = WeightedCSRGraph.copyOf(u, EdgeWeight.labels(u));
+		assertEquals(u.numEdges(), g.numEdges());
+		u.vertices().forEach(v -> {
+			assertEquals(u.degree(v), g.degree(v));
+			g.forEachWeightedNeighbor(v, (w, weight) -> {
+				assertTrue(u.adjacent(v, w));
+				assertEquals(u.getEdgeLabel(v, w).doubleValue(), weight);
+			});
+		});
+		assertEquals(new KruskalMST().compute(u).totalWeight(), new KruskalMST().compute(g, g.edgeWeight()).totalWeight(),
+				1e-9);
+	}
+}
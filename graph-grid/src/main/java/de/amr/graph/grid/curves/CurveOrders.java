@@ -0,0 +1,66 @@
+package de.amr.graph.grid.curves;
+
+import de.amr.graph.grid.api.GridGraph2D;
+import de.amr.graph.grid.impl.Grid4Topology;
+import de.amr.graph.util.Permutation;
+
+/**
+ * Cell orders defined by space-filling curves. Numbering the cells of a grid along such a curve
+ * keeps cells which are close in the grid also close in memory, for example when the grid is
+ * copied into a compact representation using
+ * {@link de.amr.graph.core.impl.CSRGraph#copyOf(de.amr.graph.core.api.Graph, Permutation)}.
+ * 
+ * @author Armin Reichert
+ */
+public interface CurveOrders {
+
+	/**
+	 * Numbers the cells of the grid along a Hilbert curve. The curve covers the smallest square with a
+	 * power of 2 as side length containing the grid and starts at its upper right corner, cells of the
+	 * square outside of the grid are skipped.
+	 * 
+	 * @param grid a grid
+	 * @return permutation numbering the grid cells in Hilbert curve order
+	 */
+	static Permutation hilbert(GridGraph2D<?, ?> grid) {
+		int depth = 0;
+		while ((1 << depth) < Math.max(grid.numCols(), grid.numRows())) {
+			++depth;
+		}
+		return along(grid, new HilbertCurve(depth), (1 << depth) - 1, 0);
+	}
+
+	/**
+	 * Numbers the cells of the grid in the order they are visited by the given curve. The curve may
+	 * leave the grid, cells outside of the grid are skipped.
+	 * 
+	 * @param grid     a grid
+	 * @param curve    a curve which visits each grid cell exactly once
+	 * @param startCol start column of the curve, may lie outside of the grid
+	 * @param startRow start row of the curve, may lie outside of the grid
+	 * @return permutation numbering the grid cells in curve order
+	 */
+	static Permutation along(GridGraph2D<?, ?> grid, Curve curve, int startCol, int startRow) {
+		int[] order = new int[grid.numVertices()];
+		int count = 0;
+		int col = startCol, row = startRow;
+		if (grid.isValidCol(col) && grid.isValidRow(row)) {
+			order[count++] = grid.cell(col, row);
+		}
+		Grid4Topology top = Grid4Topology.get();
+		for (byte dir : curve) {
+			col += top.dx(dir);
+			row += top.dy(dir);
+			if (grid.isValidCol(col) && grid.isValidRow(row)) {
+				if (count == order.length) {
+					throw new IllegalArgumentException("Curve visits a grid cell more than once");
+				}
+				order[count++] = grid.cell(col, row);
+			}
+		}
+		if (count < order.length) {
+			throw new IllegalArgumentException("Curve does not visit all grid cells");
+		}
+		return Permutation.fromOrder(order);
+	}
+}
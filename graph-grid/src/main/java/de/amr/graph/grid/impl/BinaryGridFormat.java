@@ -0,0 +1,179 @@
+package de.amr.graph.grid.impl;
+
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+
+import de.amr.datastruct.VersionedBitSet;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.grid.api.GridTopology;
+import de.amr.graph.io.BinaryGraphFormat;
+import de.amr.graph.io.ChannelInput;
+import de.amr.graph.io.ChannelOutput;
+import de.amr.graph.io.LabelCodec;
+
+/**
+ * Binary file format for grid graphs (kind {@link BinaryGraphFormat#KIND_GRID}).
+ * <p>
+ * Instead of an edge list, the grid size, the number of directions of the topology and the words
+ * of the wire bit set are stored, so saving and loading the structure of a grid takes one
+ * {@code long} per 64 wires. The labels follow as described in {@link BinaryGraphFormat}, the vertex
+ * labels in cell order and the edge labels in the order of {@link GridGraph#edgeKeys()}.
+ * 
+ * @author Armin Reichert
+ */
+public interface BinaryGridFormat {
+
+	/**
+	 * Saves the grid structure without labels.
+	 * 
+	 * @param grid a grid
+	 * @param path file path
+	 * @throws IOException if writing fails
+	 */
+	static void save(GridGraph<?, ?> grid, Path path) throws IOException {
+		save(grid, path, null, null);
+	}
+
+	/**
+	 * Saves the grid.
+	 * 
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param grid        a grid
+	 * @param path        file path
+	 * @param vertexCodec codec for the vertex labels or {@code null} if vertex labels are not stored
+	 * @param edgeCodec   codec for the edge labels or {@code null} if edge labels are not stored
+	 * @throws IOException if writing fails
+	 */
+	static <V, E> void save(GridGraph<V, E> grid, Path path, LabelCodec<V> vertexCodec, LabelCodec<E> edgeCodec)
+			throws IOException {
+		VersionedBitSet wires = grid.wires();
+		try (ChannelOutput out = new ChannelOutput(path)) {
+			BinaryGraphFormat.writeHeader(out, BinaryGraphFormat.KIND_GRID, vertexCodec != null, edgeCodec != null);
+			out.writeInt(grid.numCols());
+			out.writeInt(grid.numRows());
+			out.writeByte(grid.getTopology().dirCount());
+			out.writeInt(wires.numWords());
+			for (int i = 0; i < wires.numWords(); ++i) {
+				out.writeLong(wires.word(i));
+			}
+			if (vertexCodec != null) {
+				for (int v = 0; v < grid.numVertices(); ++v) {
+					out.writeLabel(grid.get(v), vertexCodec);
+				}
+			}
+			if (edgeCodec != null) {
+				for (PrimitiveIterator.OfLong keys = grid.edgeKeys().iterator(); keys.hasNext();) {
+					long key = keys.nextLong();
+					out.writeLabel(grid.getEdgeLabel(either(key), other(key)), edgeCodec);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads a grid stored with {@link #save(GridGraph, Path, LabelCodec, LabelCodec)} into a new grid
+	 * with dense vertex labels.
+	 * 
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param path        file path
+	 * @param vertexCodec codec for the vertex labels or {@code null}
+	 * @param edgeCodec   codec for the edge labels or {@code null}
+	 * @return the loaded grid
+	 * @throws IOException if reading fails
+	 */
+	static <V, E> GridGraph<V, E> load(Path path, LabelCodec<V> vertexCodec, LabelCodec<E> edgeCodec)
+			throws IOException {
+		try (ChannelInput in = new ChannelInput(path)) {
+			byte flags = BinaryGraphFormat.readHeader(in, BinaryGraphFormat.KIND_GRID);
+			int numCols = in.readInt(), numRows = in.readInt();
+			GridTopology top = topology(in.readByte());
+			GridGraph<V, E> grid = new GridGraph<>(numCols, numRows, top,
+					GridFactory.denseVertexLabels(numCols * numRows, null), GridFactory.denseEdgeLabels(numCols, numRows, top, null),
+					UndirectedEdge::new);
+			readContent(in, flags, grid, vertexCodec, edgeCodec);
+			return grid;
+		}
+	}
+
+	/**
+	 * Loads the content of a grid stored with {@link #save(GridGraph, Path, LabelCodec, LabelCodec)}
+	 * into the given grid which must have the same size and topology. The labels of the grid are
+	 * cleared first, so labels not stored in the file or not decoded are default labels afterwards. An
+	 * observable grid fires a single graph change event.
+	 * 
+	 * @param <V>         vertex label type
+	 * @param <E>         edge label type
+	 * @param path        file path
+	 * @param grid        target grid
+	 * @param vertexCodec codec for the vertex labels or {@code null}
+	 * @param edgeCodec   codec for the edge labels or {@code null}
+	 * @throws IOException if reading fails or the grid does not match
+	 */
+	static <V, E> void load(Path path, GridGraph<V, E> grid, LabelCodec<V> vertexCodec, LabelCodec<E> edgeCodec)
+			throws IOException {
+		try (ChannelInput in = new ChannelInput(path)) {
+			byte flags = BinaryGraphFormat.readHeader(in, BinaryGraphFormat.KIND_GRID);
+			int numCols = in.readInt(), numRows = in.readInt();
+			GridTopology top = topology(in.readByte());
+			if (numCols != grid.numCols() || numRows != grid.numRows() || top != grid.getTopology()) {
+				throw new IOException(String.format("Stored grid (%d cols, %d rows, %s) does not match target grid", numCols,
+						numRows, top));
+			}
+			grid.getVertexLabeling().clearVertexLabels();
+			grid.getEdgeLabeling().clearEdgeLabels();
+			readContent(in, flags, grid, vertexCodec, edgeCodec);
+		}
+		if (grid instanceof ObservableGridGraph) {
+			ObservableGridGraph<V, E> observable = (ObservableGridGraph<V, E>) grid;
+			observable.fireGraphChange(observable);
+		}
+	}
+
+	private static GridTopology topology(byte dirCount) throws IOException {
+		switch (dirCount) {
+		case 4:
+			return Grid4Topology.get();
+		case 8:
+			return Grid8Topology.get();
+		default:
+			throw new IOException("Unsupported grid topology with direction count " + dirCount);
+		}
+	}
+
+	private static <V, E> void readContent(ChannelInput in, byte flags, GridGraph<V, E> grid,
+			LabelCodec<V> vertexCodec, LabelCodec<E> edgeCodec) throws IOException {
+		VersionedBitSet wires = grid.wires();
+		int numWords = in.readInt();
+		if (numWords != wires.numWords()) {
+			throw new IOException("Invalid number of wire words: " + numWords);
+		}
+		for (int i = 0; i < numWords; ++i) {
+			wires.setWord(i, in.readLong());
+		}
+		if ((flags & BinaryGraphFormat.FLAG_VERTEX_LABELS) != 0) {
+			for (int v = 0; v < grid.numVertices(); ++v) {
+				if (vertexCodec != null) {
+					grid.getVertexLabeling().set(v, in.readLabel(vertexCodec));
+				} else {
+					in.skipLabel();
+				}
+			}
+		}
+		if ((flags & BinaryGraphFormat.FLAG_EDGE_LABELS) != 0) {
+			for (PrimitiveIterator.OfLong keys = grid.edgeKeys().iterator(); keys.hasNext();) {
+				long key = keys.nextLong();
+				if (edgeCodec != null) {
+					grid.getEdgeLabeling().setEdgeLabel(either(key), other(key), in.readLabel(edgeCodec));
+				} else {
+					in.skipLabel();
+				}
+			}
+		}
+	}
+}
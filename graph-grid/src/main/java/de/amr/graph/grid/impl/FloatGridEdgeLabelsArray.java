@@ -0,0 +1,69 @@
+package de.amr.graph.grid.impl;
+
+import java.util.BitSet;
+import java.util.function.BiFunction;
+
+import de.amr.graph.core.api.DoubleEdgeLabeling;
+import de.amr.graph.grid.api.GridTopology;
+
+/**
+ * Edge labels implementation for grids with numeric labels stored as {@code float} values in an
+ * array indexed by the grid's dense edge index (see {@link GridEdgeIndex}). Uses half the memory of
+ * {@link DoubleGridEdgeLabelsArray} at the cost of precision.
+ * <p>
+ * Unlabeled positions hold the default label, so reading a label is a single array access. Changing
+ * the default label rewrites all unlabeled positions.
+ * 
+ * @author Armin Reichert
+ */
+public class FloatGridEdgeLabelsArray implements DoubleEdgeLabeling {
+
+	private final GridEdgeIndex index;
+	private final float[] labels;
+	private final BitSet labeled = new BitSet();
+	private BiFunction<Integer, Integer, Double> fnDefaultLabel;
+
+	public FloatGridEdgeLabelsArray(int numCols, int numRows, GridTopology top, float defaultLabel) {
+		this.index = new GridEdgeIndex(numCols, numRows, top);
+		this.labels = new float[index.size()];
+		setDefaultEdgeLabel((u, v) -> (double) defaultLabel);
+	}
+
+	private void fillUnlabeled() {
+		for (int i = labeled.nextClearBit(0); i < labels.length; i = labeled.nextClearBit(i + 1)) {
+			int v = index.other(i);
+			if (v != -1) {
+				labels[i] = fnDefaultLabel.apply(index.either(i), v).floatValue();
+			}
+		}
+	}
+
+	@Override
+	public double getDoubleEdgeLabel(int u, int v) {
+		return labels[index.index(u, v)];
+	}
+
+	@Override
+	public void setDoubleEdgeLabel(int u, int v, double label) {
+		int i = index.index(u, v);
+		labels[i] = (float) label;
+		labeled.set(i);
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		labeled.clear();
+		fillUnlabeled();
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, Double> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+		fillUnlabeled();
+	}
+
+	@Override
+	public Double getDefaultEdgeLabel(int u, int v) {
+		return fnDefaultLabel.apply(u, v);
+	}
+}
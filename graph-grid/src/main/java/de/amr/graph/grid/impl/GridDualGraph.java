@@ -0,0 +1,293 @@
+package de.amr.graph.grid.impl;
+
+import static de.amr.graph.grid.impl.Grid4Topology.E;
+import static de.amr.graph.grid.impl.Grid4Topology.N;
+import static de.amr.graph.grid.impl.Grid4Topology.S;
+import static de.amr.graph.grid.impl.Grid4Topology.W;
+import static de.amr.graph.util.EdgeKeys.edgeKey;
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Multigraph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.grid.api.GridGraph2D;
+
+/**
+ * Implicit dual graph of a grid with 4-neighborhood.
+ * <p>
+ * The cells of the grid are the corners of the unit squares ("faces") between them. Face
+ * <code>(col, row)</code> has the cells <code>(col, row)</code> and <code>(col + 1, row + 1)</code>
+ * as opposite corners and is numbered <code>row * (numCols - 1) + col</code>. The region outside of
+ * the grid is the outer face {@link #OUTER}. Each dual edge crosses exactly one side of a face, so a
+ * face at the grid border is connected to the outer face once per border side (parallel edges).
+ * <p>
+ * Nothing is stored: the faces and their adjacency are computed from the grid size. The dual of the
+ * full grid has a dual edge for each potential grid edge. The {@link #walls(GridGraph2D) wall graph}
+ * of a grid only has the dual edges crossing missing grid edges, for a maze these are the walls.
+ * The graph is read-only, modifying operations throw an {@link UnsupportedOperationException}.
+ * 
+ * @author Armin Reichert
+ */
+public class GridDualGraph implements Multigraph {
+
+	/** The outer face. */
+	public static final int OUTER = -1;
+
+	private final int numCols;
+	private final int numRows;
+	private final int faceCols;
+	private final int faceRows;
+	private final GridGraph2D<?, ?> grid;
+
+	/**
+	 * Creates the dual graph of the full grid of the given size.
+	 * 
+	 * @param numCols number of grid columns, at least 2
+	 * @param numRows number of grid rows, at least 2
+	 */
+	public GridDualGraph(int numCols, int numRows) {
+		this(numCols, numRows, null);
+	}
+
+	/**
+	 * Creates the wall graph of the given grid. Two faces are connected if the grid edge crossing
+	 * their common side is missing. If the grid is a perfect maze, its wall graph is a tree.
+	 * 
+	 * @param grid a grid with 4-neighborhood, the graph reflects later changes of the grid
+	 * @return wall graph of the grid
+	 */
+	public static GridDualGraph walls(GridGraph2D<?, ?> grid) {
+		if (grid.getTopology() != Grid4Topology.get()) {
+			throw new IllegalArgumentException("Dual graph requires grid with 4-neighborhood");
+		}
+		return new GridDualGraph(grid.numCols(), grid.numRows(), grid);
+	}
+
+	private GridDualGraph(int numCols, int numRows, GridGraph2D<?, ?> grid) {
+		if (numCols < 2 || numRows < 2) {
+			throw new IllegalArgumentException(
+					String.format("Dual graph requires at least 2 columns and rows, got %d x %d", numCols, numRows));
+		}
+		this.numCols = numCols;
+		this.numRows = numRows;
+		this.faceCols = numCols - 1;
+		this.faceRows = numRows - 1;
+		this.grid = grid;
+	}
+
+	private void checkFace(int face) {
+		if (face < OUTER || face >= numFaces()) {
+			throw new IllegalStateException("Vertex not in graph: " + face);
+		}
+	}
+
+	private UnsupportedOperationException readOnly() {
+		return new UnsupportedOperationException("Dual graph of grid cannot be modified");
+	}
+
+	/**
+	 * @return the number of inner faces
+	 */
+	public int numFaces() {
+		return faceCols * faceRows;
+	}
+
+	/**
+	 * @param col face column, <code>0 &lt;= col &lt; numCols - 1</code>
+	 * @param row face row, <code>0 &lt;= row &lt; numRows - 1</code>
+	 * @return the face with the given cell <code>(col, row)</code> as its upper left corner
+	 */
+	public int face(int col, int row) {
+		if (col < 0 || col >= faceCols || row < 0 || row >= faceRows) {
+			throw new IllegalArgumentException(String.format("Invalid face position (%d, %d)", col, row));
+		}
+		return row * faceCols + col;
+	}
+
+	/**
+	 * @param face an inner face
+	 * @param dir  a direction of the 4-neighborhood
+	 * @return the face on the other side of the given side of the face, maybe {@link #OUTER}
+	 */
+	private int neighborFace(int face, int dir) {
+		int col = face % faceCols, row = face / faceCols;
+		switch (dir) {
+		case N:
+			return row == 0 ? OUTER : face - faceCols;
+		case E:
+			return col == faceCols - 1 ? OUTER : face + 1;
+		case S:
+			return row == faceRows - 1 ? OUTER : face + faceCols;
+		default:
+			return col == 0 ? OUTER : face - 1;
+		}
+	}
+
+	/**
+	 * @param face an inner face
+	 * @param dir  a direction of the 4-neighborhood
+	 * @return if the given side of the face is crossed by a dual edge
+	 */
+	private boolean crossed(int face, int dir) {
+		if (grid == null) {
+			return true;
+		}
+		int col = face % faceCols, row = face / faceCols;
+		int upperLeft = row * numCols + col;
+		switch (dir) {
+		case N:
+			return !grid.isConnected(upperLeft, E);
+		case E:
+			return !grid.isConnected(upperLeft + 1, S);
+		case S:
+			return !grid.isConnected(upperLeft + numCols, E);
+		default:
+			return !grid.isConnected(upperLeft, S);
+		}
+	}
+
+	/**
+	 * Performs the given action for each neighbor of the given face. A neighbor connected by parallel
+	 * edges is visited once per edge.
+	 * 
+	 * @param face   a face
+	 * @param action action performed for each neighbor
+	 */
+	public void forEachNeighbor(int face, IntConsumer action) {
+		checkFace(face);
+		if (face != OUTER) {
+			for (byte dir = 0; dir < 4; ++dir) {
+				if (crossed(face, dir)) {
+					action.accept(neighborFace(face, dir));
+				}
+			}
+			return;
+		}
+		int lastRow = (faceRows - 1) * faceCols;
+		for (int col = 0; col < faceCols; ++col) {
+			if (crossed(col, N)) {
+				action.accept(col);
+			}
+			if (crossed(lastRow + col, S)) {
+				action.accept(lastRow + col);
+			}
+		}
+		for (int row = 0; row < faceRows; ++row) {
+			int first = row * faceCols, last = first + faceCols - 1;
+			if (crossed(first, W)) {
+				action.accept(first);
+			}
+			if (crossed(last, E)) {
+				action.accept(last);
+			}
+		}
+	}
+
+	/**
+	 * Streams the edges as packed keys (see {@link de.amr.graph.util.EdgeKeys#edgeKey(int, int)}).
+	 * Parallel edges produce equal keys.
+	 * 
+	 * @return stream of the edge keys of this graph
+	 */
+	public LongStream edgeKeys() {
+		return IntStream.range(0, numFaces()).boxed().flatMapToLong(face -> {
+			LongStream.Builder keys = LongStream.builder();
+			for (byte dir = 0; dir < 4; ++dir) {
+				int neighbor = neighborFace(face, dir);
+				// inner edges are emitted from the smaller face
+				if ((neighbor == OUTER || neighbor > face) && crossed(face, dir)) {
+					keys.add(edgeKey(face, neighbor));
+				}
+			}
+			return keys.build();
+		});
+	}
+
+	@Override
+	public IntStream vertexStream() {
+		return IntStream.range(OUTER, numFaces());
+	}
+
+	@Override
+	public int vertexCount() {
+		return numFaces() + 1;
+	}
+
+	@Override
+	public Stream<Edge> edgeStream() {
+		return edgeKeys().mapToObj(key -> new UndirectedEdge(either(key), other(key)));
+	}
+
+	@Override
+	public int edgeCount() {
+		int gridEdges = faceCols * numRows + numCols * faceRows;
+		return grid == null ? gridEdges : gridEdges - grid.numEdges();
+	}
+
+	@Override
+	public void addVertex(int vertex) {
+		throw readOnly();
+	}
+
+	@Override
+	public void addEdge(Edge edge) {
+		throw readOnly();
+	}
+
+	@Override
+	public Stream<Edge> edges(int v, int w) {
+		checkFace(w);
+		IntStream.Builder matches = IntStream.builder();
+		forEachNeighbor(v, x -> {
+			if (x == w) {
+				matches.add(x);
+			}
+		});
+		return matches.build().mapToObj(x -> new UndirectedEdge(v, w));
+	}
+
+	@Override
+	public void removeEdge(int u, int v) {
+		throw readOnly();
+	}
+
+	@Override
+	public void removeEdges() {
+		throw readOnly();
+	}
+
+	@Override
+	public IntStream adjVertices(int v) {
+		IntStream.Builder neighbors = IntStream.builder();
+		forEachNeighbor(v, neighbors::add);
+		return neighbors.build();
+	}
+
+	@Override
+	public boolean adjacent(int v, int w) {
+		checkFace(w);
+		if (v != OUTER) {
+			checkFace(v);
+			for (byte dir = 0; dir < 4; ++dir) {
+				if (neighborFace(v, dir) == w && crossed(v, dir)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return w != OUTER && adjacent(w, OUTER);
+	}
+
+	@Override
+	public int degree(int v) {
+		int[] degree = { 0 };
+		forEachNeighbor(v, w -> ++degree[0]);
+		return degree[0];
+	}
+}
@@ -0,0 +1,118 @@
+package de.amr.graph.grid.impl;
+
+import java.util.Arrays;
+
+import de.amr.graph.grid.api.GridTopology;
+
+/**
+ * Dense index of the potential edges of a grid.
+ * <p>
+ * Each edge is stored at the wire of its smaller cell. From the smaller cell, the other cell lies in
+ * one of the "forward" directions (east or somewhere south), so only half of the directions are
+ * needed and the index of edge <code>{u, v}</code> with <code>u &lt; v</code> is
+ * <code>u * forwardDirCount + forwardIndex(dir(u, v))</code>.
+ *
+ * @author Armin Reichert
+ */
+public final class GridEdgeIndex {
+
+	private final int numCols;
+	private final int numRows;
+	private final GridTopology top;
+	private final byte[] forwardDirs;
+	private final int[] forwardIndex; // indexed by (dx + 1) * 3 + (dy + 1)
+
+	/**
+	 * @param numCols number of grid columns
+	 * @param numRows number of grid rows
+	 * @param top     grid topology
+	 */
+	public GridEdgeIndex(int numCols, int numRows, GridTopology top) {
+		this.numCols = numCols;
+		this.numRows = numRows;
+		this.top = top;
+		forwardIndex = new int[9];
+		Arrays.fill(forwardIndex, -1);
+		byte[] dirs = new byte[top.dirCount()];
+		int count = 0;
+		for (byte dir = 0; dir < top.dirCount(); ++dir) {
+			int dx = top.dx(dir), dy = top.dy(dir);
+			if (dy > 0 || dy == 0 && dx > 0) {
+				forwardIndex[(dx + 1) * 3 + (dy + 1)] = count;
+				dirs[count++] = dir;
+			}
+		}
+		forwardDirs = Arrays.copyOf(dirs, count);
+	}
+
+	/**
+	 * @return the number of index positions
+	 */
+	public int size() {
+		return numCols * numRows * forwardDirs.length;
+	}
+
+	/**
+	 * @return the number of grid columns
+	 */
+	public int numCols() {
+		return numCols;
+	}
+
+	/**
+	 * @return the number of grid rows
+	 */
+	public int numRows() {
+		return numRows;
+	}
+
+	/**
+	 * @return the grid topology
+	 */
+	public GridTopology getTopology() {
+		return top;
+	}
+
+	/**
+	 * @param u either cell
+	 * @param v other cell
+	 * @return the index position of edge <code>{u, v}</code>
+	 * @throws IllegalArgumentException if the cells are no grid neighbors
+	 */
+	public int index(int u, int v) {
+		if (u > v) {
+			int tmp = u;
+			u = v;
+			v = tmp;
+		}
+		if (u < 0 || v >= numCols * numRows) {
+			throw new IllegalArgumentException(String.format("Invalid grid edge {%d, %d}", u, v));
+		}
+		int dx = v % numCols - u % numCols, dy = v / numCols - u / numCols;
+		int i = dx >= -1 && dx <= 1 && dy >= -1 && dy <= 1 ? forwardIndex[(dx + 1) * 3 + (dy + 1)] : -1;
+		if (i == -1) {
+			throw new IllegalArgumentException(String.format("Cells %d and %d are no grid neighbors", u, v));
+		}
+		return u * forwardDirs.length + i;
+	}
+
+	/**
+	 * @param index an index position
+	 * @return the smaller cell of the edge at this position
+	 */
+	public int either(int index) {
+		return index / forwardDirs.length;
+	}
+
+	/**
+	 * @param index an index position
+	 * @return the larger cell of the edge at this position or -1 if the position denotes no grid edge
+	 *         (at the grid border)
+	 */
+	public int other(int index) {
+		int u = index / forwardDirs.length;
+		byte dir = forwardDirs[index % forwardDirs.length];
+		int col = u % numCols + top.dx(dir), row = u / numCols + top.dy(dir);
+		return 0 <= col && col < numCols && row < numRows ? row * numCols + col : -1;
+	}
+}
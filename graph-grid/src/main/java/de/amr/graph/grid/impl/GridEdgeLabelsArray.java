@@ -0,0 +1,62 @@
+package de.amr.graph.grid.impl;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.grid.api.GridTopology;
+
+/**
+ * Edge labels implementation for grids storing the labels in an array indexed by the grid's dense
+ * edge index (see {@link GridEdgeIndex}). Label access needs no hashing and the memory footprint
+ * only depends on the grid size.
+ * 
+ * @author Armin Reichert
+ *
+ * @param <E> edge label type
+ */
+public class GridEdgeLabelsArray<E> implements EdgeLabeling<E> {
+
+	// stands for an explicit null label
+	private static final Object NULL = new Object();
+
+	private final GridEdgeIndex index;
+	private final Object[] labels;
+	private BiFunction<Integer, Integer, E> fnDefaultLabel;
+
+	public GridEdgeLabelsArray(int numCols, int numRows, GridTopology top, BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.index = new GridEdgeIndex(numCols, numRows, top);
+		this.labels = new Object[index.size()];
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public E getEdgeLabel(int u, int v) {
+		Object label = labels[index.index(u, v)];
+		if (label == null) {
+			return fnDefaultLabel.apply(u, v);
+		}
+		return label == NULL ? null : (E) label;
+	}
+
+	@Override
+	public void setEdgeLabel(int u, int v, E e) {
+		labels[index.index(u, v)] = e != null ? e : NULL;
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		Arrays.fill(labels, null);
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+	}
+
+	@Override
+	public E getDefaultEdgeLabel(int u, int v) {
+		return fnDefaultLabel.apply(u, v);
+	}
+}
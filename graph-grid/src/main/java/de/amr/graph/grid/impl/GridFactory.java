@@ -1,6 +1,14 @@
 package de.amr.graph.grid.impl;
 
+import de.amr.graph.core.api.EdgeLabeling;
 import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+import de.amr.graph.core.impl.DoubleVertexLabelsArray;
+import de.amr.graph.core.impl.EdgeLabelsLongMap;
+import de.amr.graph.core.impl.EnumVertexLabelsArray;
+import de.amr.graph.core.impl.IntVertexLabelsArray;
+import de.amr.graph.core.impl.VertexLabelsArray;
+import de.amr.graph.core.impl.VertexLabelsMap;
 import de.amr.graph.grid.api.GridTopology;
 
 /**
@@ -12,29 +20,96 @@ public interface GridFactory {
 
 	static <V, E> GridGraph<V, E> fullGrid(int numCols, int numRows, GridTopology top, V defaultVertexLabel,
 			E defaultEdgeLabel) {
-		GridGraph<V, E> g = new GridGraph<>(numCols, numRows, top, v -> defaultVertexLabel, (u, v) -> defaultEdgeLabel,
-				UndirectedEdge::new);
+		GridGraph<V, E> g = new GridGraph<>(numCols, numRows, top, denseVertexLabels(numCols * numRows, defaultVertexLabel),
+				new EdgeLabelsLongMap<>((u, v) -> defaultEdgeLabel), UndirectedEdge::new);
 		g.fill();
 		return g;
 	}
 
 	static <V, E> GridGraph<V, E> emptyGrid(int numCols, int numRows, GridTopology top, V defaultVertexLabel,
 			E defaultEdgeLabel) {
-		return new GridGraph<>(numCols, numRows, top, v -> defaultVertexLabel, (u, v) -> defaultEdgeLabel,
-				UndirectedEdge::new);
+		return new GridGraph<>(numCols, numRows, top, denseVertexLabels(numCols * numRows, defaultVertexLabel),
+				new EdgeLabelsLongMap<>((u, v) -> defaultEdgeLabel), UndirectedEdge::new);
 	}
 
 	static <V, E> ObservableGridGraph<V, E> fullObservableGrid(int numCols, int numRows, GridTopology top,
 			V defaultVertexLabel, E defaultEdgeLabel) {
-		ObservableGridGraph<V, E> g = new ObservableGridGraph<>(numCols, numRows, top, v -> defaultVertexLabel,
-				(u, v) -> defaultEdgeLabel, UndirectedEdge::new);
+		ObservableGridGraph<V, E> g = new ObservableGridGraph<>(numCols, numRows, top,
+				denseVertexLabels(numCols * numRows, defaultVertexLabel), new EdgeLabelsLongMap<>((u, v) -> defaultEdgeLabel),
+				UndirectedEdge::new);
 		g.fill();
 		return g;
 	}
 
 	static <V, E> ObservableGridGraph<V, E> emptyObservableGrid(int numCols, int numRows, GridTopology top,
 			V defaultVertexLabel, E defaultEdgeLabel) {
-		return new ObservableGridGraph<>(numCols, numRows, top, v -> defaultVertexLabel, (u, v) -> defaultEdgeLabel,
+		return new ObservableGridGraph<>(numCols, numRows, top, denseVertexLabels(numCols * numRows, defaultVertexLabel),
+				new EdgeLabelsLongMap<>((u, v) -> defaultEdgeLabel), UndirectedEdge::new);
+	}
+
+	/* Grids with selected label storage */
+
+	static <V, E> GridGraph<V, E> fullGridWithLabeling(int numCols, int numRows, GridTopology top,
+			VertexLabeling<V> vertexLabels, EdgeLabeling<E> edgeLabels) {
+		GridGraph<V, E> g = new GridGraph<>(numCols, numRows, top, vertexLabels, edgeLabels, UndirectedEdge::new);
+		g.fill();
+		return g;
+	}
+
+	static <V, E> GridGraph<V, E> emptyGridWithLabeling(int numCols, int numRows, GridTopology top,
+			VertexLabeling<V> vertexLabels, EdgeLabeling<E> edgeLabels) {
+		return new GridGraph<>(numCols, numRows, top, vertexLabels, edgeLabels, UndirectedEdge::new);
+	}
+
+	static <V, E> ObservableGridGraph<V, E> fullObservableGridWithLabeling(int numCols, int numRows, GridTopology top,
+			VertexLabeling<V> vertexLabels, EdgeLabeling<E> edgeLabels) {
+		ObservableGridGraph<V, E> g = new ObservableGridGraph<>(numCols, numRows, top, vertexLabels, edgeLabels,
 				UndirectedEdge::new);
+		g.fill();
+		return g;
+	}
+
+	static <V, E> ObservableGridGraph<V, E> emptyObservableGridWithLabeling(int numCols, int numRows, GridTopology top,
+			VertexLabeling<V> vertexLabels, EdgeLabeling<E> edgeLabels) {
+		return new ObservableGridGraph<>(numCols, numRows, top, vertexLabels, edgeLabels, UndirectedEdge::new);
+	}
+
+	/* Label storage */
+
+	static <V> VertexLabeling<V> sparseVertexLabels(V defaultLabel) {
+		return new VertexLabelsMap<>(v -> defaultLabel);
+	}
+
+	static <V> VertexLabeling<V> denseVertexLabels(int numCells, V defaultLabel) {
+		return new VertexLabelsArray<>(numCells, v -> defaultLabel);
+	}
+
+	static <V extends Enum<V>> VertexLabeling<V> enumVertexLabels(int numCells, Class<V> enumType, V defaultLabel) {
+		return new EnumVertexLabelsArray<>(numCells, enumType, v -> defaultLabel);
+	}
+
+	static IntVertexLabelsArray intVertexLabels(int numCells, int defaultLabel) {
+		return new IntVertexLabelsArray(numCells, defaultLabel);
+	}
+
+	static DoubleVertexLabelsArray doubleVertexLabels(int numCells, double defaultLabel) {
+		return new DoubleVertexLabelsArray(numCells, defaultLabel);
+	}
+
+	static <E> EdgeLabeling<E> denseEdgeLabels(int numCols, int numRows, GridTopology top, E defaultLabel) {
+		return new GridEdgeLabelsArray<>(numCols, numRows, top, (u, v) -> defaultLabel);
+	}
+
+	static IntGridEdgeLabelsArray intEdgeLabels(int numCols, int numRows, GridTopology top, int defaultLabel) {
+		return new IntGridEdgeLabelsArray(numCols, numRows, top, defaultLabel);
+	}
+
+	static FloatGridEdgeLabelsArray floatEdgeLabels(int numCols, int numRows, GridTopology top, float defaultLabel) {
+		return new FloatGridEdgeLabelsArray(numCols, numRows, top, defaultLabel);
+	}
+
+	static DoubleGridEdgeLabelsArray doubleEdgeLabels(int numCols, int numRows, GridTopology top,
+			double defaultLabel) {
+		return new DoubleGridEdgeLabelsArray(numCols, numRows, top, defaultLabel);
 	}
 }
\ No newline at end of file
@@ -1,20 +1,27 @@
 package de.amr.graph.grid.impl;
 
+import static de.amr.graph.util.EdgeKeys.arcKey;
+import static de.amr.graph.util.EdgeKeys.either;
+import static de.amr.graph.util.EdgeKeys.other;
 import static java.util.stream.IntStream.range;
 
-import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import de.amr.datastruct.VersionedBitSet;
 import de.amr.graph.core.api.Edge;
 import de.amr.graph.core.api.EdgeLabeling;
 import de.amr.graph.core.api.VertexLabeling;
-import de.amr.graph.core.impl.EdgeLabelsMap;
+import de.amr.graph.core.impl.EdgeLabelsLongMap;
 import de.amr.graph.core.impl.VertexLabelsMap;
 import de.amr.graph.grid.api.GridGraph2D;
 import de.amr.graph.grid.api.GridPosition;
@@ -22,6 +29,9 @@ import de.amr.graph.grid.api.GridTopology;
 
 /**
  * An implementation of the {@link GridGraph2D} interface.
+ * <p>
+ * The edges are stored as bits in a {@link VersionedBitSet}, so {@link #snapshot()} can create an
+ * immutable version of the grid structure without copying it.
  * 
  * @author Armin Reichert
  * 
@@ -36,7 +46,7 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 	private final VertexLabeling<V> vertexLabeling;
 	private final EdgeLabeling<E> edgeLabeling;
 	private final GridTopology top;
-	private final BitSet wires;
+	private final VersionedBitSet wires;
 
 	// helper methods
 
@@ -60,6 +70,64 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 		return cell * top.dirCount() + dir;
 	}
 
+	private void checkMutable() {
+		if (wires.isSnapshot()) {
+			throw new UnsupportedOperationException("Cannot modify grid graph snapshot");
+		}
+	}
+
+	/**
+	 * @return the direction from cell <code>u</code> to neighbor cell <code>v</code> or -1 if the
+	 *         cells are no grid neighbors
+	 */
+	private int dirBetween(int u, int v) {
+		int dx = v % numCols - u % numCols, dy = v / numCols - u / numCols;
+		for (int dir = 0; dir < top.dirCount(); ++dir) {
+			if (top.dx(dir) == dx && top.dy(dir) == dy) {
+				return dir;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Validates a batch of edges before any wire is changed.
+	 * 
+	 * @param us      either cells of the edges
+	 * @param vs      other cells of the edges
+	 * @param present if the edges must exist (removal) or must not exist (addition)
+	 * @return the direction from <code>us[i]</code> to <code>vs[i]</code> for each edge
+	 */
+	private int[] checkEdgeBatch(int[] us, int[] vs, boolean present) {
+		if (us.length != vs.length) {
+			throw new IllegalArgumentException("Cell arrays must have equal length");
+		}
+		int[] dirs = new int[us.length];
+		BitSet claimed = new BitSet();
+		for (int i = 0; i < us.length; ++i) {
+			int u = us[i], v = vs[i];
+			checkCell(u);
+			checkCell(v);
+			int dir = dirBetween(u, v);
+			if (dir == -1) {
+				throw new IllegalStateException(String.format("Cells %d and %d are no grid neighbors.", u, v));
+			}
+			// an edge occurring twice in the batch would be added or removed twice, so an edge claimed by
+			// an earlier entry counts as already added or already removed
+			boolean claimedBefore = claimed.get(bit(u, dir));
+			if (present && (!wires.get(bit(u, dir)) || claimedBefore)) {
+				throw new IllegalStateException(String.format("Cannot remove edge {%d, %d}, edge does not exist.", u, v));
+			}
+			if (!present && (wires.get(bit(u, dir)) || claimedBefore)) {
+				throw new IllegalStateException(String.format("Cannot add edge {%d, %d}, edge already exists.", u, v));
+			}
+			claimed.set(bit(u, dir));
+			claimed.set(bit(v, top.inv(dir)));
+			dirs[i] = dir;
+		}
+		return dirs;
+	}
+
 	private void wire(int u, int v, int dir, boolean connected) {
 		wires.set(bit(u, dir), connected);
 		wires.set(bit(v, top.inv(dir)), connected);
@@ -77,6 +145,22 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 	 */
 	public GridGraph(int numCols, int numRows, GridTopology top, IntFunction<V> fnDefaultVertexLabel,
 			BiFunction<Integer, Integer, E> fnDefaultEdgeLabel, BiFunction<Integer, Integer, Edge> fnEdgeFactory) {
+		this(numCols, numRows, top, new VertexLabelsMap<>(fnDefaultVertexLabel),
+				new EdgeLabelsLongMap<>(fnDefaultEdgeLabel), fnEdgeFactory);
+	}
+
+	/**
+	 * Creates a grid with the given properties and label storage.
+	 * 
+	 * @param numCols        the number of columns
+	 * @param numRows        the number of rows
+	 * @param top            the topology of this grid
+	 * @param vertexLabeling vertex label storage
+	 * @param edgeLabeling   edge label storage, e.g. a {@link GridEdgeLabelsArray} for this grid size
+	 * @param fnEdgeFactory  function for creating edges of the correct type
+	 */
+	public GridGraph(int numCols, int numRows, GridTopology top, VertexLabeling<V> vertexLabeling,
+			EdgeLabeling<E> edgeLabeling, BiFunction<Integer, Integer, Edge> fnEdgeFactory) {
 		if (numCols < 0) {
 			throw new IllegalArgumentException("Illegal number of columns: " + numCols);
 		}
@@ -86,16 +170,59 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 		if (top == null) {
 			throw new IllegalArgumentException("Grid topology must be specified");
 		}
+		if (vertexLabeling == null) {
+			throw new IllegalArgumentException("Vertex labeling must be specified");
+		}
+		if (edgeLabeling == null) {
+			throw new IllegalArgumentException("Edge labeling must be specified");
+		}
 		if (fnEdgeFactory == null) {
 			throw new IllegalArgumentException("Edge factory must be specified");
 		}
 		this.numCols = numCols;
 		this.numRows = numRows;
 		this.top = top;
-		this.wires = new BitSet(top.dirCount() * numCols * numRows);
+		this.wires = new VersionedBitSet(top.dirCount() * numCols * numRows);
 		this.fnEdgeFactory = fnEdgeFactory;
-		this.vertexLabeling = new VertexLabelsMap<>(fnDefaultVertexLabel);
-		this.edgeLabeling = new EdgeLabelsMap<>(fnDefaultEdgeLabel);
+		this.vertexLabeling = vertexLabeling;
+		this.edgeLabeling = edgeLabeling;
+	}
+
+	private GridGraph(GridGraph<V, E> source) {
+		this.numCols = source.numCols;
+		this.numRows = source.numRows;
+		this.top = source.top;
+		this.wires = source.wires.snapshot();
+		this.fnEdgeFactory = source.fnEdgeFactory;
+		this.vertexLabeling = source.vertexLabeling;
+		this.edgeLabeling = source.edgeLabeling;
+	}
+
+	/**
+	 * Returns an immutable snapshot of the current edges of this grid. Later changes of this grid are
+	 * not visible in the snapshot, so the snapshot can be read by other threads while this grid is
+	 * modified by a single writer thread. Taking a snapshot does not copy the edges, but after it the
+	 * first change inside a block of 4096 wire bits copies that block.
+	 * <p>
+	 * The vertex and edge labels are not versioned but shared with this grid.
+	 * 
+	 * @return snapshot of this grid, all structural modifications throw an
+	 *         {@link UnsupportedOperationException}
+	 */
+	public GridGraph<V, E> snapshot() {
+		return wires.isSnapshot() ? this : new GridGraph<>(this);
+	}
+
+	// used by the binary grid format
+	VersionedBitSet wires() {
+		return wires;
+	}
+
+	/**
+	 * @return {@code true} if this grid is an immutable snapshot
+	 */
+	public boolean isSnapshot() {
+		return wires.isSnapshot();
 	}
 
 	// Implement {@link Graph} interface
@@ -125,35 +252,81 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 		return v >= 0 && v < numCols * numRows;
 	}
 
-	@Override
-	public Stream<Edge> edges() {
-		List<Edge> edgeList = new ArrayList<>();
-		if (top == Grid4Topology.get()) { // optimized code for 4-direction-topology
-			for (int row = 0; row < numRows; ++row) {
-				for (int col = 0; col < numCols; ++col) {
-					int v = index(col, row);
-					if (wires.get(bit(v, Grid4Topology.E))) {
-						edgeList.add(fnEdgeFactory.apply(v, neighborCell(v, Grid4Topology.E)));
-					}
-					if (wires.get(bit(v, Grid4Topology.S))) {
-						edgeList.add(fnEdgeFactory.apply(v, neighborCell(v, Grid4Topology.S)));
-					}
+	/**
+	 * Spliterator over the edge keys of this grid. Iterates the set bits of the wire bit set word by
+	 * word and reports each edge from the wire of its smaller cell. Splits at cell boundaries.
+	 */
+	private class WireSpliterator implements Spliterator.OfLong {
+
+		private final VersionedBitSet bits;
+		private final boolean[] forward;
+		private int pos;
+		private final int end;
+
+		WireSpliterator(VersionedBitSet bits, int pos, int end) {
+			this.bits = bits;
+			this.pos = pos;
+			this.end = end;
+			forward = new boolean[top.dirCount()];
+			for (int dir = 0; dir < top.dirCount(); ++dir) {
+				forward[dir] = top.dy(dir) > 0 || top.dy(dir) == 0 && top.dx(dir) > 0;
+			}
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			int dirCount = top.dirCount();
+			while (pos < end) {
+				int b = bits.nextSetBit(pos);
+				if (b == -1 || b >= end) {
+					pos = end;
+					return false;
+				}
+				pos = b + 1;
+				int cell = b / dirCount, dir = b % dirCount;
+				if (forward[dir]) {
+					action.accept(arcKey(cell, index(cell % numCols + top.dx(dir), cell / numCols + top.dy(dir))));
+					return true;
 				}
 			}
-		} else {
-			/*@formatter:off*/
-			vertices().forEach(cell -> {
-				top.dirs()
-					.filter(dir -> isConnected(cell, dir))
-					.map(dir -> neighbor(cell, dir))
-					.filter(Optional::isPresent)
-					.map(Optional::get)
-					.filter(neighbor -> cell < neighbor)
-					.forEach(neighbor -> edgeList.add(fnEdgeFactory.apply(cell, neighbor)));
-			});
-			/*@formatter:on*/
+			return false;
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			int dirCount = top.dirCount();
+			int mid = (pos / dirCount + end / dirCount) / 2 * dirCount;
+			if (mid - pos < 1024) {
+				return null;
+			}
+			WireSpliterator prefix = new WireSpliterator(bits, pos, mid);
+			pos = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return (end - pos) / 2;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | DISTINCT | NONNULL;
 		}
-		return edgeList.stream();
+	}
+
+	/**
+	 * Streams the edges lazily in the order of their smaller cell. The stream is splittable and can be
+	 * processed in parallel.
+	 */
+	@Override
+	public Stream<Edge> edges() {
+		return edgeKeys().mapToObj(key -> fnEdgeFactory.apply(either(key), other(key)));
+	}
+
+	@Override
+	public LongStream edgeKeys() {
+		return StreamSupport.longStream(new WireSpliterator(wires, 0, wires.size()), false);
 	}
 
 	@Override
@@ -191,6 +364,7 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 
 	@Override
 	public void addEdge(int u, int v) {
+		checkMutable();
 		checkCell(u);
 		checkCell(v);
 		if (!areNeighbors(u, v)) {
@@ -210,6 +384,7 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 
 	@Override
 	public void removeEdge(int u, int v) {
+		checkMutable();
 		if (!adjacent(u, v)) {
 			throw new IllegalStateException(String.format("Cannot remove edge {%d, %d}, edge does not exist.", u, v));
 		}
@@ -218,15 +393,59 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 
 	@Override
 	public void removeEdges() {
+		checkMutable();
 		wires.clear();
 	}
 
+	/**
+	 * Adds the edges <code>{us[i], vs[i]}</code>. All edges are validated before the first edge is
+	 * added, so if an exception is thrown, the grid is unchanged.
+	 * 
+	 * @param us either cells of the edges
+	 * @param vs other cells of the edges
+	 * @throws IllegalStateException if some cells are no grid neighbors or some edge already exists
+	 */
+	public void addEdges(int[] us, int[] vs) {
+		checkMutable();
+		int[] dirs = checkEdgeBatch(us, vs, false);
+		for (int i = 0; i < us.length; ++i) {
+			wire(us[i], vs[i], dirs[i], true);
+		}
+	}
+
+	/**
+	 * Removes the edges <code>{us[i], vs[i]}</code>. All edges are validated before the first edge is
+	 * removed, so if an exception is thrown, the grid is unchanged.
+	 * 
+	 * @param us either cells of the edges
+	 * @param vs other cells of the edges
+	 * @throws IllegalStateException if some cells are no grid neighbors or some edge does not exist
+	 */
+	public void removeEdges(int[] us, int[] vs) {
+		checkMutable();
+		int[] dirs = checkEdgeBatch(us, vs, true);
+		for (int i = 0; i < us.length; ++i) {
+			wire(us[i], vs[i], dirs[i], false);
+		}
+	}
+
 	@Override
 	public Stream<Integer> adj(int v) {
 		checkCell(v);
 		return top.dirs().filter(dir -> isConnected(v, dir)).map(dir -> neighborCell(v, dir));
 	}
 
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		checkCell(v);
+		int col = v % numCols, row = v / numCols;
+		for (int dir = 0; dir < top.dirCount(); ++dir) {
+			if (wires.get(bit(v, dir))) {
+				action.accept(index(col + top.dx(dir), row + top.dy(dir)));
+			}
+		}
+	}
+
 	@Override
 	public boolean adjacent(int u, int v) {
 		checkCell(u);
@@ -237,9 +456,16 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 	@Override
 	public int degree(int v) {
 		checkCell(v);
+		int dirCount = top.dirCount();
+		int first = bit(v, 0);
+		if (Long.SIZE % dirCount == 0) {
+			// the wires of a cell lie inside a single word
+			long word = wires.word(first / Long.SIZE) >>> (first % Long.SIZE);
+			return Long.bitCount(word & ((1L << dirCount) - 1));
+		}
 		int degree = 0;
-		for (int dir = 0; dir < top.dirCount(); ++dir) {
-			if (wires.get(bit(v, dir))) {
+		for (int dir = 0; dir < dirCount; ++dir) {
+			if (wires.get(first + dir)) {
 				++degree;
 			}
 		}
@@ -306,6 +532,7 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 
 	@Override
 	public void fill() {
+		checkMutable();
 		wires.clear();
 		//@formatter:off
 		vertices().forEach(cell -> top.dirs().forEach(dir -> {
@@ -319,6 +546,7 @@ public class GridGraph<V, E> implements GridGraph2D<V, E> {
 	
 	@Override
 	public void fillOrthogonal() {
+		checkMutable();
 		wires.clear();
 		//@formatter:off
 		vertices().forEach(cell -> top.dirs().filter(top::isOrthogonal).forEach(dir -> {
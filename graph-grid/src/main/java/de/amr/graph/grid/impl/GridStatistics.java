@@ -0,0 +1,54 @@
+package de.amr.graph.grid.impl;
+
+import java.util.stream.IntStream;
+
+import de.amr.datastruct.VersionedBitSet;
+import de.amr.graph.util.GraphStatistics;
+
+/**
+ * Fast computation of the {@link GraphStatistics} of a grid.
+ * <p>
+ * Instead of asking each cell for its degree, the words of the wire bit set are scanned in
+ * parallel. If the number of directions divides 64, each word holds the wires of whole cells and
+ * the degree of a cell is the population count of its bit group.
+ * 
+ * @author Armin Reichert
+ */
+public interface GridStatistics {
+
+	/**
+	 * @param grid a grid
+	 * @return the statistics of the grid
+	 */
+	static GraphStatistics of(GridGraph<?, ?> grid) {
+		int dirCount = grid.getTopology().dirCount();
+		int numCells = grid.numVertices();
+		if (Long.SIZE % dirCount != 0) {
+			int[] histogram = grid.vertices().parallel().collect(() -> new int[dirCount + 1],
+					(h, cell) -> h[grid.degree(cell)] += 1, GridStatistics::add);
+			return new GraphStatistics(histogram, grid.numEdges());
+		}
+		VersionedBitSet wires = grid.wires();
+		int cellsPerWord = Long.SIZE / dirCount;
+		long mask = (1L << dirCount) - 1;
+		int[] histogram = IntStream.range(0, wires.numWords()).parallel().collect(() -> new int[dirCount + 1],
+				(h, i) -> {
+					long word = wires.word(i);
+					int cells = Math.min(cellsPerWord, numCells - i * cellsPerWord);
+					if (word == 0) {
+						h[0] += cells;
+						return;
+					}
+					for (int j = 0; j < cells; ++j, word >>>= dirCount) {
+						h[Long.bitCount(word & mask)] += 1;
+					}
+				}, GridStatistics::add);
+		return new GraphStatistics(histogram, grid.numEdges());
+	}
+
+	private static void add(int[] sum, int[] h) {
+		for (int d = 0; d < sum.length; ++d) {
+			sum[d] += h[d];
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package de.amr.graph.grid.impl;
+
+import java.util.BitSet;
+import java.util.function.BiFunction;
+
+import de.amr.graph.core.api.IntEdgeLabeling;
+import de.amr.graph.grid.api.GridTopology;
+
+/**
+ * Edge labels implementation for grids with {@code int} labels stored unboxed in an array indexed
+ * by the grid's dense edge index (see {@link GridEdgeIndex}).
+ * <p>
+ * Unlabeled positions hold the default label, so reading a label is a single array access. Changing
+ * the default label rewrites all unlabeled positions.
+ * 
+ * @author Armin Reichert
+ */
+public class IntGridEdgeLabelsArray implements IntEdgeLabeling {
+
+	private final GridEdgeIndex index;
+	private final int[] labels;
+	private final BitSet labeled = new BitSet();
+	private BiFunction<Integer, Integer, Integer> fnDefaultLabel;
+
+	public IntGridEdgeLabelsArray(int numCols, int numRows, GridTopology top, int defaultLabel) {
+		this.index = new GridEdgeIndex(numCols, numRows, top);
+		this.labels = new int[index.size()];
+		setDefaultEdgeLabel((u, v) -> defaultLabel);
+	}
+
+	private void fillUnlabeled() {
+		for (int i = labeled.nextClearBit(0); i < labels.length; i = labeled.nextClearBit(i + 1)) {
+			int v = index.other(i);
+			if (v != -1) {
+				labels[i] = fnDefaultLabel.apply(index.either(i), v);
+			}
+		}
+	}
+
+	@Override
+	public int getIntEdgeLabel(int u, int v) {
+		return labels[index.index(u, v)];
+	}
+
+	@Override
+	public void setIntEdgeLabel(int u, int v, int label) {
+		int i = index.index(u, v);
+		labels[i] = label;
+		labeled.set(i);
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		labeled.clear();
+		fillUnlabeled();
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, Integer> fnDefaultLabel) {
+		this.fnDefaultLabel = fnDefaultLabel;
+		fillUnlabeled();
+	}
+
+	@Override
+	public Integer getDefaultEdgeLabel(int u, int v) {
+		return fnDefaultLabel.apply(u, v);
+	}
+}
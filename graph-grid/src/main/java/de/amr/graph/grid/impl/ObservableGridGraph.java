@@ -6,8 +6,12 @@ import java.util.function.BiFunction;
 import java.util.function.IntFunction;
 
 import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
 import de.amr.graph.core.api.ObservableGraph;
+import de.amr.graph.core.api.VertexLabeling;
 import de.amr.graph.event.EdgeEvent;
+import de.amr.graph.event.GraphBatchEvent;
+import de.amr.graph.event.GraphChangeSet;
 import de.amr.graph.event.GraphObserver;
 import de.amr.graph.event.VertexEvent;
 import de.amr.graph.grid.api.GridTopology;
@@ -25,6 +29,7 @@ public class ObservableGridGraph<V, E> extends GridGraph<V, E> implements Observ
 
 	private final Set<GraphObserver<V, E>> observers;
 	private boolean eventsEnabled;
+	private GraphChangeSet batchChanges; // not null inside a batch
 
 	public ObservableGridGraph(int numCols, int numRows, GridTopology top, IntFunction<V> fnDefaultVertexLabel,
 			BiFunction<Integer, Integer, E> fnDefaultEdgeLabel, BiFunction<Integer, Integer, Edge> fnEdgeFactory) {
@@ -33,6 +38,13 @@ public class ObservableGridGraph<V, E> extends GridGraph<V, E> implements Observ
 		eventsEnabled = true;
 	}
 
+	public ObservableGridGraph(int numCols, int numRows, GridTopology top, VertexLabeling<V> vertexLabeling,
+			EdgeLabeling<E> edgeLabeling, BiFunction<Integer, Integer, Edge> fnEdgeFactory) {
+		super(numCols, numRows, top, vertexLabeling, edgeLabeling, fnEdgeFactory);
+		observers = new HashSet<>();
+		eventsEnabled = true;
+	}
+
 	@Override
 	public void clearVertexLabels() {
 		super.clearVertexLabels();
@@ -65,6 +77,30 @@ public class ObservableGridGraph<V, E> extends GridGraph<V, E> implements Observ
 		});
 	}
 
+	@Override
+	public void addEdges(int[] us, int[] vs) {
+		batch(() -> {
+			super.addEdges(us, vs); // validates all edges before changing the grid
+			if (eventsEnabled) {
+				for (int i = 0; i < us.length; ++i) {
+					batchChanges.edgeAdded(us[i], vs[i]);
+				}
+			}
+		});
+	}
+
+	@Override
+	public void removeEdges(int[] us, int[] vs) {
+		batch(() -> {
+			super.removeEdges(us, vs); // validates all edges before changing the grid
+			if (eventsEnabled) {
+				for (int i = 0; i < us.length; ++i) {
+					batchChanges.edgeRemoved(us[i], vs[i]);
+				}
+			}
+		});
+	}
+
 	@Override
 	public void removeEdges() {
 		super.removeEdges();
@@ -94,35 +130,73 @@ public class ObservableGridGraph<V, E> extends GridGraph<V, E> implements Observ
 		eventsEnabled = enabled;
 	}
 
+	@Override
+	public void batch(Runnable changes) {
+		if (batchChanges != null) {
+			changes.run();
+			return;
+		}
+		batchChanges = new GraphChangeSet();
+		try {
+			changes.run();
+		} finally {
+			GraphChangeSet changeSet = batchChanges;
+			batchChanges = null;
+			if (eventsEnabled && !changeSet.isEmpty()) {
+				observers.forEach(o -> o.graphBatchChanged(new GraphBatchEvent<>(this, changeSet)));
+			}
+		}
+	}
+
 	// helper methods
 
 	protected void fireVertexChange(int v) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.vertexChanged(new VertexEvent<>(this, v)));
+			if (batchChanges != null) {
+				batchChanges.vertexChanged(v);
+			} else {
+				observers.forEach(o -> o.vertexChanged(new VertexEvent<>(this, v)));
+			}
 		}
 	}
 
 	protected void fireEdgeAdded(int u, int v) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.edgeAdded(new EdgeEvent<>(this, u, v)));
+			if (batchChanges != null) {
+				batchChanges.edgeAdded(u, v);
+			} else {
+				observers.forEach(o -> o.edgeAdded(new EdgeEvent<>(this, u, v)));
+			}
 		}
 	}
 
 	protected void fireEdgeChanged(int u, int v) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.edgeChanged(new EdgeEvent<>(this, u, v)));
+			if (batchChanges != null) {
+				batchChanges.edgeChanged(u, v);
+			} else {
+				observers.forEach(o -> o.edgeChanged(new EdgeEvent<>(this, u, v)));
+			}
 		}
 	}
 
 	protected void fireEdgeRemoved(int u, int v) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.edgeRemoved(new EdgeEvent<>(this, u, v)));
+			if (batchChanges != null) {
+				batchChanges.edgeRemoved(u, v);
+			} else {
+				observers.forEach(o -> o.edgeRemoved(new EdgeEvent<>(this, u, v)));
+			}
 		}
 	}
 
 	protected void fireGraphChange(ObservableGraph<V, E> graph) {
 		if (eventsEnabled) {
-			observers.forEach(o -> o.graphChanged(graph));
+			if (batchChanges != null) {
+				batchChanges.graphChanged();
+			} else {
+				observers.forEach(o -> o.graphChanged(graph));
+			}
 		}
 	}
 }
\ No newline at end of file
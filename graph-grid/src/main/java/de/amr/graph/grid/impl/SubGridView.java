@@ -0,0 +1,368 @@
+package de.amr.graph.grid.impl;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.EdgeLabeling;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.api.VertexLabeling;
+import de.amr.graph.grid.api.GridGraph2D;
+import de.amr.graph.grid.api.GridPosition;
+import de.amr.graph.grid.api.GridTopology;
+
+/**
+ * Read-only view of a rectangular window of a grid graph.
+ *
+ * <p>
+ * The view is a grid of its own: its cells are numbered row by row starting at the top left corner
+ * of the window, and only edges between cells inside the window are visible. Nothing is copied,
+ * connectivity and labels are read from the base grid, so changes of the base grid are visible in
+ * the view. The topology of the view cannot be changed, labels can be read and written.
+ *
+ * @author Armin Reichert
+ *
+ * @param <V> vertex label type
+ * @param <E> edge label type
+ */
+public class SubGridView<V, E> implements GridGraph2D<V, E> {
+
+	private final GridGraph2D<V, E> base;
+	private final int col0;
+	private final int row0;
+	private final int numCols;
+	private final int numRows;
+
+	/**
+	 * @param base    base grid
+	 * @param col0    column of the window's top left cell in the base grid
+	 * @param row0    row of the window's top left cell in the base grid
+	 * @param numCols number of columns of the window
+	 * @param numRows number of rows of the window
+	 */
+	public SubGridView(GridGraph2D<V, E> base, int col0, int row0, int numCols, int numRows) {
+		if (numCols < 0 || numRows < 0) {
+			throw new IllegalArgumentException(String.format("Invalid window size: %d x %d", numCols, numRows));
+		}
+		if (col0 < 0 || row0 < 0 || col0 + numCols > base.numCols() || row0 + numRows > base.numRows()) {
+			throw new IndexOutOfBoundsException(
+					String.format("Window (%d, %d, %d x %d) exceeds grid", col0, row0, numCols, numRows));
+		}
+		this.base = base;
+		this.col0 = col0;
+		this.row0 = row0;
+		this.numCols = numCols;
+		this.numRows = numRows;
+	}
+
+	/**
+	 * @return the base grid of this view
+	 */
+	public GridGraph2D<V, E> getBase() {
+		return base;
+	}
+
+	/**
+	 * @param cell a cell of this view
+	 * @return the corresponding cell of the base grid
+	 */
+	public int baseCell(int cell) {
+		checkCell(cell);
+		return base.cell(col0 + cell % numCols, row0 + cell / numCols);
+	}
+
+	/**
+	 * @param baseCell a cell of the base grid
+	 * @return the corresponding cell of this view or {@link #NO_VERTEX} if the cell is outside of the
+	 *         window
+	 */
+	public int viewCell(int baseCell) {
+		int col = base.col(baseCell) - col0, row = base.row(baseCell) - row0;
+		return isValidCol(col) && isValidRow(row) ? row * numCols + col : NO_VERTEX;
+	}
+
+	private void checkCell(int cell) {
+		if (cell < 0 || cell >= numCols * numRows) {
+			throw new IndexOutOfBoundsException("Invalid cell: " + cell);
+		}
+	}
+
+	private int neighborCell(int v, int dir) {
+		int col = v % numCols + getTopology().dx(dir);
+		int row = v / numCols + getTopology().dy(dir);
+		return isValidCol(col) && isValidRow(row) ? row * numCols + col : NO_VERTEX;
+	}
+
+	// Labels are translated to the base grid
+
+	@Override
+	public VertexLabeling<V> getVertexLabeling() {
+		return this;
+	}
+
+	@Override
+	public EdgeLabeling<E> getEdgeLabeling() {
+		return this;
+	}
+
+	@Override
+	public V get(int v) {
+		return base.get(baseCell(v));
+	}
+
+	@Override
+	public void set(int v, V label) {
+		base.set(baseCell(v), label);
+	}
+
+	@Override
+	public V getDefaultVertexLabel(int v) {
+		return base.getDefaultVertexLabel(baseCell(v));
+	}
+
+	@Override
+	public void setDefaultVertexLabel(IntFunction<V> fnDefaultLabel) {
+		throw new UnsupportedOperationException("Cannot change default vertex label of grid view");
+	}
+
+	@Override
+	public void clearVertexLabels() {
+		throw new UnsupportedOperationException("Cannot clear vertex labels of grid view");
+	}
+
+	@Override
+	public E getEdgeLabel(int u, int v) {
+		return base.getEdgeLabel(baseCell(u), baseCell(v));
+	}
+
+	@Override
+	public void setEdgeLabel(int u, int v, E label) {
+		base.setEdgeLabel(baseCell(u), baseCell(v), label);
+	}
+
+	@Override
+	public E getDefaultEdgeLabel(int u, int v) {
+		return base.getDefaultEdgeLabel(baseCell(u), baseCell(v));
+	}
+
+	@Override
+	public void setDefaultEdgeLabel(BiFunction<Integer, Integer, E> fnDefaultLabel) {
+		throw new UnsupportedOperationException("Cannot change default edge label of grid view");
+	}
+
+	@Override
+	public void clearEdgeLabels() {
+		throw new UnsupportedOperationException("Cannot clear edge labels of grid view");
+	}
+
+	// Graph
+
+	@Override
+	public IntStream vertices() {
+		return IntStream.range(0, numCols * numRows);
+	}
+
+	@Override
+	public int numVertices() {
+		return numCols * numRows;
+	}
+
+	@Override
+	public boolean containsVertex(int v) {
+		return 0 <= v && v < numCols * numRows;
+	}
+
+	@Override
+	public Stream<Edge> edges() {
+		return vertices().boxed().flatMap(v -> adj(v).filter(w -> v < w).map(w -> new UndirectedEdge(v, w)));
+	}
+
+	@Override
+	public void addVertex(int v) {
+		throw new UnsupportedOperationException("Cannot add vertex to grid view");
+	}
+
+	@Override
+	public void removeVertex(int v) {
+		throw new UnsupportedOperationException("Cannot remove vertex from grid view");
+	}
+
+	@Override
+	public Stream<Integer> adj(int v) {
+		checkCell(v);
+		return getTopology().dirs().filter(dir -> isConnected(v, dir)).map(dir -> neighborCell(v, dir));
+	}
+
+	@Override
+	public void forEachNeighbor(int v, IntConsumer action) {
+		base.forEachNeighbor(baseCell(v), w -> {
+			int cell = viewCell(w);
+			if (cell != NO_VERTEX) {
+				action.accept(cell);
+			}
+		});
+	}
+
+	@Override
+	public boolean adjacent(int u, int v) {
+		return base.adjacent(baseCell(u), baseCell(v));
+	}
+
+	@Override
+	public int degree(int v) {
+		int[] degree = { 0 };
+		forEachNeighbor(v, w -> ++degree[0]);
+		return degree[0];
+	}
+
+	@Override
+	public void addEdge(int u, int v) {
+		throw new UnsupportedOperationException("Cannot add edge to grid view");
+	}
+
+	@Override
+	public void addEdge(int u, int v, E e) {
+		throw new UnsupportedOperationException("Cannot add edge to grid view");
+	}
+
+	@Override
+	public Optional<Edge> edge(int u, int v) {
+		return adjacent(u, v) ? Optional.of(new UndirectedEdge(u, v)) : Optional.empty();
+	}
+
+	@Override
+	public void removeEdge(int u, int v) {
+		throw new UnsupportedOperationException("Cannot remove edge from grid view");
+	}
+
+	@Override
+	public void removeEdges() {
+		throw new UnsupportedOperationException("Cannot remove edges from grid view");
+	}
+
+	// Grid
+
+	@Override
+	public GridTopology getTopology() {
+		return base.getTopology();
+	}
+
+	@Override
+	public int numCols() {
+		return numCols;
+	}
+
+	@Override
+	public int numRows() {
+		return numRows;
+	}
+
+	@Override
+	public int cell(int col, int row) {
+		if (!isValidCol(col)) {
+			throw new IndexOutOfBoundsException(String.format("Invalid col: %d", col));
+		}
+		if (!isValidRow(row)) {
+			throw new IndexOutOfBoundsException(String.format("Invalid row: %d", row));
+		}
+		return row * numCols + col;
+	}
+
+	@Override
+	public int cell(GridPosition position) {
+		switch (position) {
+		case TOP_LEFT:
+			return cell(0, 0);
+		case TOP_RIGHT:
+			return cell(numCols - 1, 0);
+		case CENTER:
+			return cell(numCols / 2, numRows / 2);
+		case BOTTOM_LEFT:
+			return cell(0, numRows - 1);
+		case BOTTOM_RIGHT:
+			return cell(numCols - 1, numRows - 1);
+		default:
+			throw new IllegalArgumentException();
+		}
+	}
+
+	@Override
+	public int col(int cell) {
+		checkCell(cell);
+		return cell % numCols;
+	}
+
+	@Override
+	public int row(int cell) {
+		checkCell(cell);
+		return cell / numCols;
+	}
+
+	@Override
+	public boolean isValidCol(int col) {
+		return 0 <= col && col < numCols;
+	}
+
+	@Override
+	public boolean isValidRow(int row) {
+		return 0 <= row && row < numRows;
+	}
+
+	@Override
+	public Stream<Integer> neighbors(int v) {
+		checkCell(v);
+		return getTopology().dirs().map(dir -> neighborCell(v, dir)).filter(cell -> cell != NO_VERTEX);
+	}
+
+	@Override
+	public Optional<Integer> neighbor(int v, byte dir) {
+		checkCell(v);
+		if (dir < 0 || dir >= getTopology().dirCount()) {
+			throw new IndexOutOfBoundsException("Invalid direction: " + dir);
+		}
+		int neighbor = neighborCell(v, dir);
+		return neighbor == NO_VERTEX ? Optional.empty() : Optional.of(neighbor);
+	}
+
+	@Override
+	public boolean areNeighbors(int u, int v) {
+		return neighbors(u).anyMatch(x -> x == v);
+	}
+
+	@Override
+	public boolean isConnected(int v, byte dir) {
+		return neighbor(v, dir).isPresent() && base.isConnected(baseCell(v), dir);
+	}
+
+	@Override
+	public Optional<Byte> direction(int u, int v) {
+		checkCell(u);
+		checkCell(v);
+		return getTopology().dirs().filter(dir -> neighborCell(u, dir) == v).findFirst();
+	}
+
+	@Override
+	public void fill() {
+		throw new UnsupportedOperationException("Cannot change grid view");
+	}
+
+	@Override
+	public void fillOrthogonal() {
+		throw new UnsupportedOperationException("Cannot change grid view");
+	}
+
+	@Override
+	public boolean isFull() {
+		return vertices().allMatch(v -> neighbors(v).allMatch(w -> adjacent(v, w)));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%d cols, %d rows at (%d, %d) of %s)", getClass().getName(), numCols, numRows, col0,
+				row0, base);
+	}
+}
@@ -0,0 +1,87 @@
+package de.amr.graph.grid.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.TraversalState;
+import de.amr.graph.grid.impl.BinaryGridFormat;
+import de.amr.graph.grid.impl.Grid4Topology;
+import de.amr.graph.grid.impl.Grid8Topology;
+import de.amr.graph.grid.impl.GridFactory;
+import de.amr.graph.grid.impl.GridGraph;
+import de.amr.graph.io.LabelCodec;
+
+public class BinaryGridFormatTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("grid", ".bin");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		GridGraph<TraversalState, Integer> grid = GridFactory.fullGrid(300, 200, Grid8Topology.get(),
+				TraversalState.UNVISITED, 0);
+		Random rnd = new Random(9);
+		for (int i = 0; i < 10_000; ++i) {
+			int v = rnd.nextInt(grid.numVertices());
+			grid.neighbors(v).findFirst().filter(w -> grid.adjacent(v, w)).ifPresent(w -> grid.removeEdge(v, w));
+		}
+		grid.set(17, TraversalState.COMPLETED);
+		grid.edges().limit(50).forEach(edge -> grid.setEdgeLabel(edge.either(), edge.other(), edge.either()));
+		BinaryGridFormat.save(grid, file, LabelCodec.enums(TraversalState.class), LabelCodec.ints());
+
+		GridGraph<TraversalState, Integer> loaded = BinaryGridFormat.load(file, LabelCodec.enums(TraversalState.class),
+				LabelCodec.ints());
+		assertEquals(grid.numCols(), loaded.numCols());
+		assertEquals(grid.getTopology(), loaded.getTopology());
+		assertEquals(grid.numEdges(), loaded.numEdges());
+		grid.edges().forEach(edge -> {
+			assertTrue(loaded.adjacent(edge.either(), edge.other()));
+			assertEquals(grid.getEdgeLabel(edge.either(), edge.other()), loaded.getEdgeLabel(edge.either(), edge.other()));
+		});
+		assertEquals(TraversalState.COMPLETED, loaded.get(17));
+		assertEquals(TraversalState.UNVISITED, loaded.get(18));
+	}
+
+	@Test
+	public void testLoadIntoGridOfOtherSize() throws IOException {
+		BinaryGridFormat.save(GridFactory.fullGrid(10, 10, Grid4Topology.get(), null, null), file);
+		GridGraph<Void, Void> target = GridFactory.emptyGrid(10, 11, Grid4Topology.get(), null, null);
+		assertThrows(IOException.class, () -> BinaryGridFormat.load(file, target, null, null));
+		GridGraph<Void, Void> same = GridFactory.emptyGrid(10, 10, Grid4Topology.get(), null, null);
+		BinaryGridFormat.load(file, same, null, null);
+		assertTrue(same.isFull());
+	}
+
+	@Test
+	public void testLoadIntoGridClearsLabels() throws IOException {
+		BinaryGridFormat.save(GridFactory.fullGrid(10, 10, Grid4Topology.get(), null, null), file);
+		GridGraph<TraversalState, Integer> target = GridFactory.emptyGrid(10, 10, Grid4Topology.get(),
+				TraversalState.UNVISITED, 0);
+		target.set(3, TraversalState.COMPLETED);
+		target.addEdge(0, 1);
+		target.setEdgeLabel(0, 1, 7);
+		BinaryGridFormat.load(file, target, LabelCodec.enums(TraversalState.class), LabelCodec.ints());
+		assertTrue(target.isFull());
+		assertEquals(TraversalState.UNVISITED, target.get(3));
+		assertEquals(Integer.valueOf(0), target.getEdgeLabel(0, 1));
+	}
+}
@@ -0,0 +1,116 @@
+package de.amr.graph.grid.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.graph.core.api.Multigraph;
+import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.grid.impl.Grid4Topology;
+import de.amr.graph.grid.impl.Grid8Topology;
+import de.amr.graph.grid.impl.GridDualGraph;
+import de.amr.graph.grid.impl.GridFactory;
+import de.amr.graph.grid.impl.GridGraph;
+import de.amr.graph.util.GraphUtils;
+
+public class GridDualGraphTest {
+
+	private static GridGraph<Void, Void> randomMaze(int numCols, int numRows, long seed) {
+		GridGraph<Void, Void> grid = GridFactory.emptyGrid(numCols, numRows, Grid4Topology.get(), null, null);
+		Random rnd = new Random(seed);
+		BitSet visited = new BitSet();
+		Deque<Integer> stack = new ArrayDeque<>();
+		visited.set(0);
+		stack.push(0);
+		while (!stack.isEmpty()) {
+			int cell = stack.peek();
+			int[] candidates = grid.neighbors(cell).mapToInt(Integer::intValue).filter(neighbor -> !visited.get(neighbor))
+					.toArray();
+			if (candidates.length == 0) {
+				stack.pop();
+			} else {
+				int next = candidates[rnd.nextInt(candidates.length)];
+				grid.addEdge(cell, next);
+				visited.set(next);
+				stack.push(next);
+			}
+		}
+		return grid;
+	}
+
+	@Test
+	public void testFullDualMatchesExplicitDual() {
+		Multigraph explicit = GraphUtils.dualGraphOfGrid(4, 3);
+		GridDualGraph dual = new GridDualGraph(4, 3);
+		assertEquals(explicit.vertexCount(), dual.vertexCount());
+		assertEquals(explicit.edgeCount(), dual.edgeCount());
+		assertEquals(dual.edgeCount(), dual.edgeStream().count());
+		dual.vertexStream().forEach(v -> {
+			assertEquals(explicit.degree(v), dual.degree(v));
+			dual.vertexStream()
+					.forEach(w -> assertEquals(explicit.edges(v, w).count(), dual.edges(v, w).count(), v + "-" + w));
+		});
+		assertEquals(2, dual.edges(0, GridDualGraph.OUTER).count());
+		assertEquals(1, dual.edges(1, GridDualGraph.OUTER).count());
+		assertEquals(4, dual.face(1, 1));
+	}
+
+	@Test
+	public void testWallGraphOfMazeIsTree() {
+		GridGraph<Void, Void> maze = randomMaze(30, 20, 11);
+		GridDualGraph walls = GridDualGraph.walls(maze);
+		assertEquals(walls.vertexCount() - 1, walls.edgeCount());
+		assertEquals(walls.edgeCount(), walls.edgeKeys().count());
+		walls.edgeStream().forEach(edge -> {
+			assertTrue(walls.adjacent(edge.either(), edge.other()));
+			assertTrue(walls.adjacent(edge.other(), edge.either()));
+		});
+		// connected: a tree with |V| - 1 edges
+		BitSet reached = new BitSet();
+		Deque<Integer> queue = new ArrayDeque<>();
+		queue.add(GridDualGraph.OUTER);
+		reached.set(0);
+		while (!queue.isEmpty()) {
+			walls.forEachNeighbor(queue.poll(), w -> {
+				if (!reached.get(w + 1)) {
+					reached.set(w + 1);
+					queue.add(w);
+				}
+			});
+		}
+		assertEquals(walls.vertexCount(), reached.cardinality());
+		int degreeSum = walls.vertexStream().map(walls::degree).sum();
+		assertEquals(2 * walls.edgeCount(), degreeSum);
+	}
+
+	@Test
+	public void testWallGraphFollowsGrid() {
+		GridGraph<Void, Void> grid = GridFactory.fullGrid(3, 3, Grid4Topology.get(), null, null);
+		GridDualGraph walls = GridDualGraph.walls(grid);
+		assertEquals(0, walls.edgeCount());
+		assertFalse(walls.adjacent(0, 1));
+		// removing the passage between cells 1 and 4 creates the wall between faces 0 and 1
+		grid.removeEdge(1, 4);
+		assertTrue(walls.adjacent(0, 1));
+		assertEquals(1, walls.degree(0));
+		assertEquals(1, walls.edgeCount());
+	}
+
+	@Test
+	public void testReadOnly() {
+		GridDualGraph dual = new GridDualGraph(3, 3);
+		assertThrows(UnsupportedOperationException.class, () -> dual.addEdge(new UndirectedEdge(0, 1)));
+		assertThrows(UnsupportedOperationException.class, () -> dual.removeEdge(0, 1));
+		assertThrows(IllegalStateException.class, () -> dual.degree(4));
+		assertThrows(IllegalArgumentException.class,
+				() -> GridDualGraph.walls(GridFactory.fullGrid(3, 3, Grid8Topology.get(), null, null)));
+	}
+}
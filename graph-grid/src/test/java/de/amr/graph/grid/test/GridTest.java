@@ -1,11 +1,33 @@
 package de.amr.graph.grid.test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.amr.graph.core.api.Edge;
+import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.ObservableGraph;
 import de.amr.graph.core.api.TraversalState;
 import de.amr.graph.core.api.UndirectedEdge;
+import de.amr.graph.core.impl.CSRGraph;
+import de.amr.graph.event.EdgeEvent;
+import de.amr.graph.event.GraphBatchEvent;
+import de.amr.graph.event.GraphChangeSet;
+import de.amr.graph.event.GraphObserver;
+import de.amr.graph.event.VertexEvent;
+import de.amr.graph.grid.curves.CurveOrders;
 import de.amr.graph.grid.impl.Grid4Topology;
+import de.amr.graph.grid.impl.Grid8Topology;
+import de.amr.graph.grid.impl.GridFactory;
 import de.amr.graph.grid.impl.GridGraph;
+import de.amr.graph.grid.impl.GridStatistics;
 import de.amr.graph.grid.impl.ObservableGridGraph;
+import de.amr.graph.grid.impl.SubGridView;
+import de.amr.graph.util.EdgeKeys;
+import de.amr.graph.util.GraphStatistics;
 import de.amr.graph.util.GraphUtils;
+import de.amr.graph.util.Permutation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -236,4 +258,184 @@ public class GridTest {
 		grid.setEdgeLabel(0, 1, 6);
 		assertEquals(6, (int) grid.getEdgeLabel(0, 1));
 	}
+
+	@Test
+	public void testSnapshot() {
+		grid.fill();
+		int numEdges = grid.numEdges();
+		GridGraph<TraversalState, Integer> snapshot = grid.snapshot();
+		assertTrue(snapshot.isSnapshot());
+		assertFalse(grid.isSnapshot());
+		grid.removeEdge(0, 1);
+		grid.removeEdges();
+		grid.addEdge(WIDTH * HEIGHT - 2, WIDTH * HEIGHT - 1);
+		assertEquals(1, grid.numEdges());
+		assertEquals(numEdges, snapshot.numEdges());
+		assertTrue(snapshot.adjacent(0, 1));
+		assertTrue(snapshot.isFull());
+		assertSame(snapshot, snapshot.snapshot());
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.removeEdge(0, 1));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.fill());
+	}
+
+	@Test
+	public void testBatchEvents() {
+		List<GraphChangeSet> batches = new ArrayList<>();
+		int[] singleEvents = { 0 };
+		grid.addGraphObserver(new GraphObserver<>() {
+
+			@Override
+			public void vertexChanged(VertexEvent<TraversalState, Integer> event) {
+				singleEvents[0]++;
+			}
+
+			@Override
+			public void edgeChanged(EdgeEvent<TraversalState, Integer> event) {
+				singleEvents[0]++;
+			}
+
+			@Override
+			public void edgeAdded(EdgeEvent<TraversalState, Integer> event) {
+				singleEvents[0]++;
+			}
+
+			@Override
+			public void edgeRemoved(EdgeEvent<TraversalState, Integer> event) {
+				singleEvents[0]++;
+			}
+
+			@Override
+			public void graphChanged(ObservableGraph<TraversalState, Integer> graph) {
+				singleEvents[0]++;
+			}
+
+			@Override
+			public void graphBatchChanged(GraphBatchEvent<TraversalState, Integer> event) {
+				batches.add(event.getChanges());
+			}
+		});
+		int[] us = { 0, 1, 2 }, vs = { 1, 2, 2 + WIDTH };
+		grid.addEdges(us, vs);
+		assertEquals(3, grid.numEdges());
+		assertTrue(grid.adjacent(2, 2 + WIDTH));
+		grid.batch(() -> {
+			grid.removeEdges(new int[] { 0 }, new int[] { 1 });
+			grid.set(5, TraversalState.VISITED);
+			grid.addEdge(5, 6);
+		});
+		assertEquals(0, singleEvents[0]);
+		assertEquals(2, batches.size());
+		assertEquals(3, batches.get(0).numAddedEdges());
+		GraphChangeSet changes = batches.get(1);
+		assertEquals(1, changes.numRemovedEdges());
+		assertEquals(1, changes.numAddedEdges());
+		assertEquals(5, changes.changedVertices().findFirst().getAsInt());
+		assertThrows(IllegalStateException.class, () -> grid.addEdges(new int[] { 7, 0 }, new int[] { 8, 2 }));
+		assertFalse(grid.adjacent(7, 8));
+		// batch failing at a later edge leaves the grid unchanged and fires no event
+		int batchesBefore = batches.size(), edgesBefore = grid.numEdges();
+		assertThrows(IllegalStateException.class, () -> grid.addEdges(new int[] { 7, 5 }, new int[] { 8, 6 }));
+		assertThrows(IllegalStateException.class, () -> grid.addEdges(new int[] { 7, 8 }, new int[] { 8, 7 }));
+		assertThrows(IllegalStateException.class, () -> grid.removeEdges(new int[] { 5, 7 }, new int[] { 6, 8 }));
+		// an edge occurring twice in a removal batch would be removed twice
+		assertThrows(IllegalStateException.class, () -> grid.removeEdges(new int[] { 5, 5 }, new int[] { 6, 6 }));
+		assertThrows(IllegalStateException.class, () -> grid.removeEdges(new int[] { 5, 6 }, new int[] { 6, 5 }));
+		assertFalse(grid.adjacent(7, 8));
+		assertTrue(grid.adjacent(5, 6));
+		assertEquals(edgesBefore, grid.numEdges());
+		assertEquals(batchesBefore, batches.size());
+		assertEquals(0, singleEvents[0]);
+	}
+
+	@Test
+	public void testConnectedComponents() {
+		assertEquals(WIDTH * HEIGHT, GraphUtils.componentsParallel(grid).count());
+		grid.fill();
+		for (int row = 0; row < HEIGHT; ++row) {
+			grid.removeEdge(grid.cell(WIDTH / 2 - 1, row), grid.cell(WIDTH / 2, row));
+		}
+		var sequential = GraphUtils.components(grid);
+		var parallel = GraphUtils.componentsParallel(grid);
+		assertEquals(2, parallel.count());
+		assertEquals(WIDTH * HEIGHT / 2, parallel.size(1));
+		assertArrayEquals(sequential.componentIds(), parallel.componentIds());
+		assertEquals(1, parallel.componentOf(grid.cell(WIDTH - 1, 0)));
+	}
+
+	@Test
+	public void testSubGridView() {
+		grid.fill();
+		grid.removeEdge(grid.cell(11, 10), grid.cell(12, 10));
+		SubGridView<TraversalState, Integer> view = new SubGridView<>(grid, 10, 10, 5, 4);
+		assertEquals(20, view.numVertices());
+		assertEquals(5 * 3 + 4 * 4 - 1, view.numEdges());
+		assertFalse(view.isFull());
+		assertEquals(grid.cell(12, 11), view.baseCell(view.cell(2, 1)));
+		assertEquals(Graph.NO_VERTEX, view.viewCell(grid.cell(9, 10)));
+		assertEquals(2, view.degree(view.cell(0, 0)));
+		assertFalse(view.adjacent(view.cell(1, 0), view.cell(2, 0)));
+		assertFalse(view.isConnected(view.cell(0, 0), W));
+		view.set(view.cell(TOP_LEFT), TraversalState.COMPLETED);
+		assertEquals(TraversalState.COMPLETED, grid.get(grid.cell(10, 10)));
+		assertTrue(GraphUtils.components(view).isConnected());
+		assertThrows(UnsupportedOperationException.class, () -> view.removeEdge(0, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> new SubGridView<>(grid, 98, 0, 5, 1));
+	}
+
+	@Test
+	public void testLazyEdgeStreams() {
+		GridGraph<Void, Void> big = GridFactory.fullGrid(300, 200, Grid8Topology.get(), null, null);
+		for (int v = 0; v < big.numVertices(); v += 7) {
+			big.removeEdge(v, big.neighbors(v).findFirst().get());
+		}
+		long[] keys = big.edgeKeys().toArray();
+		assertEquals(big.numEdges(), keys.length);
+		assertEquals(keys.length, Arrays.stream(keys).distinct().count());
+		for (int i = 1; i < keys.length; ++i) {
+			assertTrue(EdgeKeys.either(keys[i - 1]) <= EdgeKeys.either(keys[i]));
+		}
+		assertArrayEquals(keys, big.edgeKeys().parallel().toArray());
+		assertEquals(big.numEdges(), big.edges().parallel().filter(e -> big.adjacent(e.either(), e.other())).count());
+		Edge first = big.edges().findFirst().get();
+		assertEquals(EdgeKeys.edgeKey(first.either(), first.other()), keys[0]);
+	}
+
+	@Test
+	public void testHilbertOrder() {
+		GridGraph<Void, Void> square = GridFactory.fullGrid(16, 16, Grid4Topology.get(), null, null);
+		Permutation order = CurveOrders.hilbert(square);
+		assertEquals(square.numVertices(), order.size());
+		assertEquals(square.cell(TOP_RIGHT), order.toOld(0));
+		for (int i = 1; i < order.size(); ++i) {
+			assertTrue(square.adjacent(order.toOld(i - 1), order.toOld(i)));
+		}
+		GridGraph<Void, Void> rect = GridFactory.fullGrid(13, 5, Grid4Topology.get(), null, null);
+		Permutation rectOrder = CurveOrders.hilbert(rect);
+		assertEquals(rect.numVertices(), rectOrder.size());
+		rect.vertices().forEach(cell -> assertEquals(cell, rectOrder.toOld(rectOrder.toNew(cell))));
+		Graph<Void, Void> renumbered = CSRGraph.copyOf(rect, rectOrder);
+		assertEquals(rect.numEdges(), renumbered.numEdges());
+		rect.edges().forEach(
+				edge -> assertTrue(renumbered.adjacent(rectOrder.toNew(edge.either()), rectOrder.toNew(edge.other()))));
+	}
+
+	@Test
+	public void testGridStatistics() {
+		for (GridGraph<Void, Void> g : List.of(GridFactory.<Void, Void>fullGrid(37, 23, Grid4Topology.get(), null, null),
+				GridFactory.<Void, Void>fullGrid(29, 31, Grid8Topology.get(), null, null))) {
+			Random rnd = new Random(5);
+			for (long key : g.edgeKeys().toArray()) {
+				if (rnd.nextInt(3) == 0) {
+					g.removeEdge(EdgeKeys.either(key), EdgeKeys.other(key));
+				}
+			}
+			g.vertices().forEach(cell -> assertEquals(g.adj(cell).count(), g.degree(cell)));
+			GraphStatistics fast = GridStatistics.of(g), generic = GraphStatistics.of(g);
+			assertArrayEquals(generic.degreeHistogram(), fast.degreeHistogram());
+			assertEquals(g.numVertices(), fast.numVertices());
+			assertEquals(g.numEdges(), fast.numEdges());
+			assertEquals(generic.numDeadEnds(), fast.numDeadEnds());
+			assertEquals(generic.numJunctions(), fast.numJunctions());
+		}
+	}
 }
\ No newline at end of file
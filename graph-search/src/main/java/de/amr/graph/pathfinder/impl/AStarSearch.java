@@ -7,6 +7,7 @@ import static de.amr.graph.core.api.TraversalState.VISITED;
 import java.util.function.ToDoubleBiFunction;
 
 import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.WeightedGraph;
 import de.amr.graph.pathfinder.api.Path;
 import de.amr.graph.pathfinder.impl.queue.MinPQVertexQueue;
 
@@ -26,6 +27,10 @@ import de.amr.graph.pathfinder.impl.queue.MinPQVertexQueue;
  * v in closed list: getState(v) == COMPLETED
  * </pre>
  * 
+ * <p>
+ * When created for a {@link WeightedGraph} without an edge cost function, the stored edge weights
+ * are read together with the neighbors instead of calling a cost function per edge.
+ * 
  * @author Armin Reichert
  */
 public class AStarSearch extends AbstractGraphSearch {
@@ -45,6 +50,7 @@ public class AStarSearch extends AbstractGraphSearch {
 	}
 
 	private final ToDoubleBiFunction<Integer, Integer> fnEstimatedCost;
+	private final WeightedGraph<?, ?> weightedGraph;
 
 	/**
 	 * Creates an A* path finder instance.
@@ -60,6 +66,22 @@ public class AStarSearch extends AbstractGraphSearch {
 		this.frontier = new MinPQVertexQueue(this::getScore);
 		this.fnEdgeCost = fnEdgeCost;
 		this.fnEstimatedCost = fnEstimatedCost;
+		this.weightedGraph = null;
+	}
+
+	/**
+	 * Creates an A* path finder instance using the edge weights stored in the graph as edge cost.
+	 * 
+	 * @param graph           the weighted graph to be searched
+	 * @param fnEstimatedCost estimated path cost e.g. Euclidean distance between two cities. This must be an
+	 *                        <b>underestimate</b> of the real cost.
+	 */
+	public AStarSearch(WeightedGraph<?, ?> graph, ToDoubleBiFunction<Integer, Integer> fnEstimatedCost) {
+		super(graph);
+		this.frontier = new MinPQVertexQueue(this::getScore);
+		this.fnEdgeCost = graph::weight;
+		this.fnEstimatedCost = fnEstimatedCost;
+		this.weightedGraph = graph;
 	}
 
 	@Override
@@ -70,23 +92,32 @@ public class AStarSearch extends AbstractGraphSearch {
 
 	@Override
 	protected void expand(int v) {
-		graph.adj(v).filter(child -> getState(child) != COMPLETED).forEach(neighbor -> {
-			double tentativeCost = getCost(v) + fnEdgeCost.applyAsDouble(v, neighbor);
-			if (getState(neighbor) == UNVISITED || tentativeCost < getCost(neighbor)) {
-				setParent(neighbor, v);
-				setCost(neighbor, tentativeCost);
-				setScore(neighbor, tentativeCost + getEstimatedCostToTarget(neighbor));
-				if (getState(neighbor) == UNVISITED) {
-					// found first path
-					setState(neighbor, VISITED);
-					frontier.add(neighbor);
-					fireVertexAddedToFrontier(neighbor);
-				} else {
-					// found better path
-					frontier.decreaseKey(neighbor);
-				}
+		if (weightedGraph != null) {
+			weightedGraph.forEachWeightedNeighbor(v, (neighbor, weight) -> relax(v, neighbor, weight));
+		} else {
+			graph.forEachNeighbor(v, neighbor -> relax(v, neighbor, fnEdgeCost.applyAsDouble(v, neighbor)));
+		}
+	}
+
+	private void relax(int v, int neighbor, double edgeCost) {
+		if (getState(neighbor) == COMPLETED) {
+			return;
+		}
+		double tentativeCost = getCost(v) + edgeCost;
+		if (getState(neighbor) == UNVISITED || tentativeCost < getCost(neighbor)) {
+			setParent(neighbor, v);
+			setCost(neighbor, tentativeCost);
+			setScore(neighbor, tentativeCost + getEstimatedCostToTarget(neighbor));
+			if (getState(neighbor) == UNVISITED) {
+				// found first path
+				setState(neighbor, VISITED);
+				frontier.add(neighbor);
+				fireVertexAddedToFrontier(neighbor);
+			} else {
+				// found better path
+				frontier.decreaseKey(neighbor);
 			}
-		});
+		}
 	}
 
 	/**
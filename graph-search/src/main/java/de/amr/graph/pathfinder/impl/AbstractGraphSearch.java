@@ -98,11 +98,13 @@ public abstract class AbstractGraphSearch implements ObservableGraphSearch {
 	 */
 	protected void expand(int v) {
 		Logger.trace("{}: Expand vertex {}. {}", getClass().getSimpleName(), v, getOrCreateVertexInfo(v));
-		graph.adj(v).filter(child -> getState(child) == UNVISITED).forEach(child -> {
-			setState(child, VISITED);
-			setParent(child, v);
-			frontier.add(child);
-			fireVertexAddedToFrontier(child);
+		graph.forEachNeighbor(v, child -> {
+			if (getState(child) == UNVISITED) {
+				setState(child, VISITED);
+				setParent(child, v);
+				frontier.add(child);
+				fireVertexAddedToFrontier(child);
+			}
 		});
 	}
 
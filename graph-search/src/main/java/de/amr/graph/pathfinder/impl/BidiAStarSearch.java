@@ -11,7 +11,7 @@ public class BidiAStarSearch extends BidiGraphSearch<AStarSearch, AStarSearch> {
 			ToDoubleBiFunction<Integer, Integer> fnEstimatedCostForward,
 			ToDoubleBiFunction<Integer, Integer> fnEstimatedCostBackwards) {
 		super(new AStarSearch(graph, fnEdgeCost, fnEstimatedCostForward),
-				new AStarSearch(graph, fnEdgeCost, fnEstimatedCostBackwards));
+				new AStarSearch(backwardsGraph(graph), backwardsEdgeCost(graph, fnEdgeCost), fnEstimatedCostBackwards));
 	}
 
 	@Override
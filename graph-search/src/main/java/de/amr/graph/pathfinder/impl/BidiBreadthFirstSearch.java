@@ -7,6 +7,7 @@ import de.amr.graph.core.api.Graph;
 public class BidiBreadthFirstSearch extends BidiGraphSearch<BreadthFirstSearch,BreadthFirstSearch> {
 
 	public BidiBreadthFirstSearch(Graph<?, ?> graph, ToDoubleBiFunction<Integer, Integer> fnEdgeCost) {
-		super(new BreadthFirstSearch(graph, fnEdgeCost), new BreadthFirstSearch(graph, fnEdgeCost));
+		super(new BreadthFirstSearch(graph, fnEdgeCost),
+				new BreadthFirstSearch(backwardsGraph(graph), backwardsEdgeCost(graph, fnEdgeCost)));
 	}
 }
\ No newline at end of file
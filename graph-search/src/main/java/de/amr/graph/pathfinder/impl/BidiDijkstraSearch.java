@@ -7,6 +7,7 @@ import de.amr.graph.core.api.Graph;
 public class BidiDijkstraSearch extends BidiGraphSearch<DijkstraSearch, DijkstraSearch> {
 
 	public BidiDijkstraSearch(Graph<?, ?> graph, ToDoubleBiFunction<Integer, Integer> fnEdgeCost) {
-		super(new DijkstraSearch(graph, fnEdgeCost), new DijkstraSearch(graph, fnEdgeCost));
+		super(new DijkstraSearch(graph, fnEdgeCost),
+				new DijkstraSearch(backwardsGraph(graph), backwardsEdgeCost(graph, fnEdgeCost)));
 	}
 }
\ No newline at end of file
@@ -5,7 +5,9 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.ToDoubleBiFunction;
 
+import de.amr.graph.core.api.DirectedGraph;
 import de.amr.graph.core.api.Graph;
 import de.amr.graph.core.api.TraversalState;
 import de.amr.graph.pathfinder.api.GraphSearchObserver;
@@ -14,6 +16,10 @@ import de.amr.graph.pathfinder.api.Path;
 
 /**
  * Bidirectional search.
+ * <p>
+ * On a {@link DirectedGraph}, the backwards search must run on the reversed graph, so that it
+ * follows the incoming edges from the target, see {@link #backwardsGraph(Graph)} and
+ * {@link #backwardsEdgeCost(Graph, ToDoubleBiFunction)}.
  * 
  * @author Armin Reichert
  */
@@ -25,6 +31,26 @@ public class BidiGraphSearch<F extends AbstractGraphSearch, B extends AbstractGr
 	private boolean searchingForward;
 	private int meetingPoint;
 
+	/**
+	 * @param graph a graph
+	 * @return the graph searched by the backwards search: the reversed graph for a directed graph,
+	 *         the graph itself else
+	 */
+	public static Graph<?, ?> backwardsGraph(Graph<?, ?> graph) {
+		return graph instanceof DirectedGraph ? ((DirectedGraph<?, ?>) graph).reversed() : graph;
+	}
+
+	/**
+	 * @param graph      a graph
+	 * @param fnEdgeCost edge cost function of the graph
+	 * @return the edge cost function for the backwards search: for a directed graph, the cost of the
+	 *         reversed edge <code>(v, u)</code> is the cost of the edge <code>(u, v)</code>
+	 */
+	public static ToDoubleBiFunction<Integer, Integer> backwardsEdgeCost(Graph<?, ?> graph,
+			ToDoubleBiFunction<Integer, Integer> fnEdgeCost) {
+		return graph instanceof DirectedGraph ? (u, v) -> fnEdgeCost.applyAsDouble(v, u) : fnEdgeCost;
+	}
+
 	public BidiGraphSearch(F forwardSearch, B backwardsSearch) {
 		this.forwardSearch = forwardSearch;
 		this.backwardsSearch = backwardsSearch;
@@ -3,6 +3,7 @@ package de.amr.graph.pathfinder.impl;
 import java.util.function.ToDoubleBiFunction;
 
 import de.amr.graph.core.api.Graph;
+import de.amr.graph.core.api.WeightedGraph;
 
 /**
  * The Uniform-Cost Search (Dijkstra) can be seen as A* without heuristics. Only the cost-so-far is
@@ -15,4 +16,13 @@ public class DijkstraSearch extends AStarSearch {
 	public DijkstraSearch(Graph<?, ?> graph, ToDoubleBiFunction<Integer, Integer> fnEdgeCost) {
 		super(graph, fnEdgeCost, (u, v) -> 0);
 	}
+
+	/**
+	 * Creates a Dijkstra search using the edge weights stored in the graph as edge cost.
+	 * 
+	 * @param graph the weighted graph to be searched
+	 */
+	public DijkstraSearch(WeightedGraph<?, ?> graph) {
+		super(graph, (u, v) -> 0);
+	}
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package de.amr.graph.pathfinder.util;
 
+import java.util.IntSummaryStatistics;
+
 import de.amr.graph.core.api.Graph;
 import de.amr.graph.core.api.TraversalState;
 import de.amr.graph.pathfinder.api.Path;
 import de.amr.graph.pathfinder.impl.BreadthFirstSearch;
+import de.amr.graph.util.GraphUtils;
 
 public interface GraphSearchUtils {
 
+	/** Number of vertices from which connectivity is checked in parallel. */
+	int PARALLEL_THRESHOLD = 1 << 16;
+
 	/**
 	 * Checks if the given cells are connected by some path.
 	 * 
@@ -18,9 +24,25 @@ public interface GraphSearchUtils {
 		return new BreadthFirstSearch(graph).findPath(u, v) != Path.NULL;
 	}
 
+	/**
+	 * Checks if the graph is connected. Graphs with a dense range of non-negative vertices are checked
+	 * using union-find, large ones in parallel. Other graphs are checked using breadth-first search.
+	 * 
+	 * @param graph a graph
+	 * @return {@code true} if there exists a path between any two vertices
+	 */
 	public static <V, E> boolean isConnectedGraph(Graph<V, E> graph) {
+		IntSummaryStatistics range = graph.vertices().summaryStatistics();
+		if (range.getCount() == 0) {
+			return true;
+		}
+		if (range.getMin() >= 0 && range.getMax() < 2L * range.getCount() + 64) {
+			// dense vertex range
+			return range.getCount() < PARALLEL_THRESHOLD ? GraphUtils.components(graph).isConnected()
+					: GraphUtils.componentsParallel(graph).isConnected();
+		}
 		BreadthFirstSearch bfs = new BreadthFirstSearch(graph);
-		bfs.exploreGraph(0);
+		bfs.exploreGraph(range.getMin());
 		return graph.vertices().filter(v -> bfs.getState(v) == TraversalState.UNVISITED).count() == 0;
 	}
 }
\ No newline at end of file
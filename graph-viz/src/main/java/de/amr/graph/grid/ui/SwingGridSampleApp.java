@@ -69,11 +69,17 @@ public abstract class SwingGridSampleApp implements Runnable {
 
 	protected final StopWatch watch = new StopWatch();
 
+	private static ObservableGridGraph<TraversalState, Integer> createGrid(int numCols, int numRows) {
+		return GridFactory.emptyObservableGridWithLabeling(numCols, numRows, Grid4Topology.get(),
+				GridFactory.enumVertexLabels(numCols * numRows, TraversalState.class, UNVISITED),
+				GridFactory.intEdgeLabels(numCols, numRows, Grid4Topology.get(), 0));
+	}
+
 	protected SwingGridSampleApp(int width, int height, int cellSize) {
 		fullscreen = false;
 		style = RenderingStyle.WALL_PASSAGE;
 		canvasSize = new Dimension(width, height);
-		grid = GridFactory.emptyObservableGrid(width / cellSize, height / cellSize, Grid4Topology.get(), UNVISITED, 0);
+		grid = createGrid(width / cellSize, height / cellSize);
 		createUI(cellSize);
 	}
 
@@ -81,8 +87,7 @@ public abstract class SwingGridSampleApp implements Runnable {
 		fullscreen = true;
 		style = RenderingStyle.WALL_PASSAGE;
 		canvasSize = getScreenSize();
-		grid = GridFactory.emptyObservableGrid(canvasSize.width / cellSize, canvasSize.height / cellSize,
-				Grid4Topology.get(), UNVISITED, 0);
+		grid = createGrid(canvasSize.width / cellSize, canvasSize.height / cellSize);
 		grid.setDefaultVertexLabel(v -> UNVISITED);
 		createUI(cellSize);
 	}
@@ -216,8 +221,7 @@ public abstract class SwingGridSampleApp implements Runnable {
 	}
 
 	public void setCellSize(int cellSize) {
-		setGrid(GridFactory.emptyObservableGrid(canvasSize.width / cellSize, canvasSize.height / cellSize,
-				Grid4Topology.get(), UNVISITED, 0));
+		setGrid(createGrid(canvasSize.width / cellSize, canvasSize.height / cellSize));
 		canvas.setCellSize(cellSize, false);
 		canvas.setGrid(grid);
 		window.setTitle(getTitleText());